@@ -0,0 +1,66 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Authorization header for the transaction API, which answers 401 to any
+ * request outside /api/auth/** that has no valid JWT.
+ *
+ * Options (all --name=value):
+ *   --token      JWT to send as "Authorization: Bearer ..."
+ *   --username   with --password: log in via POST /api/auth/login on the
+ *   --password   host of the target URL and use the returned token
+ */
+final class ApiAuth {
+
+    private ApiAuth() {
+    }
+
+    /**
+     * @return the header value, or null when no credentials were given
+     */
+    static String authorization(Map<String, String> options, URI target, Duration timeout)
+            throws IOException, InterruptedException {
+        if (options.containsKey("token")) {
+            return "Bearer " + options.get("token");
+        }
+        if (!options.containsKey("username") || !options.containsKey("password")) {
+            System.err.println("No --token or --username/--password given; "
+                    + "the API will reject every request with 401");
+            return null;
+        }
+        return "Bearer " + login(target.resolve("/api/auth/login"),
+                options.get("username"), options.get("password"), timeout);
+    }
+
+    private static String login(URI endpoint, String username, String password, Duration timeout)
+            throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        mapper.writeValueAsBytes(Map.of("username", username, "password", password))))
+                .build();
+        HttpResponse<byte[]> response = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build()
+                .send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        JsonNode token = response.statusCode() == 200 ? mapper.readTree(response.body()).get("token") : null;
+        if (token == null || !token.isTextual()) {
+            throw new IllegalStateException("Login as " + username + " at " + endpoint
+                    + " failed with status " + response.statusCode());
+        }
+        return token.asText();
+    }
+}
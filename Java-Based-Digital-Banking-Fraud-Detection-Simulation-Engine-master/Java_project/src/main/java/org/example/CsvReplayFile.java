@@ -0,0 +1,465 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recorded transactions in a CSV file, memory-mapped and indexed for replay
+ * in timestamp order.
+ *
+ * The file is mapped in regions of up to 1 GiB cut at line ends, so files
+ * larger than 2 GiB work. Opening scans every row once and keeps only its
+ * offset, length, timestamp and fraud label (about 25 bytes per row); rows
+ * are sorted by timestamp if the file is not already in order. Request
+ * bodies are written straight from the mapped bytes into a JSON byte array,
+ * with no String per field.
+ *
+ * Columns are matched by name, ignoring case and underscores, so both
+ * Java_project/transactions.csv and fraud_ml's synthetic_transactions.csv
+ * (ip_address, is_fraud) are read. Timestamps are "yyyy-MM-dd HH:mm:ss"
+ * with optional fractional seconds.
+ */
+public class CsvReplayFile implements AutoCloseable {
+
+    private static final long REGION_BYTES = 1L << 30;
+
+    // JSON property, CSV column name (lower case, no underscores)
+    private static final String[][] FIELDS = {
+            {"transactionId", "transactionid"},
+            {"timestamp", "timestamp"},
+            {"currency", "currency"},
+            {"amount", "amount"},
+            {"senderAccount", "senderaccount"},
+            {"receiverAccount", "receiveraccount"},
+            {"transactionType", "transactiontype"},
+            {"channel", "channel"},
+            {"ipAddress", "ipaddress"},
+            {"location", "location"}};
+    private static final int ID = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int AMOUNT = 3;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final List<Long> regionBases = new ArrayList<>();
+
+    private final int[] columnOf = new int[FIELDS.length]; // -1 if absent
+    private final int fraudColumn;
+    private final int columnCount;
+
+    private long[] rowOffset = new long[1024];
+    private int[] rowLength = new int[1024];
+    private long[] rowMillis = new long[1024];
+    private byte[] rowFraud = new byte[1024]; // 0 = legit, 1 = fraud, -1 = unlabeled
+    private int rows;
+    private int[] order; // replay position -> row
+
+    // Scratch for splitting one row; only used by one thread at a time
+    private final int[] starts;
+    private final int[] ends;
+    private final boolean[] quoted;
+
+    public CsvReplayFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        long base = 0;
+        while (base < size) {
+            long length = Math.min(REGION_BYTES, size - base);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+            int usable = (int) length;
+            if (base + length < size) {
+                usable = lastNewline(region, usable) + 1;
+                if (usable == 0) {
+                    throw new IOException("CSV row longer than " + REGION_BYTES + " bytes at offset " + base);
+                }
+            }
+            regions.add(region);
+            regionBases.add(base);
+            base += usable;
+        }
+        if (regions.isEmpty()) {
+            throw new IOException(file + " is empty");
+        }
+
+        // Header
+        MappedByteBuffer first = regions.get(0);
+        int headerEnd = lineEnd(first, 0, first.limit());
+        String[] header = new String(bytes(first, 0, headerEnd), StandardCharsets.UTF_8).split(",");
+        columnCount = header.length;
+        Arrays.fill(columnOf, -1);
+        int fraud = -1;
+        for (int c = 0; c < header.length; c++) {
+            String name = header[c].trim().replace("\"", "").replace("_", "").toLowerCase(Locale.ROOT);
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (FIELDS[f][1].equals(name)) {
+                    columnOf[f] = c;
+                }
+            }
+            if ("isfraud".equals(name)) {
+                fraud = c;
+            }
+        }
+        fraudColumn = fraud;
+        if (columnOf[TIMESTAMP] < 0 || columnOf[ID] < 0) {
+            throw new IOException(file + " needs transactionId and timestamp columns");
+        }
+        starts = new int[columnCount];
+        ends = new int[columnCount];
+        quoted = new boolean[columnCount];
+
+        index(headerEnd);
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public boolean isLabeled() {
+        return fraudColumn >= 0;
+    }
+
+    /** Recorded time of the transaction at the replay position, in millis. */
+    public long millisAt(int position) {
+        return rowMillis[order[position]];
+    }
+
+    /** Fraud label at the replay position, or null if the file has none. */
+    public Boolean fraudAt(int position) {
+        byte label = rowFraud[order[position]];
+        return label < 0 ? null : label == 1;
+    }
+
+    /**
+     * JSON request body for the transaction at the replay position.
+     *
+     * @param timestamp replacement "yyyy-MM-dd HH:mm:ss" bytes, or null to keep the recorded one
+     * @param idSuffix  bytes appended to the transaction ID, or null
+     */
+    public byte[] body(int position, byte[] timestamp, byte[] idSuffix) {
+        int row = order[position];
+        int r = regionIndex(rowOffset[row]);
+        MappedByteBuffer region = regions.get(r);
+        int start = (int) (rowOffset[row] - regionBases.get(r));
+        split(region, start, start + rowLength[row]);
+
+        JsonBytes json = new JsonBytes(rowLength[row] + 160);
+        json.append('{');
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (f > 0) {
+                json.append(',');
+            }
+            json.key(FIELDS[f][0]);
+            int c = columnOf[f];
+            if (f == TIMESTAMP && timestamp != null) {
+                json.string(timestamp);
+            } else if (c < 0 || c >= columnCount || starts[c] == ends[c]) {
+                json.nullValue();
+            } else if (f == AMOUNT && !quoted[c]) {
+                json.raw(region, starts[c], ends[c]);
+            } else {
+                json.string(region, starts[c], ends[c], quoted[c], f == ID ? idSuffix : null);
+            }
+        }
+        json.append('}');
+        return json.toByteArray();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void index(int headerEnd) throws IOException {
+        for (int r = 0; r < regions.size(); r++) {
+            MappedByteBuffer region = regions.get(r);
+            long base = regionBases.get(r);
+            int limit = r + 1 < regions.size() ? (int) (regionBases.get(r + 1) - base) : region.limit();
+            int pos = r == 0 ? skipNewline(region, headerEnd, limit) : 0;
+            while (pos < limit) {
+                int end = lineEnd(region, pos, limit);
+                if (end > pos) {
+                    split(region, pos, end);
+                    int ts = columnOf[TIMESTAMP];
+                    if (starts[ts] == ends[ts]) {
+                        throw new IOException("Missing timestamp in row at offset " + (base + pos));
+                    }
+                    add(base + pos, end - pos, parseMillis(region, starts[ts], ends[ts]),
+                            fraudColumn < 0 ? -1 : fraudLabel(region, starts[fraudColumn], ends[fraudColumn]));
+                }
+                pos = skipNewline(region, end, limit);
+            }
+        }
+
+        order = new int[rows];
+        boolean sorted = true;
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+            sorted &= i == 0 || rowMillis[i - 1] <= rowMillis[i];
+        }
+        if (!sorted) {
+            sortByTime(order, new int[rows], 0, rows);
+        }
+    }
+
+    private void add(long offset, int length, long millis, int fraud) {
+        if (rows == rowOffset.length) {
+            int capacity = rows * 2;
+            rowOffset = Arrays.copyOf(rowOffset, capacity);
+            rowLength = Arrays.copyOf(rowLength, capacity);
+            rowMillis = Arrays.copyOf(rowMillis, capacity);
+            rowFraud = Arrays.copyOf(rowFraud, capacity);
+        }
+        rowOffset[rows] = offset;
+        rowLength[rows] = length;
+        rowMillis[rows] = millis;
+        rowFraud[rows] = (byte) fraud;
+        rows++;
+    }
+
+    // Stable merge sort of row numbers by timestamp, so ties keep file order
+    private void sortByTime(int[] a, int[] tmp, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortByTime(a, tmp, from, mid);
+        sortByTime(a, tmp, mid, to);
+        if (rowMillis[a[mid - 1]] <= rowMillis[a[mid]]) {
+            return;
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            a[k++] = rowMillis[tmp[j]] < rowMillis[tmp[i]] ? tmp[j++] : tmp[i++];
+        }
+        while (i < mid) {
+            a[k++] = tmp[i++];
+        }
+        while (j < to) {
+            a[k++] = tmp[j++];
+        }
+    }
+
+    /**
+     * Splits the row in [from, to) into fields, honouring double quotes. A
+     * quoted field's bounds exclude the quotes; "" inside stays doubled and
+     * is collapsed when the field is written.
+     */
+    private void split(MappedByteBuffer buf, int from, int to) {
+        Arrays.fill(starts, 0);
+        Arrays.fill(ends, 0);
+        Arrays.fill(quoted, false);
+        int column = 0;
+        int pos = from;
+        while (column < columnCount) {
+            if (pos < to && buf.get(pos) == '"') {
+                int start = pos + 1;
+                int p = start;
+                while (p < to && !(buf.get(p) == '"' && (p + 1 >= to || buf.get(p + 1) != '"'))) {
+                    p += buf.get(p) == '"' ? 2 : 1;
+                }
+                starts[column] = start;
+                ends[column] = Math.min(p, to);
+                quoted[column] = true;
+                pos = p + 1;
+                while (pos < to && buf.get(pos) != ',') {
+                    pos++;
+                }
+            } else {
+                int start = pos;
+                while (pos < to && buf.get(pos) != ',') {
+                    pos++;
+                }
+                starts[column] = start;
+                ends[column] = pos;
+            }
+            column++;
+            if (pos >= to) {
+                break;
+            }
+            pos++; // comma
+        }
+    }
+
+    /**
+     * Epoch-style millis for "yyyy-MM-dd HH:mm:ss[.fff...]", read as UTC;
+     * only differences between rows matter.
+     */
+    static long parseMillis(MappedByteBuffer buf, int from, int to) throws IOException {
+        if (to - from < 19) {
+            throw new IOException("Unparseable timestamp at " + from);
+        }
+        int year = digits(buf, from, 4);
+        int month = digits(buf, from + 5, 2);
+        int day = digits(buf, from + 8, 2);
+        int hour = digits(buf, from + 11, 2);
+        int minute = digits(buf, from + 14, 2);
+        int second = digits(buf, from + 17, 2);
+        int millis = 0;
+        if (to - from > 20 && buf.get(from + 19) == '.') {
+            for (int i = 0; i < 3; i++) {
+                int p = from + 20 + i;
+                millis = millis * 10 + (p < to ? buf.get(p) - '0' : 0);
+            }
+        }
+        return ((daysFromCivil(year, month, day) * 24 + hour) * 60 + minute) * 60_000L + second * 1_000L + millis;
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (H. Hinnant's algorithm)
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int digits(MappedByteBuffer buf, int from, int count) throws IOException {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                throw new IOException("Unparseable timestamp at " + from);
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int fraudLabel(MappedByteBuffer buf, int from, int to) {
+        if (from == to) {
+            return -1;
+        }
+        byte b = buf.get(from);
+        return b == '1' || b == 't' || b == 'T' ? 1 : 0;
+    }
+
+    private int regionIndex(long offset) {
+        int r = regionBases.size() - 1;
+        while (regionBases.get(r) > offset) {
+            r--;
+        }
+        return r;
+    }
+
+    // End of the line starting at pos, excluding \r\n
+    private static int lineEnd(MappedByteBuffer buf, int pos, int limit) {
+        int p = pos;
+        while (p < limit && buf.get(p) != '\n') {
+            p++;
+        }
+        return p > pos && buf.get(p - 1) == '\r' ? p - 1 : p;
+    }
+
+    private static int skipNewline(MappedByteBuffer buf, int pos, int limit) {
+        if (pos < limit && buf.get(pos) == '\r') {
+            pos++;
+        }
+        return pos < limit && buf.get(pos) == '\n' ? pos + 1 : pos;
+    }
+
+    private static int lastNewline(MappedByteBuffer buf, int length) {
+        for (int p = length - 1; p >= 0; p--) {
+            if (buf.get(p) == '\n') {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] bytes(MappedByteBuffer buf, int from, int to) {
+        byte[] b = new byte[to - from];
+        buf.get(from, b);
+        return b;
+    }
+
+    /** Growable byte buffer that writes JSON tokens. */
+    private static final class JsonBytes {
+
+        private byte[] buf;
+        private int size;
+
+        JsonBytes(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void append(char c) {
+            ensure(1);
+            buf[size++] = (byte) c;
+        }
+
+        void key(String name) {
+            append('"');
+            for (int i = 0; i < name.length(); i++) {
+                append(name.charAt(i));
+            }
+            append('"');
+            append(':');
+        }
+
+        void nullValue() {
+            append('n');
+            append('u');
+            append('l');
+            append('l');
+        }
+
+        void string(byte[] value) {
+            append('"');
+            ensure(value.length);
+            System.arraycopy(value, 0, buf, size, value.length);
+            size += value.length;
+            append('"');
+        }
+
+        void string(MappedByteBuffer src, int from, int to, boolean quoted, byte[] suffix) {
+            append('"');
+            for (int p = from; p < to; p++) {
+                byte b = src.get(p);
+                if (quoted && b == '"' && p + 1 < to && src.get(p + 1) == '"') {
+                    p++; // "" in a quoted CSV field is one quote
+                }
+                if (b == '"' || b == '\\') {
+                    append('\\');
+                    append((char) b);
+                } else if ((b & 0xFF) < 0x20) {
+                    append(' ');
+                } else {
+                    ensure(1);
+                    buf[size++] = b; // UTF-8 bytes copy through unchanged
+                }
+            }
+            if (suffix != null) {
+                ensure(suffix.length);
+                System.arraycopy(suffix, 0, buf, size, suffix.length);
+                size += suffix.length;
+            }
+            append('"');
+        }
+
+        void raw(MappedByteBuffer src, int from, int to) {
+            ensure(to - from);
+            src.get(from, buf, size, to - from);
+            size += to - from;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+    }
+}
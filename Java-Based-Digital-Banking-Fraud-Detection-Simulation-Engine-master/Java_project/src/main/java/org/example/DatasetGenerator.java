@@ -0,0 +1,220 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes large synthetic datasets in the synthetic_transactions.csv format
+ * of fraud_ml (same columns, value ranges and labelling rules as
+ * fraud_ml/src/generate_transactions.py).
+ *
+ * Rows are generated in fixed-size chunks on worker threads. Each chunk has
+ * its own SplittableRandom seeded from (seed, chunk number) and chunks are
+ * written in order, so the file is byte-for-byte the same for a given seed
+ * whatever the thread count. Rows are encoded straight to bytes: dates come
+ * from a table of preformatted "yyyy-MM-dd " prefixes and each chunk goes
+ * to the file channel in one write.
+ */
+public class DatasetGenerator {
+
+    public static final String HEADER = "transactionId,timestamp,amount,currency,transactionType,channel,"
+            + "senderAccount,receiverAccount,ip_address,location,velocity,failed_attempts,status,is_fraud\n";
+
+    private static final byte[][] CURRENCIES = ascii("INR", "USD", "EUR");
+    private static final byte[][] CHANNELS = ascii("CARD", "ATM", "NETBANKING", "MOBILE");
+    private static final byte[][] TYPES = ascii("PAYMENT", "TRANSFER", "WITHDRAW");
+    private static final byte[][] LOCATIONS = ascii("Hyderabad", "Bangalore", "Mumbai", "Delhi");
+    private static final byte[][] STATUSES = ascii("SUCCESS", "PENDING");
+    private static final byte[] SUSPICIOUS_IP_PREFIX = ascii("172.")[0];
+    private static final byte[] PRIVATE_IP_PREFIX = ascii("192.168")[0];
+
+    private static final long FIRST_ID = 100000;
+    private static final int MAX_ROW_BYTES = 192;
+
+    private final long seed;
+    private final int chunkRows;
+    private final int windowMinutes;
+    private final byte[][] dayPrefixes; // "yyyy-MM-dd " for each day of the window
+
+    /**
+     * @param start first day of the timestamp window
+     * @param days  window length; timestamps are spread uniformly over it
+     */
+    public DatasetGenerator(long seed, LocalDate start, int days, int chunkRows) {
+        if (days < 1 || chunkRows < 1) {
+            throw new IllegalArgumentException("days and chunkRows must be positive");
+        }
+        this.seed = seed;
+        this.chunkRows = chunkRows;
+        this.windowMinutes = days * 1440;
+        this.dayPrefixes = new byte[days + 1][];
+        for (int d = 0; d <= days; d++) {
+            dayPrefixes[d] = (start.plusDays(d).format(DateTimeFormatter.ISO_LOCAL_DATE) + " ")
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * Writes the header and rows to the file, replacing it.
+     */
+    public void generate(Path file, long rows, int threads) throws IOException, InterruptedException {
+        long chunks = (rows + chunkRows - 1) / chunkRows;
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, ByteBuffer.wrap(HEADER.getBytes(StandardCharsets.US_ASCII)));
+
+            // Keep a few chunks per worker in flight; write them back in order
+            ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+            long next = 0;
+            while (next < chunks || !pending.isEmpty()) {
+                while (next < chunks && pending.size() < threads * 2) {
+                    long chunk = next++;
+                    long first = chunk * chunkRows;
+                    int count = (int) Math.min(chunkRows, rows - first);
+                    pending.add(workers.submit(() -> chunk(chunk, first, count)));
+                }
+                try {
+                    write(out, pending.poll().get());
+                } catch (ExecutionException e) {
+                    throw new IOException("Failed to generate rows", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    ByteBuffer chunk(long chunk, long firstRow, int count) {
+        SplittableRandom random = new SplittableRandom(mix(seed + chunk * 0x9E3779B97F4A7C15L));
+        byte[] buf = new byte[count * MAX_ROW_BYTES];
+        int p = 0;
+        for (int i = 0; i < count; i++) {
+            p = row(random, firstRow + i, buf, p);
+        }
+        return ByteBuffer.wrap(buf, 0, p);
+    }
+
+    private int row(SplittableRandom random, long row, byte[] buf, int p) {
+        int amount = switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(10, 5001);
+            case 1 -> random.nextInt(5000, 20001);
+            default -> random.nextInt(50000, 200001); // high amount
+        };
+        int velocity = random.nextInt(7);
+        int failedAttempts = random.nextInt(5);
+        boolean suspiciousIp = random.nextDouble() < 0.2;
+        boolean fraud = amount > 50000 || velocity >= 4 || failedAttempts >= 2 || suspiciousIp;
+        int minute = random.nextInt(windowMinutes + 1);
+
+        buf[p++] = 'T';
+        buf[p++] = 'X';
+        buf[p++] = 'N';
+        p = digits(FIRST_ID + row, buf, p);
+        buf[p++] = ',';
+        p = put(dayPrefixes[minute / 1440], buf, p);
+        p = twoDigits(minute % 1440 / 60, buf, p);
+        buf[p++] = ':';
+        p = twoDigits(minute % 60, buf, p);
+        buf[p++] = ':';
+        p = twoDigits(random.nextInt(60), buf, p);
+        buf[p++] = ',';
+        p = digits(amount, buf, p);
+        buf[p++] = ',';
+        p = put(CURRENCIES[random.nextInt(CURRENCIES.length)], buf, p);
+        buf[p++] = ',';
+        p = put(TYPES[random.nextInt(TYPES.length)], buf, p);
+        buf[p++] = ',';
+        p = put(CHANNELS[random.nextInt(CHANNELS.length)], buf, p);
+        buf[p++] = ',';
+        p = account(random, buf, p);
+        buf[p++] = ',';
+        p = account(random, buf, p);
+        buf[p++] = ',';
+        if (suspiciousIp) {
+            p = put(SUSPICIOUS_IP_PREFIX, buf, p);
+            p = digits(random.nextInt(16, 32), buf, p);
+        } else {
+            p = put(PRIVATE_IP_PREFIX, buf, p);
+        }
+        buf[p++] = '.';
+        p = digits(random.nextInt(256), buf, p);
+        buf[p++] = '.';
+        p = digits(random.nextInt(256), buf, p);
+        buf[p++] = ',';
+        p = put(LOCATIONS[random.nextInt(LOCATIONS.length)], buf, p);
+        buf[p++] = ',';
+        buf[p++] = (byte) ('0' + velocity);
+        buf[p++] = ',';
+        buf[p++] = (byte) ('0' + failedAttempts);
+        buf[p++] = ',';
+        p = put(STATUSES[fraud ? 1 : 0], buf, p);
+        buf[p++] = ',';
+        buf[p++] = (byte) (fraud ? '1' : '0');
+        buf[p++] = '\n';
+        return p;
+    }
+
+    private static int account(SplittableRandom random, byte[] buf, int p) {
+        buf[p++] = 'A';
+        buf[p++] = 'C';
+        return digits(random.nextInt(10000000, 100000000), buf, p);
+    }
+
+    private static int digits(long value, byte[] buf, int p) {
+        if (value == 0) {
+            buf[p++] = '0';
+            return p;
+        }
+        int length = 0;
+        for (long v = value; v > 0; v /= 10) {
+            length++;
+        }
+        for (int i = p + length - 1; i >= p; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return p + length;
+    }
+
+    private static int twoDigits(int value, byte[] buf, int p) {
+        buf[p++] = (byte) ('0' + value / 10);
+        buf[p++] = (byte) ('0' + value % 10);
+        return p;
+    }
+
+    private static int put(byte[] bytes, byte[] buf, int p) {
+        System.arraycopy(bytes, 0, buf, p, bytes.length);
+        return p + bytes.length;
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // SplitMix64 finalizer, so neighbouring chunk seeds give unrelated streams
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static byte[][] ascii(String... values) {
+        return Arrays.stream(values).map(v -> v.getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+    }
+}
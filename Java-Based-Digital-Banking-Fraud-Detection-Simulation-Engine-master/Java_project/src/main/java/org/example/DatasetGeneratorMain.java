@@ -0,0 +1,45 @@
+package org.example;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Generates a synthetic_transactions.csv-style dataset for ML training or
+ * database seeding.
+ *
+ *   mvn exec:java -Dexec.mainClass=org.example.DatasetGeneratorMain -Dexec.args="--rows=100000000"
+ *
+ * Options (all --name=value):
+ *   --rows        number of rows (default 1000000)
+ *   --seed        random seed; the same seed gives the same file (default 42)
+ *   --threads     worker threads; does not change the output (default: available processors)
+ *   --start       first day of the timestamp window, yyyy-MM-dd (default 2025-01-01)
+ *   --days        length of the timestamp window (default 30)
+ *   --chunk-rows  rows per work unit (default 65536); changing it changes the output
+ *   --out         output file (default synthetic_transactions.csv)
+ */
+public class DatasetGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = TransactionGeneratorMain.parse(args);
+        long rows = Long.parseLong(options.getOrDefault("rows", "1000000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+        Path out = Paths.get(options.getOrDefault("out", "synthetic_transactions.csv"));
+
+        DatasetGenerator generator = new DatasetGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                LocalDate.parse(options.getOrDefault("start", "2025-01-01")),
+                Integer.parseInt(options.getOrDefault("days", "30")),
+                Integer.parseInt(options.getOrDefault("chunk-rows", "65536")));
+
+        long start = System.nanoTime();
+        generator.generate(out, rows, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d rows to %s in %.1f s (%.0f rows/s, %d threads)%n",
+                rows, out, seconds, rows / seconds, threads);
+    }
+}
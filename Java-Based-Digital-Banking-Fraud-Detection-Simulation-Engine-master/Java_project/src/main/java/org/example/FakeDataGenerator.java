@@ -3,6 +3,7 @@ package org.example;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Random;
+import java.util.UUID;
 
 public class FakeDataGenerator {
 
@@ -11,6 +12,7 @@ public class FakeDataGenerator {
     static String[] transactionTypes = {"TRANSFER", "WITHDRAW", "DEPOSIT", "PAYMENT"};
     static String[] channels = {"MOBILE", "ATM", "CARD", "NETBANKING"};
     static String[] locations = {"Mumbai", "Hyderabad", "Bangalore", "Delhi", "Pune", "Chennai"};
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     public static String randomAccount() {
         return "AC" + (10000000 + random.nextInt(90000000));
@@ -29,12 +31,13 @@ public class FakeDataGenerator {
                 .minusHours(random.nextInt(24))
                 .minusMinutes(random.nextInt(60));
 
-        return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        return dateTime.format(TIMESTAMP_FORMAT);
     }
 
     public static Transaction generateTransaction() {
         return new Transaction(
-                "TXN" + System.currentTimeMillis(),
+                // Millisecond timestamps collide when generating in a loop
+                "TXN" + UUID.randomUUID(),
                 randomDateTime(),
                 currencies[random.nextInt(currencies.length)],
                 Math.round((100 + random.nextDouble() * 90000) * 100.0) / 100.0,
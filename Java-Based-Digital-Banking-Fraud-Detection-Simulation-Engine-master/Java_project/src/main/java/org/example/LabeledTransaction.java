@@ -0,0 +1,41 @@
+package org.example;
+
+/**
+ * A generated transaction with its ground truth: the scenario that
+ * produced it and whether it is fraudulent. Unlabeled traffic has a null
+ * scenario.
+ */
+public class LabeledTransaction {
+
+    public static final String NORMAL = "NORMAL";
+
+    private final Transaction transaction;
+    private final String scenario;
+    private final boolean fraud;
+
+    public LabeledTransaction(Transaction transaction, String scenario, boolean fraud) {
+        this.transaction = transaction;
+        this.scenario = scenario;
+        this.fraud = fraud;
+    }
+
+    public static LabeledTransaction unlabeled(Transaction transaction) {
+        return new LabeledTransaction(transaction, null, false);
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public boolean isFraud() {
+        return fraud;
+    }
+
+    public boolean isLabeled() {
+        return scenario != null;
+    }
+}
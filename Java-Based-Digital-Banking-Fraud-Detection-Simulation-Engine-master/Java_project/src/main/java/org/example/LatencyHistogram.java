@@ -0,0 +1,97 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds with HdrHistogram-style
+ * log-linear buckets: values below 256 are exact, larger values keep
+ * 7 significant bits (under 0.8% error), up to about 2^42 us.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR = 256;
+    private static final int SUB_BUCKETS = 128;
+    private static final int SUB_BITS = 7;
+    private static final int MAX_EXPONENT = 35;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + SUB_BITS + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR + MAX_EXPONENT * SUB_BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = total.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Smallest recorded bucket value at or below which the given percentage
+     * of values fall (the bucket's upper bound, so never under-reports).
+     */
+    public long percentile(double percent) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /** Count, mean, p50 .. p99.99 and max, for JSON reports. */
+    public Map<String, Object> summary() {
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("count", getCount());
+        p.put("mean", getMean());
+        p.put("p50", percentile(50));
+        p.put("p90", percentile(90));
+        p.put("p99", percentile(99));
+        p.put("p99.9", percentile(99.9));
+        p.put("p99.99", percentile(99.99));
+        p.put("max", getMax());
+        return p;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // value >> exponent is in [128, 256)
+        return LINEAR + (exponent - 1) * SUB_BUCKETS + (int) ((value >> exponent) - SUB_BUCKETS);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int exponent = (index - LINEAR) / SUB_BUCKETS + 1;
+        long mantissa = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+}
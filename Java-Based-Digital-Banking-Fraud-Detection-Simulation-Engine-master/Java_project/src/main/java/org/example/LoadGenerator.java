@@ -0,0 +1,141 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop load generator for POST /api/transactions.
+ *
+ * Requests are scheduled at a fixed target rate whether or not earlier
+ * ones have finished. Latency is measured from each request's scheduled
+ * start, so time spent queued behind a slow server is counted
+ * (coordinated-omission correction); service time from the actual send is
+ * reported alongside. At most maxInFlight requests are outstanding; when
+ * the limit is hit the scheduler waits, and the wait shows up in latency.
+ *
+ * Every request carries the given Authorization header (see
+ * {@link ApiAuth}); without it the API answers 401 and the run only
+ * measures the rejection path.
+ *
+ * Requests go through one HttpClient (HTTP/1.1 keep-alive connection pool)
+ * whose callbacks run on a fixed thread pool.
+ *
+ * For labeled traffic the decision in each response is compared with the
+ * ground truth; any status other than SUCCESS counts as flagged.
+ */
+public class LoadGenerator {
+
+    private final URI target;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final Supplier<LabeledTransaction> transactions;
+    private final String authorization;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RequestStats warmupPhase = new RequestStats();
+    private final RequestStats steadyPhase = new RequestStats();
+
+    public LoadGenerator(URI target, double ratePerSecond, Duration warmup, Duration duration,
+                         int maxInFlight, Duration requestTimeout, Supplier<LabeledTransaction> transactions,
+                         String authorization) {
+        if (ratePerSecond <= 0 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate and maxInFlight must be positive");
+        }
+        this.target = target;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.transactions = transactions;
+        this.authorization = authorization;
+    }
+
+    /**
+     * Runs the warm-up and steady-state phases and returns the report.
+     */
+    public Map<String, Object> run(int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long periodNanos = Math.max(1, Math.round(1_000_000_000.0 / ratePerSecond));
+        long warmupNanos = warmup.toNanos();
+        long totalNanos = warmupNanos + duration.toNanos();
+        long start = System.nanoTime();
+
+        try {
+            for (long i = 0; ; i++) {
+                long offset = i * periodNanos;
+                if (offset >= totalNanos) {
+                    break;
+                }
+                long intended = start + offset;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                RequestStats phase = offset < warmupNanos ? warmupPhase : steadyPhase;
+                LabeledTransaction txn = transactions.get();
+                HttpRequest.Builder request = HttpRequest.newBuilder(target)
+                        .timeout(requestTimeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(txn.getTransaction())));
+                if (authorization != null) {
+                    request.header("Authorization", authorization);
+                }
+
+                inFlight.acquire();
+                long sent = System.nanoTime();
+                phase.sent((sent - intended) / 1_000);
+                client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, error) -> {
+                            long done = System.nanoTime();
+                            int status = response != null ? response.statusCode() : -1;
+                            phase.record(status, (done - intended) / 1_000, (done - sent) / 1_000);
+                            if (txn.isLabeled() && status >= 200 && status < 300) {
+                                phase.score(txn.getScenario(), txn.isFraud(),
+                                        RequestStats.isFlagged(mapper, response.body()));
+                            }
+                            inFlight.release(); // after recording, so the final drain sees every result
+                        });
+            }
+
+            // Let outstanding requests finish
+            if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+                System.err.println("Some requests were still outstanding at the end of the run");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("target", target.toString());
+        report.put("targetRatePerSecond", ratePerSecond);
+        report.put("maxInFlight", maxInFlight);
+        report.put("threads", threads);
+        report.put("warmup", warmupPhase.report(warmup));
+        report.put("steadyState", steadyPhase.report(duration));
+        return report;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a {@link CsvReplayFile} against POST /api/transactions, keeping
+ * the recorded gaps between transactions divided by a speed factor
+ * (speed 0 sends as fast as maxInFlight allows).
+ *
+ * Schedule lag is how late each request left compared with its place in
+ * the compressed timeline; it grows when the client, the connection limit
+ * or the server cannot keep up. Latency is measured from the scheduled
+ * time as well as from the actual send, as in {@link LoadGenerator}, and
+ * every request carries the Authorization header from {@link ApiAuth}.
+ */
+public class ReplayClient {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long PROGRESS_NANOS = 10_000_000_000L;
+
+    private final CsvReplayFile file;
+    private final URI target;
+    private final double speed;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final boolean replayTimestamps;
+    private final byte[] idSuffix;
+    private final String authorization;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RequestStats stats = new RequestStats();
+
+    // Current wall-clock second as "yyyy-MM-dd HH:mm:ss" bytes, for rewritten timestamps
+    private long cachedSecond = -1;
+    private byte[] cachedTimestamp;
+
+    /**
+     * @param replayTimestamps send the replay time instead of the recorded
+     *                         timestamp, so the API's time-window rules see
+     *                         the compressed timeline
+     * @param idSuffix         appended to every transaction ID so a file can
+     *                         be replayed more than once; null keeps the IDs
+     * @param authorization    Authorization header value, or null to send none
+     */
+    public ReplayClient(CsvReplayFile file, URI target, double speed, int maxInFlight,
+                        Duration requestTimeout, boolean replayTimestamps, String idSuffix,
+                        String authorization) {
+        if (speed < 0 || maxInFlight < 1) {
+            throw new IllegalArgumentException("speed must be >= 0 and maxInFlight positive");
+        }
+        this.file = file;
+        this.target = target;
+        this.speed = speed;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.replayTimestamps = replayTimestamps;
+        this.idSuffix = idSuffix != null ? idSuffix.getBytes(StandardCharsets.UTF_8) : null;
+        this.authorization = authorization;
+    }
+
+    public Map<String, Object> run(int threads, int limit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        int count = limit > 0 ? Math.min(limit, file.size()) : file.size();
+        long firstMillis = count > 0 ? file.millisAt(0) : 0;
+        long start = System.nanoTime();
+        long nextProgress = start + PROGRESS_NANOS;
+
+        try {
+            for (int i = 0; i < count; i++) {
+                long intended = start;
+                if (speed > 0) {
+                    intended += (long) ((file.millisAt(i) - firstMillis) * 1_000_000L / speed);
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                byte[] body = file.body(i, replayTimestamps ? now() : null, idSuffix);
+                HttpRequest.Builder request = HttpRequest.newBuilder(target)
+                        .timeout(requestTimeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+                if (authorization != null) {
+                    request.header("Authorization", authorization);
+                }
+
+                inFlight.acquire();
+                long sent = System.nanoTime();
+                if (speed == 0) {
+                    intended = sent; // unpaced: no schedule to lag behind
+                }
+                stats.sent((sent - intended) / 1_000);
+                Boolean fraud = file.fraudAt(i);
+                long scheduled = intended;
+                client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, error) -> {
+                            long done = System.nanoTime();
+                            int status = response != null ? response.statusCode() : -1;
+                            stats.record(status, (done - scheduled) / 1_000, (done - sent) / 1_000);
+                            if (fraud != null && status >= 200 && status < 300) {
+                                stats.score("RECORDED", fraud, RequestStats.isFlagged(mapper, response.body()));
+                            }
+                            inFlight.release(); // after recording, so the final drain sees every result
+                        });
+
+                if (sent >= nextProgress) {
+                    System.err.printf("Replayed %d/%d, schedule lag p99 %d ms%n",
+                            i + 1, count, stats.lagPercentile(99) / 1_000);
+                    nextProgress = sent + PROGRESS_NANOS;
+                }
+            }
+
+            if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+                System.err.println("Some requests were still outstanding at the end of the replay");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("target", target.toString());
+        report.put("speed", speed > 0 ? speed : "max");
+        report.put("rows", count);
+        report.put("recordedSpanSeconds", count > 0 ? (file.millisAt(count - 1) - firstMillis) / 1000.0 : 0);
+        report.put("maxInFlight", maxInFlight);
+        report.put("threads", threads);
+        report.put("replay", stats.report(elapsed));
+        return report;
+    }
+
+    private byte[] now() {
+        long second = System.currentTimeMillis() / 1_000;
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = LocalDateTime.now().format(TIMESTAMP).getBytes(StandardCharsets.US_ASCII);
+        }
+        return cachedTimestamp;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Replays recorded transactions from a CSV file against the API.
+ *
+ *   mvn exec:java -Dexec.mainClass=org.example.ReplayMain -Dexec.args="--file=transactions.csv --speed=10"
+ *
+ * Options (all --name=value):
+ *   --file           CSV to replay (required)
+ *   --url            endpoint (default http://localhost:8080/api/transactions)
+ *   --speed          time compression: 1 = recorded pace, 10 = ten times faster,
+ *                    max = as fast as --max-in-flight allows (default 1)
+ *   --max-in-flight  outstanding request limit (default 256)
+ *   --threads        HTTP client callback threads (default 8)
+ *   --timeout        per-request timeout in seconds (default 10)
+ *   --timestamps     "replay" (default) sends the replay time, "original" the recorded one
+ *   --run-id         appended to transaction IDs (default: start time); "none" keeps them
+ *   --limit          replay only the first N transactions in time order
+ *   --out            also write the JSON report to this file
+ *   --token          JWT sent as "Authorization: Bearer ..."
+ *   --username, --password  log in via /api/auth/login instead (see {@link ApiAuth})
+ */
+public class ReplayMain {
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = TransactionGeneratorMain.parse(args);
+        if (!options.containsKey("file")) {
+            throw new IllegalArgumentException("--file is required");
+        }
+        String speed = options.getOrDefault("speed", "1");
+        String runId = options.getOrDefault("run-id", Long.toString(System.currentTimeMillis(), 36));
+        String timestamps = options.getOrDefault("timestamps", "replay");
+        if (!"replay".equals(timestamps) && !"original".equals(timestamps)) {
+            throw new IllegalArgumentException("--timestamps must be replay or original");
+        }
+
+        URI target = URI.create(options.getOrDefault("url", "http://localhost:8080/api/transactions"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        String authorization = ApiAuth.authorization(options, target, timeout);
+
+        Map<String, Object> report;
+        try (CsvReplayFile file = new CsvReplayFile(Paths.get(options.get("file")))) {
+            System.err.printf("Indexed %d transactions from %s%n", file.size(), options.get("file"));
+            ReplayClient client = new ReplayClient(file,
+                    target,
+                    "max".equals(speed) ? 0 : Double.parseDouble(speed),
+                    Integer.parseInt(options.getOrDefault("max-in-flight", "256")),
+                    timeout,
+                    "replay".equals(timestamps),
+                    "none".equals(runId) ? null : "-" + runId,
+                    authorization);
+            report = client.run(Integer.parseInt(options.getOrDefault("threads", "8")),
+                    Integer.parseInt(options.getOrDefault("limit", "0")));
+        }
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(mapper.writeValueAsString(report));
+        if (options.containsKey("out")) {
+            mapper.writeValue(new File(options.get("out")), report);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome counters, latency histograms and detection quality for one phase
+ * of a load test or replay. Safe to update from HTTP callback threads.
+ */
+public class RequestStats {
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong httpErrors = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LatencyHistogram scheduleLag = new LatencyHistogram();
+
+    // Detection quality against ground-truth labels, per scenario: {tp, fp, fn, tn}
+    private final Map<String, long[]> confusion = new TreeMap<>();
+
+    /**
+     * A request left the client lagMicros after its scheduled time.
+     */
+    public void sent(long lagMicros) {
+        sent.incrementAndGet();
+        scheduleLag.record(lagMicros);
+    }
+
+    /**
+     * @param status         HTTP status, or -1 if no response arrived
+     * @param latencyMicros  from the scheduled start to the response
+     * @param serviceMicros  from the actual send to the response
+     */
+    public void record(int status, long latencyMicros, long serviceMicros) {
+        if (status >= 200 && status < 300) {
+            ok.incrementAndGet();
+        } else if (status > 0) {
+            httpErrors.incrementAndGet();
+        } else {
+            failures.incrementAndGet(); // timeout, refused connection, ...
+        }
+        latency.record(latencyMicros);
+        serviceTime.record(serviceMicros);
+    }
+
+    public synchronized void score(String scenario, boolean fraud, boolean flagged) {
+        long[] counts = confusion.computeIfAbsent(scenario, k -> new long[4]);
+        counts[fraud ? (flagged ? 0 : 2) : (flagged ? 1 : 3)]++;
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    /** Current schedule lag percentile, for progress output. */
+    public long lagPercentile(double percent) {
+        return scheduleLag.percentile(percent);
+    }
+
+    /**
+     * Whether the API's decision flagged the transaction: any status other
+     * than SUCCESS in the POST response.
+     */
+    public static boolean isFlagged(ObjectMapper mapper, byte[] body) {
+        try {
+            JsonNode decision = mapper.readTree(body);
+            return !"SUCCESS".equals(decision.path("status").asText());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> report(Duration length) {
+        double seconds = Math.max(1e-9, length.toNanos() / 1e9);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", seconds);
+        report.put("sent", sent.get());
+        report.put("ok", ok.get());
+        report.put("httpErrors", httpErrors.get());
+        report.put("failures", failures.get());
+        report.put("throughputPerSecond", ok.get() / seconds);
+        report.put("scheduleLagMicros", scheduleLag.summary());
+        report.put("latencyMicros", latency.summary());
+        report.put("serviceTimeMicros", serviceTime.summary());
+        synchronized (this) {
+            if (!confusion.isEmpty()) {
+                report.put("detection", detection());
+            }
+        }
+        return report;
+    }
+
+    private Map<String, Object> detection() {
+        long[] total = new long[4];
+        Map<String, Object> byScenario = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : confusion.entrySet()) {
+            long[] c = entry.getValue();
+            for (int i = 0; i < 4; i++) {
+                total[i] += c[i];
+            }
+            byScenario.put(entry.getKey(), quality(c));
+        }
+        Map<String, Object> detection = quality(total);
+        detection.put("byScenario", byScenario);
+        return detection;
+    }
+
+    private static Map<String, Object> quality(long[] c) {
+        long tp = c[0], fp = c[1], fn = c[2], tn = c[3];
+        Map<String, Object> q = new LinkedHashMap<>();
+        q.put("truePositives", tp);
+        q.put("falsePositives", fp);
+        q.put("falseNegatives", fn);
+        q.put("trueNegatives", tn);
+        q.put("precision", tp + fp == 0 ? null : (double) tp / (tp + fp));
+        q.put("recall", tp + fn == 0 ? null : (double) tp / (tp + fn));
+        q.put("falsePositiveRate", fp + tn == 0 ? null : (double) fp / (fp + tn));
+        return q;
+    }
+}
@@ -0,0 +1,242 @@
+package org.example;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Seeded synthetic traffic over a fixed pool of accounts.
+ *
+ * Senders and receivers are drawn from the pool with a Zipf distribution,
+ * so busy accounts repeat and the velocity, profile and blocking rules see
+ * real history. Each account has a home city, IP, channel, currency and
+ * typical amount; normal transactions stay close to them.
+ *
+ * With probability fraudRate a draw starts an injected scenario instead,
+ * whose transactions are emitted back to back:
+ * - BURST: one account sends a rapid run of transfers
+ * - ACCOUNT_TAKEOVER: large transfers from a new IP, city and channel to a
+ *   fresh mule account
+ * - MULE_FAN_IN: many pool accounts pay the same fresh mule account
+ * - IP_SHARING: many pool accounts transact from one IP
+ * - IMPOSSIBLE_TRAVEL: a home-city transaction followed at once by one
+ *   from a distant city (only the second is fraud)
+ *
+ * The same seed gives the same sequence. Transaction IDs carry a run ID so
+ * reruns are not rejected as duplicates; timestamps come from the clock.
+ */
+public class TrafficModel implements Supplier<LabeledTransaction> {
+
+    public enum Scenario {
+        BURST, ACCOUNT_TAKEOVER, MULE_FAN_IN, IP_SHARING, IMPOSSIBLE_TRAVEL
+    }
+
+    private static final String[] CITIES = {
+            "Mumbai", "Delhi", "Bangalore", "Hyderabad", "Chennai", "Pune",
+            "Kolkata", "Ahmedabad", "Jaipur", "Lucknow", "Kochi", "Chandigarh"};
+    private static final String[] CHANNELS = {"MOBILE", "ATM", "CARD", "NETBANKING"};
+    private static final String[] CURRENCIES = {"INR", "USD", "EUR", "GBP"};
+    private static final String[] TYPES = {"TRANSFER", "WITHDRAW", "DEPOSIT", "PAYMENT"};
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BURST_LENGTH = 6;
+    private static final int TAKEOVER_TRANSFERS = 3;
+    private static final int FAN_IN_SENDERS = 10;
+    private static final int SHARED_IP_ACCOUNTS = 25;
+
+    private final Random random;
+    private final Clock clock;
+    private final String idPrefix;
+    private final double fraudRate;
+    private final Scenario[] scenarios;
+    private final double[] zipfCdf;
+
+    // Account profiles, indexed by Zipf rank
+    private final String[] accounts;
+    private final byte[] homeCity;
+    private final String[] homeIp;
+    private final byte[] channel;
+    private final byte[] currency;
+    private final double[] typicalAmount;
+
+    private final ArrayDeque<LabeledTransaction> pending = new ArrayDeque<>();
+    private long sequence;
+    private long mules;
+
+    public TrafficModel(long seed, String runId, int accountCount, double zipfExponent,
+                        double fraudRate, Set<Scenario> scenarios, Clock clock) {
+        if (accountCount < SHARED_IP_ACCOUNTS + 1) {
+            throw new IllegalArgumentException("accountCount must be at least " + (SHARED_IP_ACCOUNTS + 1));
+        }
+        if (scenarios.isEmpty() && fraudRate > 0) {
+            throw new IllegalArgumentException("fraudRate > 0 needs at least one scenario");
+        }
+        this.random = new Random(seed);
+        this.clock = clock;
+        this.idPrefix = "TXN-" + runId + "-";
+        this.fraudRate = fraudRate;
+        this.scenarios = EnumSet.copyOf(scenarios.isEmpty() ? EnumSet.allOf(Scenario.class) : scenarios)
+                .toArray(new Scenario[0]);
+        this.zipfCdf = zipfCdf(accountCount, zipfExponent);
+
+        accounts = new String[accountCount];
+        homeCity = new byte[accountCount];
+        homeIp = new String[accountCount];
+        channel = new byte[accountCount];
+        currency = new byte[accountCount];
+        typicalAmount = new double[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = "AC" + (10000000 + random.nextInt(90000000));
+            homeCity[i] = (byte) random.nextInt(CITIES.length);
+            // Private 10/8 addresses, clear of the 172/8 reputation range
+            homeIp[i] = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+            channel[i] = (byte) random.nextInt(CHANNELS.length);
+            currency[i] = (byte) (random.nextDouble() < 0.85 ? 0 : 1 + random.nextInt(CURRENCIES.length - 1));
+            typicalAmount[i] = Math.exp(Math.log(200) + random.nextDouble() * Math.log(100)); // 200 .. 20000
+        }
+    }
+
+    @Override
+    public LabeledTransaction get() {
+        if (pending.isEmpty()) {
+            if (fraudRate > 0 && random.nextDouble() < fraudRate) {
+                inject(scenarios[random.nextInt(scenarios.length)]);
+            } else {
+                pending.add(normal(drawAccount()));
+            }
+        }
+        return pending.poll();
+    }
+
+    private void inject(Scenario scenario) {
+        String name = scenario.name();
+        switch (scenario) {
+            case BURST -> {
+                int sender = drawAccount();
+                for (int i = 0; i < BURST_LENGTH; i++) {
+                    pending.add(label(normalTransaction(sender), name, true));
+                }
+            }
+            case ACCOUNT_TAKEOVER -> {
+                int victim = drawAccount();
+                String mule = newMule();
+                String ip = publicIp();
+                String city = otherCity(victim);
+                String usedChannel = CHANNELS[(channel[victim] + 1 + random.nextInt(CHANNELS.length - 1)) % CHANNELS.length];
+                for (int i = 0; i < TAKEOVER_TRANSFERS; i++) {
+                    double amount = typicalAmount[victim] * (10 + random.nextDouble() * 20);
+                    pending.add(label(transaction(victim, mule, amount, "TRANSFER", usedChannel, ip, city), name, true));
+                }
+            }
+            case MULE_FAN_IN -> {
+                String mule = newMule();
+                for (int sender : distinctAccounts(FAN_IN_SENDERS)) {
+                    Transaction t = normalTransaction(sender);
+                    t.setReceiverAccount(mule);
+                    t.setTransactionType("TRANSFER");
+                    pending.add(label(t, name, true));
+                }
+            }
+            case IP_SHARING -> {
+                String ip = publicIp();
+                for (int sender : distinctAccounts(SHARED_IP_ACCOUNTS)) {
+                    Transaction t = normalTransaction(sender);
+                    t.setIpAddress(ip);
+                    pending.add(label(t, name, true));
+                }
+            }
+            case IMPOSSIBLE_TRAVEL -> {
+                int account = drawAccount();
+                pending.add(label(normalTransaction(account), name, false));
+                Transaction away = normalTransaction(account);
+                away.setLocation(otherCity(account));
+                pending.add(label(away, name, true));
+            }
+        }
+    }
+
+    private LabeledTransaction normal(int sender) {
+        return label(normalTransaction(sender), LabeledTransaction.NORMAL, false);
+    }
+
+    private Transaction normalTransaction(int sender) {
+        int receiver = drawAccount();
+        if (receiver == sender) {
+            receiver = (receiver + 1) % accounts.length;
+        }
+        double amount = typicalAmount[sender] * Math.exp(0.4 * random.nextGaussian());
+        String usedChannel = random.nextDouble() < 0.9 ? CHANNELS[channel[sender]] : CHANNELS[random.nextInt(CHANNELS.length)];
+        Transaction t = transaction(sender, accounts[receiver], amount,
+                TYPES[random.nextInt(TYPES.length)], usedChannel, homeIp[sender], CITIES[homeCity[sender]]);
+        if (random.nextDouble() >= 0.95) {
+            t.setCurrency(CURRENCIES[random.nextInt(CURRENCIES.length)]);
+        }
+        return t;
+    }
+
+    private Transaction transaction(int sender, String receiver, double amount, String type,
+                                    String usedChannel, String ip, String city) {
+        return new Transaction(
+                idPrefix + (++sequence),
+                LocalDateTime.now(clock).format(TIMESTAMP),
+                CURRENCIES[currency[sender]],
+                Math.round(amount * 100.0) / 100.0,
+                accounts[sender],
+                receiver,
+                type,
+                usedChannel,
+                null, // STATUS decided by service
+                ip,
+                city);
+    }
+
+    private static LabeledTransaction label(Transaction t, String scenario, boolean fraud) {
+        return new LabeledTransaction(t, scenario, fraud);
+    }
+
+    private int drawAccount() {
+        int rank = Arrays.binarySearch(zipfCdf, random.nextDouble());
+        return Math.min(rank >= 0 ? rank : -rank - 1, accounts.length - 1);
+    }
+
+    private List<Integer> distinctAccounts(int count) {
+        Set<Integer> chosen = new LinkedHashSet<>();
+        while (chosen.size() < count) {
+            chosen.add(chosen.size() < count / 2 ? drawAccount() : random.nextInt(accounts.length));
+        }
+        return List.copyOf(chosen);
+    }
+
+    private String otherCity(int account) {
+        return CITIES[(homeCity[account] + 1 + random.nextInt(CITIES.length - 1)) % CITIES.length];
+    }
+
+    private String newMule() {
+        return "MULE" + (10000000 + (++mules));
+    }
+
+    private String publicIp() {
+        return (11 + random.nextInt(150)) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -1,45 +1,145 @@
 package org.example;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Load-tests the transaction API.
+ *
+ * Options (all --name=value):
+ *   --url          endpoint (default http://localhost:8080/api/transactions)
+ *   --rate         target requests per second (default 100)
+ *   --warmup       warm-up seconds, reported separately (default 10)
+ *   --duration     steady-state seconds (default 60)
+ *   --max-in-flight  outstanding request limit (default 256)
+ *   --threads      HTTP client callback threads (default 8)
+ *   --timeout      per-request timeout in seconds (default 10)
+ *   --out          also write the JSON report to this file
+ *
+ * Authentication (see {@link ApiAuth}):
+ *   --token        JWT sent as "Authorization: Bearer ..."
+ *   --username, --password  log in via /api/auth/login instead
+ *
+ * Traffic (see {@link TrafficModel}):
+ *   --traffic      "scenario" (default) or "random" (unrelated random accounts)
+ *   --seed         seed for the scenario model (default 42)
+ *   --run-id       prefix for transaction IDs (default: start time), so reruns aren't duplicates
+ *   --accounts     account pool size (default 10000)
+ *   --zipf         Zipf exponent for account popularity (default 1.1)
+ *   --fraud-rate   share of draws that start a fraud scenario (default 0.02)
+ *   --scenarios    comma-separated subset of TrafficModel.Scenario (default all)
+ *   --labels       write transactionId,scenario,fraud ground truth to this CSV
+ *
+ * The JSON report is printed to stdout so runs can be diffed or compared.
+ */
 public class TransactionGeneratorMain {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
 
-        int count = 1;
-        ObjectMapper mapper = new ObjectMapper();
+        Map<String, String> options = parse(args);
 
-        for (int i = 0; i < count; i++) {
-            try {
-                Transaction txn = FakeDataGenerator.generateTransaction();
-                String json = mapper.writeValueAsString(txn);
+        Supplier<LabeledTransaction> traffic = traffic(options);
+        BufferedWriter labels = null;
+        if (options.containsKey("labels")) {
+            labels = Files.newBufferedWriter(Paths.get(options.get("labels")));
+            labels.write("transactionId,scenario,fraud\n");
+            traffic = withLabelsWrittenTo(labels, traffic);
+        }
 
-                URL url = new URL("http://localhost:8080/api/transactions");
-                HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        URI target = URI.create(options.getOrDefault("url", "http://localhost:8080/api/transactions"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        LoadGenerator generator = new LoadGenerator(
+                target,
+                Double.parseDouble(options.getOrDefault("rate", "100")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "256")),
+                timeout,
+                traffic,
+                ApiAuth.authorization(options, target, timeout));
 
-                con.setRequestMethod("POST");
-                con.setRequestProperty("Content-Type", "application/json");
-                con.setDoOutput(true);
+        Map<String, Object> report;
+        try {
+            report = generator.run(Integer.parseInt(options.getOrDefault("threads", "8")));
+        } finally {
+            if (labels != null) {
+                labels.close();
+            }
+        }
 
-                try (OutputStream os = con.getOutputStream()) {
-                    os.write(json.getBytes());
-                }
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        System.out.println(mapper.writeValueAsString(report));
+        if (options.containsKey("out")) {
+            mapper.writeValue(new File(options.get("out")), report);
+        }
+    }
 
-                int responseCode = con.getResponseCode();
-                System.out.println("Transaction " + (i + 1) + " - Response Code: " + responseCode);
+    static Supplier<LabeledTransaction> traffic(Map<String, String> options) {
+        String traffic = options.getOrDefault("traffic", "scenario");
+        if ("random".equals(traffic)) {
+            return () -> LabeledTransaction.unlabeled(FakeDataGenerator.generateTransaction());
+        }
+        if (!"scenario".equals(traffic)) {
+            throw new IllegalArgumentException("--traffic must be scenario or random");
+        }
+        Set<TrafficModel.Scenario> scenarios = EnumSet.allOf(TrafficModel.Scenario.class);
+        if (options.containsKey("scenarios")) {
+            scenarios = EnumSet.noneOf(TrafficModel.Scenario.class);
+            for (String name : options.get("scenarios").split(",")) {
+                scenarios.add(TrafficModel.Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return new TrafficModel(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                options.getOrDefault("run-id", Long.toString(System.currentTimeMillis(), 36)),
+                Integer.parseInt(options.getOrDefault("accounts", "10000")),
+                Double.parseDouble(options.getOrDefault("zipf", "1.1")),
+                Double.parseDouble(options.getOrDefault("fraud-rate", "0.02")),
+                scenarios,
+                Clock.systemDefaultZone());
+    }
 
-                if (responseCode >= 200 && responseCode < 300) {
-                    System.out.println("✓ Transaction sent successfully: " + txn.getTransactionId());
-                } else {
-                    System.out.println("✗ Failed to send transaction: " + txn.getTransactionId());
+    // Labels are written as transactions are drawn, on the scheduler thread
+    private static Supplier<LabeledTransaction> withLabelsWrittenTo(BufferedWriter out,
+                                                                   Supplier<LabeledTransaction> traffic) {
+        return () -> {
+            LabeledTransaction txn = traffic.get();
+            if (txn.isLabeled()) {
+                try {
+                    out.write(txn.getTransaction().getTransactionId() + "," + txn.getScenario() + "," + txn.isFraud() + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            }
+            return txn;
+        };
+    }
 
-            } catch (Exception e) {
-                e.printStackTrace();
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
             }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
         }
+        return options;
     }
 }
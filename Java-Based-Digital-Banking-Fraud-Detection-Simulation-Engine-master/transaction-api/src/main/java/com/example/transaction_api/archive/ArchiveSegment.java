@@ -0,0 +1,435 @@
+package com.example.transaction_api.archive;
+
+import com.example.transaction_api.model.CompactTransaction;
+import com.example.transaction_api.model.TransactionQuery;
+import com.example.transaction_api.sketch.BloomFilter;
+import com.example.transaction_api.sketch.Hashing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable columnar file holding one day of archived transactions.
+ *
+ * Layout:
+ * - header: magic, version, row count, min/max timestamp and amount, and a
+ *   Bloom filter over transaction IDs and accounts. This is all
+ *   {@link #readIndex} reads.
+ * - one block per {@link Column}, in declaration order:
+ *   [int compressed length][deflated column data].
+ *
+ * Columns added in later versions come last; files written before a column
+ * existed read it back as zeros.
+ *
+ * String columns are dictionary-encoded (distinct values once, then an int
+ * code per row, -1 for null); timestamps are delta-encoded. Queries decode
+ * the filter columns first and only decode the rest for matching rows.
+ */
+final class ArchiveSegment {
+
+    private static final int MAGIC = 0x54584152; // "TXAR"
+    static final int VERSION = 3;
+
+    enum Column {
+        TRANSACTION_ID(1), TIMESTAMP(1), CURRENCY(1), AMOUNT(1), SENDER(1), RECEIVER(1), TYPE(1),
+        CHANNEL(1), STATUS(1), IP(1), LOCATION(1), FRAUD_FLAG(1), FRAUD_REASON(1), ML_SCORE(1),
+        REASON_CODES(2), ID(3);
+
+        // First file version that has the column
+        final int since;
+
+        Column(int since) {
+            this.since = since;
+        }
+    }
+
+    private ArchiveSegment() {
+    }
+
+    static void write(Path file, List<CompactTransaction> unsorted, double bloomFalsePositiveRate)
+            throws IOException {
+        write(file, unsorted, bloomFalsePositiveRate, VERSION);
+    }
+
+    // An older version leaves out the columns added after it, as files written back then did
+    static void write(Path file, List<CompactTransaction> unsorted, double bloomFalsePositiveRate, int version)
+            throws IOException {
+        if (!isSupported(version)) {
+            throw new IllegalArgumentException("Unsupported archive segment version " + version);
+        }
+        List<CompactTransaction> rows = new ArrayList<>(unsorted);
+        rows.sort(Comparator.comparingLong(CompactTransaction::getTimestampMillis));
+        int n = rows.size();
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+        double minAmount = Double.POSITIVE_INFINITY;
+        double maxAmount = Double.NEGATIVE_INFINITY;
+        BloomFilter bloom = new BloomFilter(Math.max(1, n * 3L), bloomFalsePositiveRate);
+        for (CompactTransaction t : rows) {
+            long ts = t.getTimestampMillis();
+            minTs = Math.min(minTs, ts);
+            maxTs = Math.max(maxTs, ts);
+            minAmount = Math.min(minAmount, t.getAmount());
+            maxAmount = Math.max(maxAmount, t.getAmount());
+            addToBloom(bloom, t.getTransactionId());
+            addToBloom(bloom, t.getSenderAccount());
+            addToBloom(bloom, t.getReceiverAccount());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(version);
+            out.writeInt(n);
+            out.writeLong(minTs);
+            out.writeLong(maxTs);
+            out.writeDouble(minAmount);
+            out.writeDouble(maxAmount);
+            bloom.writeTo(out);
+
+            for (Column column : Column.values()) {
+                if (column.since > version) {
+                    break;
+                }
+                byte[] block = compress(encode(column, rows));
+                out.writeInt(block.length);
+                out.write(block);
+            }
+        }
+    }
+
+    static ArchiveSegmentIndex readIndex(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || !isSupported(in.readInt())) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            int rowCount = in.readInt();
+            long minTs = in.readLong();
+            long maxTs = in.readLong();
+            double minAmount = in.readDouble();
+            double maxAmount = in.readDouble();
+            BloomFilter bloom = BloomFilter.readFrom(in);
+            return new ArchiveSegmentIndex(file, rowCount,
+                    rowCount > 0 ? fromMillis(minTs) : null,
+                    rowCount > 0 ? fromMillis(maxTs) : null,
+                    minAmount, maxAmount, bloom);
+        }
+    }
+
+    /**
+     * Returns the matching rows, newest first, up to the query limit.
+     */
+    static List<CompactTransaction> read(ArchiveSegmentIndex index, TransactionQuery query) throws IOException {
+        Map<Column, byte[]> blocks = readBlocks(index.getFile());
+        int n = index.getRowCount();
+
+        // Phase 1: filter columns only
+        long[] timestamps = decodeLongs(blocks.get(Column.TIMESTAMP), n, true);
+        byte[] fraudFlags = decodeBytes(blocks.get(Column.FRAUD_FLAG), n);
+        long[] reasonCodes = decodeOptionalLongs(blocks, Column.REASON_CODES, n);
+        StringColumn senders = query.getAccount() != null ? decodeStrings(blocks.get(Column.SENDER), n) : null;
+        StringColumn receivers = query.getAccount() != null ? decodeStrings(blocks.get(Column.RECEIVER), n) : null;
+
+        long from = toMillis(query.getFrom());
+        long to = toMillis(query.getTo());
+        BitSet matches = new BitSet(n);
+        for (int row = 0; row < n; row++) {
+            if (timestamps[row] < from || timestamps[row] >= to) {
+                continue;
+            }
+            if (query.isFraudOnly() && fraudFlags[row] != 1) {
+                continue;
+            }
+            if (query.getReasonMask() != 0 && (reasonCodes[row] & query.getReasonMask()) == 0) {
+                continue;
+            }
+            if (senders != null
+                    && !query.getAccount().equals(senders.get(row))
+                    && !query.getAccount().equals(receivers.get(row))) {
+                continue;
+            }
+            matches.set(row);
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        // Phase 2: materialise matching rows
+        StringColumn ids = decodeStrings(blocks.get(Column.TRANSACTION_ID), n);
+        StringColumn currencies = decodeStrings(blocks.get(Column.CURRENCY), n);
+        double[] amounts = decodeDoubles(blocks.get(Column.AMOUNT), n);
+        if (senders == null) {
+            senders = decodeStrings(blocks.get(Column.SENDER), n);
+            receivers = decodeStrings(blocks.get(Column.RECEIVER), n);
+        }
+        StringColumn types = decodeStrings(blocks.get(Column.TYPE), n);
+        StringColumn channels = decodeStrings(blocks.get(Column.CHANNEL), n);
+        StringColumn statuses = decodeStrings(blocks.get(Column.STATUS), n);
+        StringColumn ips = decodeStrings(blocks.get(Column.IP), n);
+        StringColumn locations = decodeStrings(blocks.get(Column.LOCATION), n);
+        StringColumn reasons = decodeStrings(blocks.get(Column.FRAUD_REASON), n);
+        double[] mlScores = decodeDoubles(blocks.get(Column.ML_SCORE), n);
+        long[] rowIds = decodeOptionalLongs(blocks, Column.ID, n);
+
+        List<CompactTransaction> result = new ArrayList<>();
+        for (int row = matches.length() - 1; row >= 0 && result.size() < query.getLimit();
+             row = matches.previousSetBit(row - 1)) {
+            result.add(new CompactTransaction(
+                    rowIds[row],
+                    ids.get(row),
+                    fromMillis(timestamps[row]),
+                    currencies.get(row),
+                    amounts[row],
+                    senders.get(row),
+                    receivers.get(row),
+                    types.get(row),
+                    channels.get(row),
+                    statuses.get(row),
+                    ips.get(row),
+                    locations.get(row),
+                    fraudFlags[row] == 1,
+                    reasonCodes[row],
+                    reasons.get(row),
+                    Double.isNaN(mlScores[row]) ? null : mlScores[row]));
+        }
+        return result;
+    }
+
+    /**
+     * Every row of the segment, oldest first.
+     */
+    static List<CompactTransaction> readAll(ArchiveSegmentIndex index) throws IOException {
+        if (index.getRowCount() == 0) {
+            return new ArrayList<>();
+        }
+        TransactionQuery all = new TransactionQuery(null, index.getMinTimestamp(),
+                index.getMaxTimestamp().plusNanos(1_000_000), false, 0L, index.getRowCount());
+        List<CompactTransaction> rows = new ArrayList<>(read(index, all));
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    // Timestamps are stored as UTC-based epoch millis of the local date-time
+    static long toMillis(LocalDateTime timestamp) {
+        return CompactTransaction.toMillis(timestamp);
+    }
+
+    static LocalDateTime fromMillis(long millis) {
+        return CompactTransaction.fromMillis(millis);
+    }
+
+    /* ================= ENCODING ================= */
+
+    private static byte[] encode(Column column, List<CompactTransaction> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (column) {
+                case TRANSACTION_ID -> encodeStrings(out, rows, CompactTransaction::getTransactionId);
+                case TIMESTAMP -> {
+                    long previous = 0;
+                    for (CompactTransaction t : rows) {
+                        long ts = t.getTimestampMillis();
+                        out.writeLong(ts - previous);
+                        previous = ts;
+                    }
+                }
+                case CURRENCY -> encodeStrings(out, rows, CompactTransaction::getCurrency);
+                case AMOUNT -> {
+                    for (CompactTransaction t : rows) {
+                        out.writeDouble(t.getAmount());
+                    }
+                }
+                case SENDER -> encodeStrings(out, rows, CompactTransaction::getSenderAccount);
+                case RECEIVER -> encodeStrings(out, rows, CompactTransaction::getReceiverAccount);
+                case TYPE -> encodeStrings(out, rows, CompactTransaction::getTransactionType);
+                case CHANNEL -> encodeStrings(out, rows, CompactTransaction::getChannel);
+                case STATUS -> encodeStrings(out, rows, CompactTransaction::getStatus);
+                case IP -> encodeStrings(out, rows, CompactTransaction::getIpAddress);
+                case LOCATION -> encodeStrings(out, rows, CompactTransaction::getLocation);
+                case FRAUD_FLAG -> {
+                    for (CompactTransaction t : rows) {
+                        out.writeByte(t.isFraud() ? 1 : 0);
+                    }
+                }
+                case FRAUD_REASON -> encodeStrings(out, rows, CompactTransaction::getLegacyFraudReason);
+                case ML_SCORE -> {
+                    for (CompactTransaction t : rows) {
+                        out.writeDouble(t.getMlScore() != null ? t.getMlScore() : Double.NaN);
+                    }
+                }
+                case REASON_CODES -> {
+                    for (CompactTransaction t : rows) {
+                        out.writeLong(t.getReasonCodes());
+                    }
+                }
+                case ID -> {
+                    for (CompactTransaction t : rows) {
+                        out.writeLong(t.getId());
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void encodeStrings(DataOutputStream out, List<CompactTransaction> rows,
+                                      Function<CompactTransaction, String> getter) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String value = getter.apply(rows.get(i));
+            if (value == null) {
+                rowCodes[i] = -1;
+                continue;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            rowCodes[i] = code;
+        }
+        out.writeInt(dictionary.size());
+        for (String value : dictionary) {
+            out.writeUTF(value);
+        }
+        for (int code : rowCodes) {
+            out.writeInt(code);
+        }
+    }
+
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /* ================= DECODING ================= */
+
+    private static Map<Column, byte[]> readBlocks(Path file) throws IOException {
+        Map<Column, byte[]> blocks = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            in.readInt(); // magic, checked by readIndex
+            int version = in.readInt();
+            in.readInt();
+            in.readLong();
+            in.readLong();
+            in.readDouble();
+            in.readDouble();
+            BloomFilter.readFrom(in);
+            for (Column column : Column.values()) {
+                if (column.since > version) {
+                    break;
+                }
+                byte[] block = new byte[in.readInt()];
+                in.readFully(block);
+                blocks.put(column, block);
+            }
+        }
+        return blocks;
+    }
+
+    private static boolean isSupported(int version) {
+        return version >= 1 && version <= VERSION;
+    }
+
+    private static DataInputStream open(byte[] block) {
+        InputStream inflated = new InflaterInputStream(new ByteArrayInputStream(block));
+        return new DataInputStream(new BufferedInputStream(inflated));
+    }
+
+    private static long[] decodeLongs(byte[] block, int n, boolean delta) throws IOException {
+        long[] values = new long[n];
+        try (DataInputStream in = open(block)) {
+            long previous = 0;
+            for (int i = 0; i < n; i++) {
+                long value = in.readLong();
+                values[i] = delta ? previous + value : value;
+                previous = values[i];
+            }
+        }
+        return values;
+    }
+
+    private static long[] decodeOptionalLongs(Map<Column, byte[]> blocks, Column column, int n)
+            throws IOException {
+        return blocks.containsKey(column) ? decodeLongs(blocks.get(column), n, false) : new long[n];
+    }
+
+    private static double[] decodeDoubles(byte[] block, int n) throws IOException {
+        double[] values = new double[n];
+        try (DataInputStream in = open(block)) {
+            for (int i = 0; i < n; i++) {
+                values[i] = in.readDouble();
+            }
+        }
+        return values;
+    }
+
+    private static byte[] decodeBytes(byte[] block, int n) throws IOException {
+        byte[] values = new byte[n];
+        try (DataInputStream in = open(block)) {
+            in.readFully(values);
+        }
+        return values;
+    }
+
+    private static StringColumn decodeStrings(byte[] block, int n) throws IOException {
+        try (DataInputStream in = open(block)) {
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = in.readUTF();
+            }
+            int[] codes = new int[n];
+            for (int i = 0; i < n; i++) {
+                codes[i] = in.readInt();
+            }
+            return new StringColumn(dictionary, codes);
+        }
+    }
+
+    private static void addToBloom(BloomFilter bloom, String value) {
+        if (value != null) {
+            bloom.add(Hashing.hash64(value));
+        }
+    }
+
+    private static final class StringColumn {
+
+        private final String[] dictionary;
+        private final int[] codes;
+
+        StringColumn(String[] dictionary, int[] codes) {
+            this.dictionary = dictionary;
+            this.codes = codes;
+        }
+
+        String get(int row) {
+            int code = codes[row];
+            return code >= 0 ? dictionary[code] : null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.transaction_api.archive;
+
+import com.example.transaction_api.model.TransactionQuery;
+import com.example.transaction_api.sketch.BloomFilter;
+import com.example.transaction_api.sketch.Hashing;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Header of an archive segment kept in memory, used to skip segments a
+ * query cannot match without opening them.
+ */
+class ArchiveSegmentIndex {
+
+    private final Path file;
+    private final int rowCount;
+    private final LocalDateTime minTimestamp;
+    private final LocalDateTime maxTimestamp;
+    private final double minAmount;
+    private final double maxAmount;
+    private final BloomFilter bloom;
+
+    ArchiveSegmentIndex(Path file, int rowCount, LocalDateTime minTimestamp, LocalDateTime maxTimestamp,
+                        double minAmount, double maxAmount, BloomFilter bloom) {
+        this.file = file;
+        this.rowCount = rowCount;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.bloom = bloom;
+    }
+
+    boolean mightMatch(TransactionQuery query) {
+        if (rowCount == 0
+                || maxTimestamp.isBefore(query.getFrom())
+                || !minTimestamp.isBefore(query.getTo())) {
+            return false;
+        }
+        return query.getAccount() == null || bloom.mightContain(Hashing.hash64(query.getAccount()));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    LocalDateTime getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    LocalDateTime getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    double getMinAmount() {
+        return minAmount;
+    }
+
+    double getMaxAmount() {
+        return maxAmount;
+    }
+
+    long getSizeBytes() {
+        return file.toFile().length();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.transaction_api.archive;
+
+import com.example.transaction_api.model.CompactTransaction;
+import com.example.transaction_api.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.channels.FileChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nightly job moving transactions older than archive.after-days out of the
+ * hot table into the archive, one day at a time: the day's segment file is
+ * written and verified before its rows are deleted from TRANSACTIONS.
+ *
+ * Only the rows that were read are deleted, by transaction ID, so rows
+ * arriving for the day meanwhile stay hot until the next run. If a run dies
+ * between writing the segment and deleting, the next run finds the same rows
+ * both archived and hot; merging keys rows by transaction ID so they are
+ * archived once.
+ * Segments older than archive.retention-years are removed.
+ *
+ * The cron fires on every instance; the archive.dir writer lock lets one
+ * of them do the work, and the others find nothing left to archive when
+ * they get the lock after it.
+ */
+@Component
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private final TransactionRepository repository;
+    private final ArchiveStore archiveStore;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int maxDaysPerRun;
+    private final int retentionYears;
+
+    public ArchiveService(TransactionRepository repository,
+            ArchiveStore archiveStore,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.after-days:180}") int afterDays,
+            @Value("${archive.max-days-per-run:31}") int maxDaysPerRun,
+            @Value("${archive.retention-years:7}") int retentionYears) {
+        this.repository = repository;
+        this.archiveStore = archiveStore;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.maxDaysPerRun = maxDaysPerRun;
+        this.retentionYears = retentionYears;
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 3 * * *}")
+    public void archiveOldTransactions() {
+        if (!enabled) {
+            return;
+        }
+        try (FileChannel lock = archiveStore.tryLockWriter()) {
+            if (lock == null) {
+                logger.info("Archive job is running on another instance; skipping this run");
+                return;
+            }
+            archiveStore.refresh(); // segments the other instances wrote
+            LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+            LocalDateTime oldest = repository.findOldestTimestamp();
+            LocalDate day = oldest != null ? oldest.toLocalDate() : cutoff;
+
+            for (int done = 0; day.isBefore(cutoff) && done < maxDaysPerRun; done++, day = day.plusDays(1)) {
+                archiveDay(day);
+            }
+
+            int expired = archiveStore.deleteBefore(LocalDate.now().minusYears(retentionYears));
+            if (expired > 0) {
+                logger.info("Deleted {} archive segment(s) past the {}-year retention", expired, retentionYears);
+            }
+        } catch (Exception e) {
+            logger.error("Archiving failed: {}", e.getMessage());
+        }
+    }
+
+    private void archiveDay(LocalDate day) throws Exception {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        List<CompactTransaction> rows = repository.findBetween(from, to);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        List<CompactTransaction> archived = rows;
+        if (archiveStore.contains(day)) {
+            // Late rows (or rows left hot by an interrupted run) for a day that is already archived
+            archived = merge(archiveStore.readDay(day), rows);
+        }
+
+        archiveStore.write(day, archived);
+        int deleted = repository.deleteArchived(rows, from, to);
+        logger.info("Archived {} transaction(s) for {} ({} deleted from hot table) in {} ms",
+                rows.size(), day, deleted, System.currentTimeMillis() - started);
+    }
+
+    private static List<CompactTransaction> merge(List<CompactTransaction> archived, List<CompactTransaction> hot) {
+        Map<String, CompactTransaction> byTransactionId = new LinkedHashMap<>();
+        for (CompactTransaction row : archived) {
+            byTransactionId.put(row.getTransactionId(), row);
+        }
+        for (CompactTransaction row : hot) {
+            byTransactionId.put(row.getTransactionId(), row);
+        }
+        List<CompactTransaction> merged = new ArrayList<>(byTransactionId.values());
+        merged.sort(Comparator.comparingLong(CompactTransaction::getTimestampMillis));
+        return merged;
+    }
+}
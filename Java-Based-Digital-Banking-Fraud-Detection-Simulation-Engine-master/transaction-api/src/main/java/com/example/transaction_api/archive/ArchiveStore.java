@@ -0,0 +1,252 @@
+package com.example.transaction_api.archive;
+
+import com.example.transaction_api.model.CompactTransaction;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionQuery;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Cold tier: one immutable columnar segment file per archived day under
+ * archive.dir. Segment headers are kept in memory; queries open only the
+ * segments whose time range and Bloom filter can match.
+ *
+ * The archive job deletes archived rows from the shared TRANSACTIONS table,
+ * so with more than one instance archive.dir must be shared storage that
+ * every instance mounts. The job runs under {@link #tryLockWriter} so only
+ * one instance archives at a time, and {@link #refresh} picks up segments
+ * another instance wrote before they are searched.
+ */
+@Component
+public class ArchiveStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveStore.class);
+
+    private static final String FILE_PREFIX = "transactions-";
+    private static final String FILE_SUFFIX = ".seg";
+    private static final String LOCK_FILE = "archive.lock";
+
+    private final Path directory;
+    private final double bloomFalsePositiveRate;
+    private final ConcurrentSkipListMap<LocalDate, ArchiveSegmentIndex> segments = new ConcurrentSkipListMap<>();
+
+    // Guarded by this: modification times seen by the last refresh
+    private FileTime directoryModified;
+    private final Map<LocalDate, FileTime> segmentModified = new HashMap<>();
+
+    public ArchiveStore(@Value("${archive.dir:data/archive}") String directory,
+            @Value("${archive.bloom-false-positive-rate:0.01}") double bloomFalsePositiveRate) {
+        this.directory = Paths.get(directory);
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+    }
+
+    /**
+     * End (exclusive) of the archived range: rows before it are served from
+     * the archive, rows from it on from the hot table. Null if nothing is
+     * archived yet.
+     */
+    public LocalDateTime getWatermark() {
+        Map.Entry<LocalDate, ArchiveSegmentIndex> last = segments.lastEntry();
+        return last != null ? last.getKey().plusDays(1).atStartOfDay() : null;
+    }
+
+    public boolean contains(LocalDate day) {
+        return segments.containsKey(day);
+    }
+
+    /**
+     * Writes (or replaces) the segment for a day. The file is fully written,
+     * synced and read back before it becomes visible: the caller deletes the
+     * hot rows next, so every transaction ID must decode from the file.
+     */
+    public void write(LocalDate day, List<CompactTransaction> rows) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(FILE_PREFIX + day + FILE_SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        ArchiveSegment.write(temp, rows, bloomFalsePositiveRate);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        ArchiveSegmentIndex index = ArchiveSegment.readIndex(temp);
+        List<String> stored = transactionIds(ArchiveSegment.readAll(index));
+        List<String> expected = transactionIds(rows);
+        if (!stored.equals(expected)) {
+            Files.deleteIfExists(temp);
+            throw new IOException("Archive segment for " + day + " read back " + stored.size()
+                    + " rows that do not match the " + expected.size() + " written");
+        }
+        synchronized (this) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segments.put(day, ArchiveSegment.readIndex(target));
+        }
+    }
+
+    /**
+     * All archived rows of one day (oldest first), e.g. to merge late rows.
+     */
+    public List<CompactTransaction> readDay(LocalDate day) throws IOException {
+        ArchiveSegmentIndex index = segments.get(day);
+        return index != null ? ArchiveSegment.readAll(index) : new ArrayList<>();
+    }
+
+    /**
+     * Matching archived rows, newest first, up to the query limit.
+     */
+    public List<Transaction> search(TransactionQuery query) {
+        List<Transaction> result = new ArrayList<>();
+        LocalDate first = query.getFrom().toLocalDate();
+        LocalDate last = query.getTo().toLocalDate();
+        for (ArchiveSegmentIndex index : segments.subMap(first, true, last, true).descendingMap().values()) {
+            if (result.size() >= query.getLimit()) {
+                break;
+            }
+            if (!index.mightMatch(query)) {
+                continue;
+            }
+            try {
+                for (CompactTransaction row : ArchiveSegment.read(index,
+                        query.withRange(query.getFrom(), query.getTo(), query.getLimit() - result.size()))) {
+                    result.add(row.toTransaction());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive segment " + index.getFile(), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Deletes segments for days before the given date.
+     */
+    public synchronized int deleteBefore(LocalDate oldestKept) throws IOException {
+        int deleted = 0;
+        for (LocalDate day : new ArrayList<>(segments.headMap(oldestKept, false).keySet())) {
+            ArchiveSegmentIndex index = segments.remove(day);
+            segmentModified.remove(day);
+            Files.deleteIfExists(index.getFile());
+            deleted++;
+        }
+        return deleted;
+    }
+
+    private static List<String> transactionIds(List<CompactTransaction> rows) {
+        List<String> ids = new ArrayList<>(rows.size());
+        for (CompactTransaction row : rows) {
+            ids.add(row.getTransactionId());
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    public Map<String, Object> getStats() {
+        long rows = 0;
+        long bytes = 0;
+        for (ArchiveSegmentIndex index : segments.values()) {
+            rows += index.getRowCount();
+            bytes += index.getSizeBytes();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("segments", segments.size());
+        stats.put("rows", rows);
+        stats.put("bytes", bytes);
+        stats.put("oldestDay", segments.isEmpty() ? null : segments.firstKey());
+        stats.put("watermark", getWatermark());
+        return stats;
+    }
+
+    /**
+     * Exclusive lock on archive.dir for the archive job, or null when another
+     * instance holds it. Closing the returned channel releases the lock.
+     */
+    public FileChannel tryLockWriter() throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        return null;
+    }
+
+    /**
+     * Brings the in-memory headers in line with archive.dir, where another
+     * instance may have written, replaced or deleted segments. One stat of
+     * the directory when nothing changed.
+     */
+    public synchronized void refresh() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(directory);
+            if (modified.equals(directoryModified)) {
+                return;
+            }
+            directoryModified = modified;
+
+            Set<LocalDate> present = new HashSet<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    try {
+                        LocalDate day = LocalDate.parse(name.substring(FILE_PREFIX.length(),
+                                name.length() - FILE_SUFFIX.length()));
+                        present.add(day);
+                        FileTime fileModified = Files.getLastModifiedTime(file);
+                        if (!fileModified.equals(segmentModified.get(day)) || !segments.containsKey(day)) {
+                            segments.put(day, ArchiveSegment.readIndex(file));
+                            segmentModified.put(day, fileModified);
+                        }
+                    } catch (DateTimeParseException | IOException e) {
+                        logger.warn("Skipping unreadable archive segment {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+            segments.keySet().retainAll(present);
+            segmentModified.keySet().retainAll(present);
+        } catch (IOException e) {
+            logger.error("Failed to load archive segments from {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+        if (!segments.isEmpty()) {
+            logger.info("Loaded {} archive segment(s) from {}", segments.size(), directory);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.transaction_api.blocklist;
+
+import com.example.transaction_api.sketch.BloomFilter;
+import com.example.transaction_api.sketch.Hashing;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Blocklist of known-mule and sanctioned accounts checked for every sender
+ * and receiver.
+ *
+ * A Bloom filter answers the common "not listed" case with a few bit reads.
+ * Only Bloom hits are confirmed against an off-heap set of 64-bit
+ * fingerprints (computed with an independent hash seed, so a wrong
+ * confirmation needs both a Bloom false positive and a 64-bit collision).
+ * Lists are read from *.txt files at startup; accounts added at runtime are
+ * appended to {@value #ADDITIONS_FILE} so they survive a restart.
+ */
+@Component
+public class BlocklistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlocklistService.class);
+
+    static final String ADDITIONS_FILE = "additions.txt";
+    private static final long FINGERPRINT_SEED = 0x9E3779B97F4A7C15L;
+
+    private final Path directory;
+    private final long expectedEntries;
+    private final double targetFalsePositiveRate;
+
+    private final OffHeapLongSet exact;
+    private volatile BloomFilter bloom;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong bloomHits = new AtomicLong();
+    private final AtomicLong confirmedHits = new AtomicLong();
+
+    public BlocklistService(@Value("${blocklist.dir:data/blocklist}") String directory,
+            @Value("${blocklist.expected-entries:5000000}") long expectedEntries,
+            @Value("${blocklist.false-positive-rate:0.01}") double targetFalsePositiveRate) {
+        this.directory = Paths.get(directory);
+        this.expectedEntries = expectedEntries;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.exact = new OffHeapLongSet(16);
+        this.bloom = new BloomFilter(expectedEntries, targetFalsePositiveRate);
+    }
+
+    public boolean isBlocklisted(String account) {
+        if (account == null) {
+            return false;
+        }
+        lookups.incrementAndGet();
+        if (!bloom.mightContain(Hashing.hash64(account))) {
+            return false; // fast negative path
+        }
+        bloomHits.incrementAndGet();
+        if (exact.contains(Hashing.hash64(account, FINGERPRINT_SEED))) {
+            confirmedHits.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds an account at runtime and records it in the additions file.
+     *
+     * @return false if the account was already listed
+     */
+    public boolean add(String account) {
+        String normalised = account.trim();
+        if (!addInMemory(normalised)) {
+            return false;
+        }
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(directory.resolve(ADDITIONS_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(normalised);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            logger.error("Blocklisted {} in memory but failed to persist it: {}", normalised, e.getMessage());
+        }
+        return true;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(directory)) {
+            logger.info("No blocklist directory at {}; starting with an empty blocklist", directory);
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long[] bloomKeys = new long[1024];
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+            for (Path file : files) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String account = line.trim();
+                        if (!account.isEmpty() && !account.startsWith("#")) {
+                            if (exact.add(Hashing.hash64(account, FINGERPRINT_SEED))) {
+                                if (loaded == bloomKeys.length) {
+                                    bloomKeys = Arrays.copyOf(bloomKeys, loaded * 2);
+                                }
+                                bloomKeys[loaded++] = Hashing.hash64(account);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load blocklist from {}: {}", directory, e.getMessage());
+        }
+
+        // Size the filter for what was actually loaded, with room to grow
+        BloomFilter sized = new BloomFilter(Math.max(expectedEntries, exact.size() * 3L / 2), targetFalsePositiveRate);
+        for (int i = 0; i < loaded; i++) {
+            sized.add(bloomKeys[i]);
+        }
+        bloom = sized;
+
+        logger.info("Loaded {} blocklisted accounts in {} ms (bloom {} bits, k={}, expected FPR {})",
+                exact.size(), System.currentTimeMillis() - started,
+                sized.getBitCount(), sized.getHashCount(), sized.expectedFalsePositiveRate());
+    }
+
+    public Map<String, Object> getStats() {
+        BloomFilter current = bloom;
+        long negatives = lookups.get() - confirmedHits.get();
+        long falsePositives = bloomHits.get() - confirmedHits.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", exact.size());
+        stats.put("offHeapBytes", exact.offHeapBytes());
+        stats.put("bloomBits", current.getBitCount());
+        stats.put("bloomHashes", current.getHashCount());
+        stats.put("expectedFalsePositiveRate", current.expectedFalsePositiveRate());
+        stats.put("lookups", lookups.get());
+        stats.put("bloomHits", bloomHits.get());
+        stats.put("confirmedHits", confirmedHits.get());
+        stats.put("observedFalsePositiveRate", negatives > 0 ? (double) falsePositives / negatives : 0.0);
+        return stats;
+    }
+
+    private boolean addInMemory(String account) {
+        if (!exact.add(Hashing.hash64(account, FINGERPRINT_SEED))) {
+            return false;
+        }
+        bloom.add(Hashing.hash64(account));
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.transaction_api.blocklist;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open-addressing set of 64-bit values stored in a direct (off-heap)
+ * buffer, so millions of entries add no GC pressure. Zero marks an empty
+ * slot, so the value 0 is stored as 1. Grows by rehashing at 70% load.
+ */
+class OffHeapLongSet {
+
+    private static final double MAX_LOAD = 0.7;
+    private static final int MAX_CAPACITY = 1 << 27; // 1 GB of slots
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteBuffer table;
+    private int capacity;
+    private int size;
+
+    OffHeapLongSet(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    boolean add(long value) {
+        long key = value == 0 ? 1 : value;
+        lock.writeLock().lock();
+        try {
+            if (size + 1 > capacity * MAX_LOAD) {
+                if (capacity == MAX_CAPACITY) {
+                    throw new IllegalStateException("Blocklist set is full (" + size + " entries)");
+                }
+                rehash(capacity * 2);
+            }
+            if (insert(table, capacity, key)) {
+                size++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean contains(long value) {
+        long key = value == 0 ? 1 : value;
+        lock.readLock().lock();
+        try {
+            int mask = capacity - 1;
+            int slot = slotOf(key, mask);
+            while (true) {
+                long current = table.getLong(slot << 3);
+                if (current == 0) {
+                    return false;
+                }
+                if (current == key) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) capacity << 3;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer old = table;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long value = old.getLong(slot << 3);
+            if (value != 0) {
+                insert(table, capacity, value);
+            }
+        }
+    }
+
+    private void allocate(int newCapacity) {
+        table = ByteBuffer.allocateDirect(newCapacity << 3);
+        capacity = newCapacity;
+    }
+
+    private static boolean insert(ByteBuffer table, int capacity, long key) {
+        int mask = capacity - 1;
+        int slot = slotOf(key, mask);
+        while (true) {
+            long current = table.getLong(slot << 3);
+            if (current == 0) {
+                table.putLong(slot << 3, key);
+                return true;
+            }
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int slotOf(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    private static int tableSizeFor(int expectedEntries) {
+        int needed = (int) Math.min(MAX_CAPACITY, (long) Math.ceil(Math.max(16, expectedEntries) / MAX_LOAD));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
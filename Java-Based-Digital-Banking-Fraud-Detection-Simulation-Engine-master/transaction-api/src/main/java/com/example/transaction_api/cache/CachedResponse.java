@@ -0,0 +1,67 @@
+package com.example.transaction_api.cache;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A response body that was serialised to JSON once and can be served
+ * many times. Carries the ETag so clients can revalidate with If-None-Match.
+ */
+public final class CachedResponse {
+
+    private final byte[] body;
+    private final String etag;
+    private final long createdAtMillis;
+    private final long generation;
+
+    CachedResponse(byte[] body, String etag, long createdAtMillis, long generation) {
+        this.body = body;
+        this.etag = etag;
+        this.createdAtMillis = createdAtMillis;
+        this.generation = generation;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Builds the HTTP response: 304 when the client already holds this
+     * version, otherwise the cached JSON bytes (no Jackson on this path).
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String ifNoneMatch) {
+        if (ifNoneMatch != null && matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .body(body);
+    }
+
+    private boolean matches(String ifNoneMatch) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.transaction_api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialised JSON responses for the dashboard and listing endpoints.
+ *
+ * - Bounded by entry count, total bytes and a TTL.
+ * - Concurrent requests for the same key share a single execution
+ *   (single-flight), so an incident with many analysts runs each heavy
+ *   query once.
+ * - Committed writes bump a generation counter; entries from an older generation are
+ *   only served while they are younger than the stale tolerance.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final long staleToleranceMillis;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    public ResponseCache(ObjectMapper objectMapper,
+            @Value("${response.cache.max-entries:256}") int maxEntries,
+            @Value("${response.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${response.cache.ttl-ms:5000}") long ttlMillis,
+            @Value("${response.cache.stale-tolerance-ms:1000}") long staleToleranceMillis) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+        this.staleToleranceMillis = staleToleranceMillis;
+    }
+
+    /**
+     * Returns the cached response for the key, or computes it once
+     * (even under concurrent callers) and caches the serialised bytes.
+     */
+    public CachedResponse get(String key, Supplier<?> loader) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && isFresh(cached)) {
+            return cached;
+        }
+
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            CachedResponse loaded = load(loader);
+            store(key, loaded);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Called once new rows are in TRANSACTIONS (by the ingest path, or by
+     * JournalReplicator when the journal is on): every cached view may now
+     * be out of date.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    private CachedResponse load(Supplier<?> loader) {
+        long loadGeneration = generation.get();
+        Object value = loader.get();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            // Content hash only: an unchanged body keeps its ETag across
+            // ingest generations, so clients still get 304 after a refresh.
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new CachedResponse(body, etag, System.currentTimeMillis(), loadGeneration);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise cached response", e);
+        }
+    }
+
+    private boolean isFresh(CachedResponse cached) {
+        long age = System.currentTimeMillis() - cached.getCreatedAtMillis();
+        if (age > ttlMillis) {
+            return false;
+        }
+        return cached.getGeneration() == generation.get() || age <= staleToleranceMillis;
+    }
+
+    private void store(String key, CachedResponse response) {
+        long size = response.getBody().length;
+        if (size > maxBytes) {
+            logger.debug("Response for {} is {} bytes, too large to cache", key, size);
+            return;
+        }
+
+        CachedResponse previous = entries.put(key, response);
+        totalBytes.addAndGet(previous != null ? size - previous.getBody().length : size);
+
+        while (entries.size() > maxEntries || totalBytes.get() > maxBytes) {
+            if (!evictOldest()) {
+                break;
+            }
+        }
+    }
+
+    private boolean evictOldest() {
+        String oldestKey = null;
+        long oldestTime = Long.MAX_VALUE;
+        for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+            if (entry.getValue().getCreatedAtMillis() < oldestTime) {
+                oldestTime = entry.getValue().getCreatedAtMillis();
+                oldestKey = entry.getKey();
+            }
+        }
+        if (oldestKey == null) {
+            return false;
+        }
+        CachedResponse removed = entries.remove(oldestKey);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.getBody().length);
+        }
+        return true;
+    }
+
+    private static CachedResponse join(CompletableFuture<CachedResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
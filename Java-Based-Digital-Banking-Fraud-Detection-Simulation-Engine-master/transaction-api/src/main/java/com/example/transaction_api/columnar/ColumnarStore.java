@@ -0,0 +1,317 @@
+package com.example.transaction_api.columnar;
+
+import com.example.transaction_api.model.SliceRow;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.repository.TransactionRepository;
+import com.example.transaction_api.service.TransactionObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * In-process columnar copy of recent transactions for ad-hoc slicing.
+ *
+ * Rows live in fixed-size {@link Segment}s of primitive arrays with the
+ * low-cardinality columns dictionary-encoded to one byte and the fraud flag
+ * kept as a bitmap. Queries scan segments in parallel and merge partial
+ * group-by maps, so charts such as channel x location x hour are answered
+ * from memory instead of another full-scan SQL query.
+ *
+ * The store is rebuilt from the analytics pool once the application is
+ * ready; until that load finishes, queries only see rows decided since
+ * startup.
+ *
+ * Segments are preallocated at full capacity, so the number kept is derived
+ * from a heap budget rather than configured directly; at peak traffic the
+ * budget, not the retention window, bounds how far back slicing reaches.
+ * Expired segments are only dropped when a new one is started, so queries
+ * also cut rows off at the retention window themselves.
+ */
+@Component
+public class ColumnarStore implements TransactionObserver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarStore.class);
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final TransactionRepository repository;
+    private final boolean loadOnStartup;
+
+    private final Dictionary[] dictionaries = new Dictionary[Segment.CATEGORICAL_COLUMNS];
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final int segmentRows;
+    private final int retentionDays;
+    private final long retentionMillis;
+    private final int maxSegments;
+
+    private Segment active;
+
+    public ColumnarStore(TransactionRepository repository,
+            @Value("${columnar.segment-rows:16384}") int segmentRows,
+            @Value("${columnar.retention-days:7}") int retentionDays,
+            @Value("${columnar.max-bytes:67108864}") long maxBytes,
+            @Value("${columnar.load-on-startup:true}") boolean loadOnStartup) {
+        this.repository = repository;
+        this.loadOnStartup = loadOnStartup;
+        this.segmentRows = segmentRows;
+        this.retentionDays = retentionDays;
+        this.retentionMillis = retentionDays * 86_400_000L;
+        // At least two: the active segment and the one it replaced
+        this.maxSegments = (int) Math.max(2, Math.min(Integer.MAX_VALUE, maxBytes / Segment.bytesFor(segmentRows)));
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new Dictionary();
+        }
+    }
+
+    /**
+     * Reloads the retained window from the database so slicing survives a
+     * restart. A failure leaves the store filling from live traffic only.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loadOnStartup) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            repository.forEachSince(LocalDateTime.now().minusDays(retentionDays), this::add);
+            logger.info("Loaded {} rows into the columnar store in {} ms (at most {} segments of {} rows)",
+                    getRowCount(), System.currentTimeMillis() - started, maxSegments, segmentRows);
+        } catch (RuntimeException e) {
+            logger.warn("Columnar store starts empty; loading from the database failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTransactionDecided(Transaction txn, long latencyNanos) {
+        add(txn);
+    }
+
+    private void add(Transaction txn) {
+        long timestamp = txn.getTimestamp() != null
+                ? txn.getTimestamp().atZone(ZONE).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        if (timestamp < System.currentTimeMillis() - retentionMillis) {
+            return; // older than the retained window
+        }
+
+        byte[] codes = new byte[Segment.CATEGORICAL_COLUMNS];
+        codes[Segment.CURRENCY] = dictionaries[Segment.CURRENCY].encode(txn.getCurrency());
+        codes[Segment.CHANNEL] = dictionaries[Segment.CHANNEL].encode(txn.getChannel());
+        codes[Segment.TYPE] = dictionaries[Segment.TYPE].encode(txn.getTransactionType());
+        codes[Segment.STATUS] = dictionaries[Segment.STATUS].encode(txn.getStatus());
+        codes[Segment.LOCATION] = dictionaries[Segment.LOCATION].encode(txn.getLocation());
+
+        int hour = txn.getTimestamp() != null ? txn.getTimestamp().getHour() : 0;
+        float mlScore = txn.getMlScore() != null ? txn.getMlScore().floatValue() : 0f;
+        boolean fraud = txn.getFraudFlag() != null && txn.getFraudFlag() == 1;
+
+        append(timestamp, hour, txn.getAmount(), mlScore, fraud, codes);
+    }
+
+    private synchronized void append(long timestamp, int hour, double amount, float mlScore,
+                                     boolean fraud, byte[] codes) {
+        if (active == null || !active.append(timestamp, hour, amount, mlScore, fraud, codes)) {
+            evictExpired();
+            active = new Segment(segmentRows);
+            segments.add(active);
+            active.append(timestamp, hour, amount, mlScore, fraud, codes);
+        }
+    }
+
+    private void evictExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        List<Segment> expired = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.getMaxTimestamp() < cutoff) {
+                expired.add(segment);
+            }
+        }
+        // Hard cap: drop the oldest segments first
+        int overflow = segments.size() - expired.size() + 1 - maxSegments;
+        for (int i = 0; overflow > 0 && i < segments.size(); i++) {
+            if (!expired.contains(segments.get(i))) {
+                expired.add(segments.get(i));
+                overflow--;
+            }
+        }
+        segments.removeAll(expired);
+    }
+
+    /**
+     * Runs a filter/group-by over all retained rows with one task per segment.
+     */
+    public List<SliceRow> query(SliceQuery query) {
+        int[] filterCodes = resolveFilters(query);
+        if (filterCodes == null) {
+            return new ArrayList<>(); // a filter value that was never seen matches nothing
+        }
+
+        // Segments past the window linger until the next one is started
+        long fromMillis = Math.max(query.getFromMillis(), System.currentTimeMillis() - retentionMillis);
+        List<SliceQuery.Dimension> groupBy = query.getGroupBy();
+        List<Map<Long, double[]>> partials = segments.parallelStream()
+                .map(segment -> scan(segment, query, fromMillis, filterCodes, groupBy))
+                .collect(Collectors.toList());
+
+        Map<Long, double[]> merged = new HashMap<>();
+        for (Map<Long, double[]> partial : partials) {
+            partial.forEach((key, totals) -> {
+                double[] sum = merged.computeIfAbsent(key, k -> new double[totals.length]);
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += totals[i];
+                }
+            });
+        }
+
+        List<SliceRow> rows = new ArrayList<>(merged.size());
+        merged.forEach((key, totals) -> rows.add(toRow(key, totals, groupBy)));
+        rows.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return rows;
+    }
+
+    public long getRowCount() {
+        long rows = 0;
+        for (Segment segment : segments) {
+            rows += segment.size();
+        }
+        return rows;
+    }
+
+    public long getBytesUsed() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.bytesUsed();
+        }
+        return bytes;
+    }
+
+    // totals: [count, fraudCount, sumAmount, sumMlScore]
+    private static Map<Long, double[]> scan(Segment segment, SliceQuery query, long fromMillis, int[] filterCodes,
+                                            List<SliceQuery.Dimension> groupBy) {
+        Map<Long, double[]> partial = new HashMap<>();
+        int rows = segment.size();
+        if (rows == 0
+                || segment.getMaxTimestamp() < fromMillis
+                || segment.getMinTimestamp() > query.getToMillis()) {
+            return partial;
+        }
+
+        if (query.isFraudOnly()) {
+            // Walk only the set bits of the fraud bitmap
+            long[] bitmap = segment.fraudBitmap;
+            for (int word = 0; word < bitmap.length && (word << 6) < rows; word++) {
+                long bits = bitmap[word];
+                while (bits != 0) {
+                    int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (row < rows) {
+                        accumulate(segment, row, query, fromMillis, filterCodes, groupBy, partial);
+                    }
+                }
+            }
+        } else {
+            for (int row = 0; row < rows; row++) {
+                accumulate(segment, row, query, fromMillis, filterCodes, groupBy, partial);
+            }
+        }
+        return partial;
+    }
+
+    private static void accumulate(Segment segment, int row, SliceQuery query, long fromMillis, int[] filterCodes,
+                                   List<SliceQuery.Dimension> groupBy, Map<Long, double[]> partial) {
+        long timestamp = segment.timestamps[row];
+        if (timestamp < fromMillis || timestamp > query.getToMillis()) {
+            return;
+        }
+        double amount = segment.amounts[row];
+        if (amount < query.getMinAmount() || amount > query.getMaxAmount()) {
+            return;
+        }
+        for (int column = 0; column < filterCodes.length; column++) {
+            if (filterCodes[column] >= 0 && (segment.categorical[column][row] & 0xFF) != filterCodes[column]) {
+                return;
+            }
+        }
+
+        long key = 0;
+        for (SliceQuery.Dimension dimension : groupBy) {
+            key = (key << 8) | groupCode(segment, row, dimension);
+        }
+
+        double[] totals = partial.computeIfAbsent(key, k -> new double[4]);
+        totals[0]++;
+        if (segment.isFraud(row)) {
+            totals[1]++;
+        }
+        totals[2] += amount;
+        totals[3] += segment.mlScores[row];
+    }
+
+    private static int groupCode(Segment segment, int row, SliceQuery.Dimension dimension) {
+        switch (dimension) {
+            case HOUR:
+                return segment.hours[row];
+            case AMOUNT_BAND:
+                return SliceQuery.amountBand(segment.amounts[row]);
+            default:
+                return segment.categorical[dimension.column][row] & 0xFF;
+        }
+    }
+
+    private SliceRow toRow(long key, double[] totals, List<SliceQuery.Dimension> groupBy) {
+        // Codes were packed first-dimension-first, so unpack from the end
+        String[] values = new String[groupBy.size()];
+        for (int i = groupBy.size() - 1; i >= 0; i--) {
+            SliceQuery.Dimension dimension = groupBy.get(i);
+            int code = (int) (key & 0xFF);
+            key >>>= 8;
+            if (dimension == SliceQuery.Dimension.HOUR) {
+                values[i] = String.valueOf(code);
+            } else if (dimension == SliceQuery.Dimension.AMOUNT_BAND) {
+                values[i] = SliceQuery.AMOUNT_BAND_LABELS[code];
+            } else {
+                values[i] = dictionaries[dimension.column].decode(code);
+            }
+        }
+
+        Map<String, String> group = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            group.put(groupBy.get(i).name().toLowerCase(Locale.ROOT), values[i]);
+        }
+
+        long count = (long) totals[0];
+        long fraudCount = (long) totals[1];
+        return new SliceRow(group, count, fraudCount, totals[2],
+                count > 0 ? (double) fraudCount / count * 100.0 : 0.0,
+                count > 0 ? totals[3] / count : 0.0);
+    }
+
+    private int[] resolveFilters(SliceQuery query) {
+        int[] codes = new int[Segment.CATEGORICAL_COLUMNS];
+        Arrays.fill(codes, -1);
+        for (Map.Entry<SliceQuery.Dimension, String> filter : query.getFilters().entrySet()) {
+            int column = filter.getKey().column;
+            int code = dictionaries[column].lookup(filter.getValue());
+            if (code < 0) {
+                return null;
+            }
+            codes[column] = code;
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.transaction_api.columnar;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding for a low-cardinality column. Codes fit in one byte;
+ * once 255 distinct values are seen, new values map to the shared
+ * {@link #OTHER} code so the column stays one byte per row.
+ */
+class Dictionary {
+
+    static final String OTHER = "OTHER";
+    static final int MAX_CODES = 255;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[0];
+
+    Dictionary() {
+        encode(OTHER); // code 0
+    }
+
+    byte encode(String value) {
+        String key = value == null || value.isEmpty() ? OTHER : value;
+        Integer code = codes.get(key);
+        if (code != null) {
+            return (byte) code.intValue();
+        }
+        return (byte) add(key);
+    }
+
+    /**
+     * @return the code for the value, or -1 if the value was never seen
+     */
+    int lookup(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    String decode(int code) {
+        String[] snapshot = values;
+        return code >= 0 && code < snapshot.length ? snapshot[code] : OTHER;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    private synchronized int add(String key) {
+        Integer existing = codes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.length >= MAX_CODES) {
+            return 0;
+        }
+        int code = values.length;
+        String[] grown = Arrays.copyOf(values, code + 1);
+        grown[code] = key;
+        values = grown;
+        codes.put(key, code);
+        return code;
+    }
+}
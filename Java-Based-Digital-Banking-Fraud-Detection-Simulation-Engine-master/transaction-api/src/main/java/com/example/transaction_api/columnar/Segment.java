@@ -0,0 +1,92 @@
+package com.example.transaction_api.columnar;
+
+/**
+ * Fixed-capacity block of rows stored column by column in primitive arrays.
+ * Rows are appended under the store lock; {@link #size} is volatile so
+ * scanning threads only ever see fully written rows.
+ */
+class Segment {
+
+    // Column ids for dictionary-encoded columns
+    static final int CURRENCY = 0;
+    static final int CHANNEL = 1;
+    static final int TYPE = 2;
+    static final int STATUS = 3;
+    static final int LOCATION = 4;
+    static final int CATEGORICAL_COLUMNS = 5;
+
+    final int capacity;
+    final long[] timestamps;
+    final double[] amounts;
+    final float[] mlScores;
+    final byte[] hours;
+    final byte[][] categorical;
+    final long[] fraudBitmap;
+
+    private volatile int size;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    Segment(int capacity) {
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.amounts = new double[capacity];
+        this.mlScores = new float[capacity];
+        this.hours = new byte[capacity];
+        this.categorical = new byte[CATEGORICAL_COLUMNS][capacity];
+        this.fraudBitmap = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Appends one row; must be called by a single writer at a time.
+     *
+     * @return false if the segment is full
+     */
+    boolean append(long timestamp, int hour, double amount, float mlScore, boolean fraud, byte[] codes) {
+        int row = size;
+        if (row >= capacity) {
+            return false;
+        }
+        timestamps[row] = timestamp;
+        amounts[row] = amount;
+        mlScores[row] = mlScore;
+        hours[row] = (byte) hour;
+        for (int column = 0; column < CATEGORICAL_COLUMNS; column++) {
+            categorical[column][row] = codes[column];
+        }
+        if (fraud) {
+            fraudBitmap[row >>> 6] |= 1L << row;
+        }
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        size = row + 1; // publish
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFraud(int row) {
+        return (fraudBitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long bytesUsed() {
+        return bytesFor(capacity);
+    }
+
+    /**
+     * Heap taken by the column arrays of a segment with the given capacity.
+     */
+    static long bytesFor(int capacity) {
+        return capacity * (8L + 8L + 4L + 1L + CATEGORICAL_COLUMNS) + ((capacity + 63) >>> 6) * 8L;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.transaction_api.columnar;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter and group-by specification for {@link ColumnarStore#query}.
+ */
+public class SliceQuery {
+
+    public enum Dimension {
+        CURRENCY(Segment.CURRENCY),
+        CHANNEL(Segment.CHANNEL),
+        TYPE(Segment.TYPE),
+        STATUS(Segment.STATUS),
+        LOCATION(Segment.LOCATION),
+        HOUR(-1),
+        AMOUNT_BAND(-1);
+
+        final int column;
+
+        Dimension(int column) {
+            this.column = column;
+        }
+
+        boolean isCategorical() {
+            return column >= 0;
+        }
+
+        public static Dimension fromParameter(String value) {
+            String normalised = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            if ("TRANSACTION_TYPE".equals(normalised)) {
+                return TYPE;
+            }
+            try {
+                return Dimension.valueOf(normalised);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported dimension '" + value + "'. Use currency, channel, "
+                        + "type, status, location, hour or amount_band");
+            }
+        }
+    }
+
+    // Upper bounds of the amount bands; the last band is open-ended
+    static final double[] AMOUNT_BAND_LIMITS = {1_000, 10_000, 50_000, 100_000};
+    static final String[] AMOUNT_BAND_LABELS = {"<1K", "1K-10K", "10K-50K", "50K-100K", ">=100K"};
+
+    private long fromMillis = Long.MIN_VALUE;
+    private long toMillis = Long.MAX_VALUE;
+    private final Map<Dimension, String> filters = new EnumMap<>(Dimension.class);
+    private final List<Dimension> groupBy = new ArrayList<>();
+    private boolean fraudOnly;
+    private double minAmount = Double.NEGATIVE_INFINITY;
+    private double maxAmount = Double.POSITIVE_INFINITY;
+
+    public SliceQuery from(long fromMillis) {
+        this.fromMillis = fromMillis;
+        return this;
+    }
+
+    public SliceQuery to(long toMillis) {
+        this.toMillis = toMillis;
+        return this;
+    }
+
+    public SliceQuery where(Dimension dimension, String value) {
+        if (!dimension.isCategorical()) {
+            throw new IllegalArgumentException("Cannot filter on " + dimension.name().toLowerCase(Locale.ROOT));
+        }
+        filters.put(dimension, value);
+        return this;
+    }
+
+    public SliceQuery groupBy(Dimension dimension) {
+        if (groupBy.size() >= 7) {
+            throw new IllegalArgumentException("At most 7 group-by dimensions are supported");
+        }
+        if (!groupBy.contains(dimension)) {
+            groupBy.add(dimension);
+        }
+        return this;
+    }
+
+    public SliceQuery fraudOnly(boolean fraudOnly) {
+        this.fraudOnly = fraudOnly;
+        return this;
+    }
+
+    public SliceQuery amountBetween(double minAmount, double maxAmount) {
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        return this;
+    }
+
+    long getFromMillis() {
+        return fromMillis;
+    }
+
+    long getToMillis() {
+        return toMillis;
+    }
+
+    Map<Dimension, String> getFilters() {
+        return filters;
+    }
+
+    List<Dimension> getGroupBy() {
+        return groupBy;
+    }
+
+    boolean isFraudOnly() {
+        return fraudOnly;
+    }
+
+    double getMinAmount() {
+        return minAmount;
+    }
+
+    double getMaxAmount() {
+        return maxAmount;
+    }
+
+    static int amountBand(double amount) {
+        for (int i = 0; i < AMOUNT_BAND_LIMITS.length; i++) {
+            if (amount < AMOUNT_BAND_LIMITS[i]) {
+                return i;
+            }
+        }
+        return AMOUNT_BAND_LIMITS.length;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.transaction_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Two connection pools, so dashboard and listing queries can never take
+ * connections away from the fraud-decision path:
+ * - "ingest" (primary): spring.datasource.* and spring.datasource.hikari.*.
+ *   Used for inserts and for the lookups made while scoring a transaction.
+ * - "analytics": a smaller pool for dashboards, listings and search. It
+ *   points at analytics.datasource.url when a read-only replica is set up,
+ *   otherwise at the primary database.
+ *
+ * Repositories take the plain JdbcTemplate for ingest work and the
+ * "analyticsJdbcTemplate" qualifier for reporting reads.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("ingest");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource analyticsDataSource(DataSourceProperties primary,
+            @Value("${analytics.datasource.url:}") String url,
+            @Value("${analytics.datasource.username:}") String username,
+            @Value("${analytics.datasource.password:}") String password,
+            @Value("${analytics.datasource.maximum-pool-size:4}") int maximumPoolSize,
+            @Value("${analytics.datasource.minimum-idle:1}") int minimumIdle,
+            @Value("${analytics.datasource.connection-timeout:10000}") long connectionTimeout) {
+        boolean replica = !url.isBlank();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("analytics");
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setJdbcUrl(replica ? url : primary.determineUrl());
+        dataSource.setUsername(replica && !username.isBlank() ? username : primary.determineUsername());
+        dataSource.setPassword(replica && !password.isBlank() ? password : primary.determinePassword());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+        dataSource.setConnectionTimeout(connectionTimeout);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(HikariDataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public JdbcTemplate analyticsJdbcTemplate(@Qualifier("analyticsDataSource") HikariDataSource analyticsDataSource) {
+        return new JdbcTemplate(analyticsDataSource);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.transaction_api.config;
+
+import com.example.transaction_api.outbox.FileOutboxSink;
+import com.example.transaction_api.outbox.OutboxSink;
+import com.example.transaction_api.outbox.OutboxSubscriber;
+import com.example.transaction_api.outbox.SocketOutboxSink;
+import com.example.transaction_api.outbox.SubscriberOutboxSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Picks the decision-event sink from outbox.sink (FILE, SOCKET or SUBSCRIBER).
+ */
+@Configuration
+public class OutboxConfig {
+
+    public enum SinkType {
+        FILE, SOCKET, SUBSCRIBER
+    }
+
+    @Bean(destroyMethod = "close")
+    public OutboxSink outboxSink(@Value("${outbox.sink:FILE}") String sink,
+            @Value("${outbox.file:data/outbox/decisions.jsonl}") String file,
+            @Value("${outbox.fsync:true}") boolean fsync,
+            @Value("${outbox.socket.host:localhost}") String host,
+            @Value("${outbox.socket.port:9099}") int port,
+            @Value("${outbox.socket.timeout-ms:5000}") int timeoutMillis,
+            @Value("${outbox.socket.await-ack:true}") boolean awaitAck,
+            ObjectProvider<OutboxSubscriber> subscribers) {
+        return switch (SinkType.valueOf(sink.trim().toUpperCase(Locale.ROOT))) {
+            case FILE -> new FileOutboxSink(Paths.get(file), fsync);
+            case SOCKET -> new SocketOutboxSink(host, port, timeoutMillis, awaitAck);
+            case SUBSCRIBER -> new SubscriberOutboxSink(subscribers.orderedStream().toList());
+        };
+    }
+}
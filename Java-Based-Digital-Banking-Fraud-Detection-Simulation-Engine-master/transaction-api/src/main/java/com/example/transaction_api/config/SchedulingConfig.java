@@ -0,0 +1,60 @@
+package com.example.transaction_api.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Enables @Scheduled background jobs (sketch persistence, etc.).
+ *
+ * Two schedulers keep the delivery path apart from housekeeping:
+ * - taskScheduler runs every job by default, including the nightly archive
+ *   and partition maintenance, which may hold a thread for minutes.
+ * - pipelineScheduler runs only the jobs that move data out of the process
+ *   (journal replication, outbox relay); they opt in with
+ *   {@code @Scheduled(scheduler = SchedulingConfig.PIPELINE_SCHEDULER)}, so
+ *   a long nightly job never delays them.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    public static final String PIPELINE_SCHEDULER = "pipelineScheduler";
+
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    public SchedulingConfig(@Qualifier("taskScheduler") ThreadPoolTaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Bean
+    public static ThreadPoolTaskScheduler taskScheduler(
+            @Value("${scheduling.pool-size:4}") int poolSize) {
+        return scheduler("scheduled-", poolSize);
+    }
+
+    @Bean(PIPELINE_SCHEDULER)
+    public static ThreadPoolTaskScheduler pipelineScheduler(
+            @Value("${scheduling.pipeline-pool-size:2}") int poolSize) {
+        return scheduler("pipeline-", poolSize);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler);
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
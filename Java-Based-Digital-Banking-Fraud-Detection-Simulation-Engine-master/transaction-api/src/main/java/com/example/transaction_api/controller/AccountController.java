@@ -1,5 +1,6 @@
 package com.example.transaction_api.controller;
 
+import com.example.transaction_api.blocklist.BlocklistService;
 import com.example.transaction_api.model.AccountStatus;
 import com.example.transaction_api.service.AccountStatusService;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +15,11 @@ import java.util.Map;
 public class AccountController {
 
     private final AccountStatusService accountStatusService;
+    private final BlocklistService blocklistService;
 
-    public AccountController(AccountStatusService accountStatusService) {
+    public AccountController(AccountStatusService accountStatusService, BlocklistService blocklistService) {
         this.accountStatusService = accountStatusService;
+        this.blocklistService = blocklistService;
     }
 
     @GetMapping("/status/{accountNumber}")
@@ -57,4 +60,25 @@ public class AccountController {
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/blocklist/stats")
+    public ResponseEntity<?> getBlocklistStats() {
+        return ResponseEntity.ok(blocklistService.getStats());
+    }
+
+    @PostMapping("/blocklist")
+    public ResponseEntity<?> addToBlocklist(@RequestBody Map<String, String> request) {
+        String account = request.get("account");
+        if (account == null || account.isBlank()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid request");
+            errorResponse.put("message", "account is required");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("account", account.trim());
+        response.put("added", blocklistService.add(account));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,44 +1,194 @@
 package com.example.transaction_api.controller;
 
-import com.example.transaction_api.model.ChannelWiseFraud;
-import com.example.transaction_api.model.DashboardSummary;
-import com.example.transaction_api.model.FraudTrend;
-import com.example.transaction_api.model.LocationWiseFraud;
+import com.example.transaction_api.cache.ResponseCache;
+import com.example.transaction_api.journal.TransactionJournal;
+import com.example.transaction_api.metrics.ConnectionPoolMetrics;
+import com.example.transaction_api.model.TimeSeriesPoint;
+import com.example.transaction_api.outbox.OutboxRelay;
 import com.example.transaction_api.service.DashboardService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ResponseCache responseCache;
+    private final ConnectionPoolMetrics poolMetrics;
+    private final OutboxRelay outboxRelay;
+    private final TransactionJournal journal;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, ResponseCache responseCache,
+                               ConnectionPoolMetrics poolMetrics, OutboxRelay outboxRelay,
+                               TransactionJournal journal) {
         this.dashboardService = dashboardService;
+        this.responseCache = responseCache;
+        this.poolMetrics = poolMetrics;
+        this.outboxRelay = outboxRelay;
+        this.journal = journal;
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<DashboardSummary> getSummary() {
-        return ResponseEntity.ok(dashboardService.getSummary());
+    public ResponseEntity<byte[]> getSummary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("dashboard:summary", dashboardService::getSummary)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/fraud-trends")
-    public ResponseEntity<List<FraudTrend>> getFraudTrends() {
-        return ResponseEntity.ok(dashboardService.getFraudTrends());
+    public ResponseEntity<byte[]> getFraudTrends(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("dashboard:fraud-trends", dashboardService::getFraudTrends)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/channel-wise")
-    public ResponseEntity<List<ChannelWiseFraud>> getChannelWiseFraud() {
-        return ResponseEntity.ok(dashboardService.getChannelWiseFraud());
+    public ResponseEntity<byte[]> getChannelWiseFraud(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("dashboard:channel-wise", dashboardService::getChannelWiseFraud)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/location-wise")
-    public ResponseEntity<List<LocationWiseFraud>> getLocationWiseFraud() {
-        return ResponseEntity.ok(dashboardService.getLocationWiseFraud());
+    public ResponseEntity<byte[]> getLocationWiseFraud(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("dashboard:location-wise", dashboardService::getLocationWiseFraud)
+                .toResponseEntity(ifNoneMatch);
+    }
+
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeSeries(
+            @RequestParam(defaultValue = "minute") String granularity,
+            @RequestParam(required = false) String channel,
+            @RequestParam(required = false) Integer points) {
+        try {
+            List<TimeSeriesPoint> series = dashboardService.getTimeSeries(granularity, channel, points);
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid time-series request", e);
+        }
+    }
+
+    @GetMapping("/distinct-senders")
+    public ResponseEntity<?> getDistinctSenders(@RequestParam(defaultValue = "1") int days) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("days", days);
+            response.put("distinctSenders", dashboardService.getDistinctSenders(days));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid distinct-senders request", e);
+        }
+    }
+
+    @GetMapping("/distinct-ips")
+    public ResponseEntity<?> getDistinctIpsByLocation(@RequestParam(defaultValue = "1") int days) {
+        try {
+            return ResponseEntity.ok(dashboardService.getDistinctIpsByLocation(days));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid distinct-ips request", e);
+        }
+    }
+
+    @GetMapping("/amount-quantiles")
+    public ResponseEntity<?> getAmountQuantiles(
+            @RequestParam(defaultValue = "channel") String dimension,
+            @RequestParam(defaultValue = "1") int days) {
+        try {
+            return ResponseEntity.ok(dashboardService.getAmountQuantiles(dimension, days));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid amount-quantiles request", e);
+        }
+    }
+
+    @GetMapping("/top-risk")
+    public ResponseEntity<?> getTopRisk(
+            @RequestParam(required = false) String dimension,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            if (dimension == null || dimension.isBlank()) {
+                return ResponseEntity.ok(dashboardService.getTopRiskAllDimensions(limit));
+            }
+            return ResponseEntity.ok(dashboardService.getTopRisk(dimension, limit));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid top-risk request", e);
+        }
+    }
+
+    @GetMapping("/ip-fan-out")
+    public ResponseEntity<?> getIpFanOut(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(dashboardService.getIpFanOut(limit));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid ip-fan-out request", e);
+        }
+    }
+
+    @GetMapping("/reasons")
+    public ResponseEntity<?> getReasonCounts(@RequestParam(defaultValue = "24") int hours) {
+        try {
+            return ResponseEntity.ok(dashboardService.getReasonCounts(hours));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid reasons request", e);
+        }
+    }
+
+    @GetMapping("/pools")
+    public ResponseEntity<Map<String, Object>> getConnectionPools() {
+        return ResponseEntity.ok(poolMetrics.getStats());
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<Map<String, Object>> getOutbox() {
+        return ResponseEntity.ok(outboxRelay.getStats());
+    }
+
+    @GetMapping("/journal")
+    public ResponseEntity<Map<String, Object>> getJournal() {
+        return ResponseEntity.ok(journal.getStats());
+    }
+
+    @GetMapping("/slice")
+    public ResponseEntity<?> getSlice(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "false") boolean fraudOnly,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String channel,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount) {
+        try {
+            Map<String, String> filters = new HashMap<>();
+            filters.put("currency", currency);
+            filters.put("channel", channel);
+            filters.put("type", type);
+            filters.put("status", status);
+            filters.put("location", location);
+
+            return ResponseEntity.ok(dashboardService.getSlice(
+                    groupBy, filters, hours, fraudOnly, minAmount, maxAmount));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid slice request", e);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> badRequest(String error, IllegalArgumentException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", error);
+        errorResponse.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
     }
 }
@@ -1,12 +1,23 @@
 package com.example.transaction_api.controller;
 
+import com.example.transaction_api.archive.ArchiveStore;
+import com.example.transaction_api.cache.ResponseCache;
+import com.example.transaction_api.idempotency.TransactionInProgressException;
+import com.example.transaction_api.model.ReasonCode;
 import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionQuery;
+import com.example.transaction_api.service.TransactionSearchService;
 import com.example.transaction_api.service.TransactionService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,10 +26,24 @@ import java.util.Map;
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
-    private final TransactionService service;
+    private static final int MAX_SEARCH_LIMIT = 1000;
 
-    public TransactionController(TransactionService service) {
+    private final TransactionService service;
+    private final ResponseCache responseCache;
+    private final TransactionSearchService searchService;
+    private final ArchiveStore archiveStore;
+    private final int exportMaxRows;
+
+    public TransactionController(TransactionService service,
+                                 ResponseCache responseCache,
+                                 TransactionSearchService searchService,
+                                 ArchiveStore archiveStore,
+                                 @Value("${archive.export-max-rows:100000}") int exportMaxRows) {
         this.service = service;
+        this.responseCache = responseCache;
+        this.searchService = searchService;
+        this.archiveStore = archiveStore;
+        this.exportMaxRows = exportMaxRows;
     }
 
     @PostMapping
@@ -40,7 +65,6 @@ public class TransactionController {
             });
 
             errorResponse.put("error", "Validation failed");
-            errorResponse.put("status", 400);
             errorResponse.put("message", "Request validation errors");
             errorResponse.put("errors", fieldErrors);
 
@@ -48,15 +72,26 @@ public class TransactionController {
         }
 
         try {
-            service.processTransaction(transaction);
+            boolean processed = service.processTransaction(transaction);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Transaction saved successfully");
+            response.put("message", processed
+                    ? "Transaction saved successfully"
+                    : "Duplicate transaction; original decision returned");
+            response.put("duplicate", !processed);
+            response.put("id", transaction.getId());
             response.put("transactionId", transaction.getTransactionId());
             response.put("status", transaction.getStatus());
 
             return ResponseEntity.ok(response);
+        } catch (TransactionInProgressException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Transaction in progress");
+            errorResponse.put("status", 409);
+            errorResponse.put("message", e.getMessage());
+
+            return ResponseEntity.status(409).body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to process transaction");
@@ -69,29 +104,133 @@ public class TransactionController {
 
 
     @GetMapping
-    public ResponseEntity<?> getAllTransactions() {
-        return ResponseEntity.ok(service.getAllTransactions());
+    public ResponseEntity<byte[]> getAllTransactions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("transactions:all", service::getAllTransactions)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/fraud")
-    public ResponseEntity<List<Transaction>> getFraudTransactions() {
-        return ResponseEntity.ok(service.getFraudTransactions());
+    public ResponseEntity<byte[]> getFraudTransactions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("transactions:fraud", service::getFraudTransactions)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/success")
-    public ResponseEntity<List<Transaction>> getSuccessTransactions() {
-        return ResponseEntity.ok(service.getSuccessTransactions());
+    public ResponseEntity<byte[]> getSuccessTransactions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("transactions:success", service::getSuccessTransactions)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/failed")
-    public ResponseEntity<List<Transaction>> getFailedTransactions() {
-        return ResponseEntity.ok(service.getFailedTransactions());
+    public ResponseEntity<byte[]> getFailedTransactions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("transactions:failed", service::getFailedTransactions)
+                .toResponseEntity(ifNoneMatch);
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Transaction>> getPendingTransactions() {
-        return ResponseEntity.ok(service.getPendingTransactions());
+    public ResponseEntity<byte[]> getPendingTransactions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("transactions:pending", service::getPendingTransactions)
+                .toResponseEntity(ifNoneMatch);
     }
 
+    /* ================= SEARCH & EXPORT (HOT + ARCHIVE) ================= */
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            @RequestParam(required = false) String account,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean fraudOnly,
+            @RequestParam(required = false) String reasons,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+            }
+            return ResponseEntity.ok(searchService.search(toQuery(account, from, to, fraudOnly, reasons, limit)));
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid search request", e);
+        }
+    }
 
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTransactions(
+            @RequestParam(required = false) String account,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean fraudOnly,
+            @RequestParam(required = false) String reasons) {
+        try {
+            List<Transaction> rows = searchService.search(
+                    toQuery(account, from, to, fraudOnly, reasons, exportMaxRows));
+            StringBuilder csv = new StringBuilder(
+                    "transactionId,timestamp,amount,currency,transactionType,channel,senderAccount,"
+                            + "receiverAccount,ipAddress,location,status,fraudFlag,fraudReason,mlScore\n");
+            for (Transaction t : rows) {
+                csv.append(csvField(t.getTransactionId())).append(',')
+                        .append(t.getTimestamp()).append(',')
+                        .append(t.getAmount()).append(',')
+                        .append(csvField(t.getCurrency())).append(',')
+                        .append(csvField(t.getTransactionType())).append(',')
+                        .append(csvField(t.getChannel())).append(',')
+                        .append(csvField(t.getSenderAccount())).append(',')
+                        .append(csvField(t.getReceiverAccount())).append(',')
+                        .append(csvField(t.getIpAddress())).append(',')
+                        .append(csvField(t.getLocation())).append(',')
+                        .append(csvField(t.getStatus())).append(',')
+                        .append(t.getFraudFlag() != null ? t.getFraudFlag() : 0).append(',')
+                        .append(csvField(t.getFraudReason())).append(',')
+                        .append(t.getMlScore() != null ? t.getMlScore() : "").append('\n');
+            }
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"transactions-" + from + ".csv\"")
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .body(csv.toString());
+        } catch (IllegalArgumentException e) {
+            return badRequest("Invalid export request", e);
+        }
+    }
+
+    @GetMapping("/archive/stats")
+    public ResponseEntity<?> getArchiveStats() {
+        return ResponseEntity.ok(archiveStore.getStats());
+    }
+
+    // [from, to] as whole days; "to" defaults to today. reasons: comma-separated ReasonCode names (any of)
+    private static TransactionQuery toQuery(String account, LocalDate from, LocalDate to,
+                                            boolean fraudOnly, String reasons, int limit) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        String normalised = account == null || account.isBlank() ? null : account.trim();
+        long reasonMask = 0;
+        if (reasons != null && !reasons.isBlank()) {
+            for (String name : reasons.split(",")) {
+                reasonMask |= ReasonCode.parse(name).bit();
+            }
+        }
+        return new TransactionQuery(normalised, from.atStartOfDay(), lastDay.plusDays(1).atStartOfDay(),
+                fraudOnly, reasonMask, limit);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private ResponseEntity<Map<String, Object>> badRequest(String error, IllegalArgumentException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", error);
+        errorResponse.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
 }
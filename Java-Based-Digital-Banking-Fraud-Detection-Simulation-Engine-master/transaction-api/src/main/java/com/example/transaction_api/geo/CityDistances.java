@@ -0,0 +1,80 @@
+package com.example.transaction_api.geo;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Known transaction locations with a great-circle distance matrix
+ * computed once at class load, so the decision path only does an array read.
+ */
+final class CityDistances {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    // name, latitude, longitude
+    private static final Object[][] CITIES = {
+            {"Mumbai", 19.0760, 72.8777},
+            {"Delhi", 28.7041, 77.1025},
+            {"Bangalore", 12.9716, 77.5946},
+            {"Hyderabad", 17.3850, 78.4867},
+            {"Chennai", 13.0827, 80.2707},
+            {"Pune", 18.5204, 73.8567},
+            {"Kolkata", 22.5726, 88.3639},
+            {"Ahmedabad", 23.0225, 72.5714},
+            {"Jaipur", 26.9124, 75.7873},
+            {"Lucknow", 26.8467, 80.9462},
+            {"Kochi", 9.9312, 76.2673},
+            {"Chandigarh", 30.7333, 76.7794},
+    };
+
+    private static final Map<String, Integer> INDEX = new HashMap<>();
+    private static final float[][] DISTANCE_KM = new float[CITIES.length][CITIES.length];
+
+    static {
+        for (int i = 0; i < CITIES.length; i++) {
+            INDEX.put(((String) CITIES[i][0]).toLowerCase(Locale.ROOT), i);
+        }
+        INDEX.put("bengaluru", INDEX.get("bangalore"));
+        INDEX.put("new delhi", INDEX.get("delhi"));
+
+        for (int i = 0; i < CITIES.length; i++) {
+            for (int j = 0; j < CITIES.length; j++) {
+                DISTANCE_KM[i][j] = (float) haversine(
+                        (double) CITIES[i][1], (double) CITIES[i][2],
+                        (double) CITIES[j][1], (double) CITIES[j][2]);
+            }
+        }
+    }
+
+    private CityDistances() {
+    }
+
+    /**
+     * @return the city index, or -1 for an unknown location
+     */
+    static int indexOf(String location) {
+        if (location == null) {
+            return -1;
+        }
+        Integer index = INDEX.get(location.trim().toLowerCase(Locale.ROOT));
+        return index != null ? index : -1;
+    }
+
+    static double distanceKm(int from, int to) {
+        return DISTANCE_KM[from][to];
+    }
+
+    static String nameOf(int index) {
+        return (String) CITIES[index][0];
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.transaction_api.geo;
+
+/**
+ * Movement between an account's previous and current transaction location.
+ */
+public class GeoVelocity {
+
+    public static final GeoVelocity NONE = new GeoVelocity(null, 0, 0, 0, false);
+
+    private final String previousLocation;
+    private final double distanceKm;
+    private final double elapsedMinutes;
+    private final double speedKmh;
+    private final boolean impossible;
+
+    GeoVelocity(String previousLocation, double distanceKm, double elapsedMinutes,
+                double speedKmh, boolean impossible) {
+        this.previousLocation = previousLocation;
+        this.distanceKm = distanceKm;
+        this.elapsedMinutes = elapsedMinutes;
+        this.speedKmh = speedKmh;
+        this.impossible = impossible;
+    }
+
+    public String getPreviousLocation() {
+        return previousLocation;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public double getElapsedMinutes() {
+        return elapsedMinutes;
+    }
+
+    public double getSpeedKmh() {
+        return speedKmh;
+    }
+
+    public boolean isImpossible() {
+        return impossible;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.transaction_api.geo;
+
+import com.example.transaction_api.sketch.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Impossible-travel check: remembers each sender's last location and time
+ * and derives the speed needed to get from there to the current location.
+ * State is an in-memory LRU with TTL, so no database lookup is needed.
+ */
+@Component
+public class GeoVelocityService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // Shorter gaps are clamped so that near-simultaneous events don't divide by ~0
+    private static final double MIN_ELAPSED_HOURS = 1.0 / 60.0;
+
+    private final LastSeenCache lastSeen;
+    private final double maxSpeedKmh;
+
+    public GeoVelocityService(@Value("${geo.max-accounts:2000000}") int maxAccounts,
+            @Value("${geo.ttl-hours:24}") long ttlHours,
+            @Value("${geo.max-speed-kmh:900}") double maxSpeedKmh) {
+        this.lastSeen = new LastSeenCache(maxAccounts, ttlHours * 3_600_000L, 64);
+        this.maxSpeedKmh = maxSpeedKmh;
+    }
+
+    /**
+     * Records the account's current location and compares it with the last one.
+     */
+    public GeoVelocity check(String account, String location, LocalDateTime timestamp) {
+        int city = CityDistances.indexOf(location);
+        if (account == null || city < 0) {
+            return GeoVelocity.NONE;
+        }
+
+        long now = System.currentTimeMillis();
+        long eventMillis = timestamp != null ? timestamp.atZone(ZONE).toInstant().toEpochMilli() : now;
+        long previous = lastSeen.put(Hashing.hash64(account), (eventMillis << 8) | city, now);
+        if (previous == LastSeenCache.ABSENT) {
+            return GeoVelocity.NONE;
+        }
+
+        int previousCity = (int) (previous & 0xFF);
+        if (previousCity == city) {
+            return GeoVelocity.NONE;
+        }
+
+        long previousMillis = previous >> 8;
+        double distanceKm = CityDistances.distanceKm(previousCity, city);
+        double elapsedHours = Math.abs(eventMillis - previousMillis) / 3_600_000.0;
+        double speedKmh = distanceKm / Math.max(elapsedHours, MIN_ELAPSED_HOURS);
+
+        return new GeoVelocity(
+                CityDistances.nameOf(previousCity),
+                distanceKm,
+                elapsedHours * 60.0,
+                speedKmh,
+                speedKmh > maxSpeedKmh);
+    }
+
+    public int getTrackedAccounts() {
+        return lastSeen.size();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.transaction_api.geo;
+
+/**
+ * Bounded LRU map from a 64-bit account hash to a packed long value,
+ * with entries expiring after a TTL.
+ *
+ * Striped into segments; each segment stores entries in primitive arrays
+ * (key, value, last-write time, LRU prev/next links) and finds them through
+ * an open-addressing index, so an entry costs ~36 bytes instead of several
+ * boxed objects. When a segment is full the least recently used entry is
+ * reused.
+ */
+class LastSeenCache {
+
+    static final long ABSENT = Long.MIN_VALUE;
+
+    private final Segment[] segments;
+    private final long ttlMillis;
+
+    LastSeenCache(int maxEntries, long ttlMillis, int segmentCount) {
+        this.ttlMillis = ttlMillis;
+        this.segments = new Segment[segmentCount];
+        int perSegment = Math.max(16, (maxEntries + segmentCount - 1) / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Stores the value and returns the previous live value, or {@link #ABSENT}.
+     */
+    long put(long key, long value, long nowMillis) {
+        Segment segment = segments[(int) ((key >>> 32) & 0x7fffffff) % segments.length];
+        synchronized (segment) {
+            return segment.put(key, value, nowMillis, ttlMillis);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private static final class Segment {
+
+        private static final int NONE = -1;
+
+        final long[] keys;
+        final long[] values;
+        final long[] writtenAt;
+        final int[] prev;
+        final int[] next;
+        final int[] index;      // slot -> entry id + 1, 0 = empty
+        final int indexMask;
+        int head = NONE;        // most recently used
+        int tail = NONE;        // least recently used
+        int size;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            writtenAt = new long[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            index = new int[slots];
+            indexMask = slots - 1;
+        }
+
+        long put(long key, long value, long now, long ttl) {
+            int slot = find(key);
+            if (slot >= 0) {
+                int entry = index[slot] - 1;
+                long previous = now - writtenAt[entry] <= ttl ? values[entry] : ABSENT;
+                values[entry] = value;
+                writtenAt[entry] = now;
+                moveToHead(entry);
+                return previous;
+            }
+
+            int entry;
+            if (size < keys.length) {
+                entry = size++;
+            } else {
+                entry = tail; // evict least recently used
+                unlink(entry);
+                removeFromIndex(keys[entry]);
+            }
+            keys[entry] = key;
+            values[entry] = value;
+            writtenAt[entry] = now;
+            linkAtHead(entry);
+            insertIntoIndex(key, entry);
+            return ABSENT;
+        }
+
+        private int find(long key) {
+            int slot = (int) mix(key) & indexMask;
+            while (index[slot] != 0) {
+                if (keys[index[slot] - 1] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & indexMask;
+            }
+            return -1;
+        }
+
+        private void insertIntoIndex(long key, int entry) {
+            int slot = (int) mix(key) & indexMask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & indexMask;
+            }
+            index[slot] = entry + 1;
+        }
+
+        // Linear-probing delete with backward shift, so no tombstones are needed
+        private void removeFromIndex(long key) {
+            int hole = find(key);
+            if (hole < 0) {
+                return;
+            }
+            index[hole] = 0;
+            int slot = (hole + 1) & indexMask;
+            while (index[slot] != 0) {
+                int home = (int) mix(keys[index[slot] - 1]) & indexMask;
+                boolean movable = hole <= slot
+                        ? home <= hole || home > slot
+                        : home <= hole && home > slot;
+                if (movable) {
+                    index[hole] = index[slot];
+                    index[slot] = 0;
+                    hole = slot;
+                }
+                slot = (slot + 1) & indexMask;
+            }
+        }
+
+        private void moveToHead(int entry) {
+            if (head != entry) {
+                unlink(entry);
+                linkAtHead(entry);
+            }
+        }
+
+        private void linkAtHead(int entry) {
+            prev[entry] = NONE;
+            next[entry] = head;
+            if (head != NONE) {
+                prev[head] = entry;
+            }
+            head = entry;
+            if (tail == NONE) {
+                tail = entry;
+            }
+        }
+
+        private void unlink(int entry) {
+            int p = prev[entry];
+            int n = next[entry];
+            if (p != NONE) {
+                next[p] = n;
+            } else {
+                head = n;
+            }
+            if (n != NONE) {
+                prev[n] = p;
+            } else {
+                tail = p;
+            }
+        }
+
+        private static long mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return key;
+        }
+    }
+}
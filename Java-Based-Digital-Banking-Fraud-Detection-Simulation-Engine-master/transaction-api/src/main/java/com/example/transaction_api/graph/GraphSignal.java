@@ -0,0 +1,50 @@
+package com.example.transaction_api.graph;
+
+/**
+ * Graph features for one transaction edge, computed at insert time.
+ */
+public class GraphSignal {
+
+    public static final GraphSignal NONE = new GraphSignal(0, 0, 0, false, false);
+
+    private final int receiverFanIn;
+    private final int senderFanOut;
+    private final int cycleLength;
+    private final boolean muleFanIn;
+    private final boolean highFanOut;
+
+    GraphSignal(int receiverFanIn, int senderFanOut, int cycleLength, boolean muleFanIn, boolean highFanOut) {
+        this.receiverFanIn = receiverFanIn;
+        this.senderFanOut = senderFanOut;
+        this.cycleLength = cycleLength;
+        this.muleFanIn = muleFanIn;
+        this.highFanOut = highFanOut;
+    }
+
+    /** Distinct senders that paid the receiver within the window. */
+    public int getReceiverFanIn() {
+        return receiverFanIn;
+    }
+
+    /** Distinct receivers the sender paid within the window. */
+    public int getSenderFanOut() {
+        return senderFanOut;
+    }
+
+    /** Length of the shortest cycle closed by this edge (2 or 3), or 0. */
+    public int getCycleLength() {
+        return cycleLength;
+    }
+
+    public boolean isCycle() {
+        return cycleLength > 0;
+    }
+
+    public boolean isMuleFanIn() {
+        return muleFanIn;
+    }
+
+    public boolean isHighFanOut() {
+        return highFanOut;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.transaction_api.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental sender -> receiver graph used for mule-ring signals.
+ *
+ * Accounts are mapped to int ids and every node keeps primitive out/in
+ * adjacency arrays of (neighbour id, last-seen time). Edges older than the
+ * decay window are treated as gone and are compacted away lazily, so
+ * fan-in/fan-out are always "distinct counterparties in the window".
+ * Adding an edge also checks whether it closes a 2- or 3-cycle
+ * (A->B->A, A->B->C->A) using only the adjacency of the two endpoints.
+ */
+@Component
+public class TransactionGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionGraph.class);
+
+    private final long windowMillis;
+    private final int maxNodes;
+    private final int maxDegree;
+    private final int fanInThreshold;
+    private final int fanOutThreshold;
+    private final int pruneBatch;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[1024];
+    private Adjacency[] out = new Adjacency[1024];
+    private Adjacency[] in = new Adjacency[1024];
+    private int[] freeIds = new int[64];
+    private int freeCount;
+    private int nextId;
+    private boolean capacityWarned;
+
+    public TransactionGraph(@Value("${graph.window-minutes:1440}") long windowMinutes,
+            @Value("${graph.max-nodes:1000000}") int maxNodes,
+            @Value("${graph.max-degree:64}") int maxDegree,
+            @Value("${graph.fan-in-threshold:10}") int fanInThreshold,
+            @Value("${graph.fan-out-threshold:10}") int fanOutThreshold,
+            @Value("${graph.prune-batch:4096}") int pruneBatch) {
+        this.windowMillis = windowMinutes * 60_000L;
+        this.maxNodes = maxNodes;
+        this.maxDegree = maxDegree;
+        this.fanInThreshold = fanInThreshold;
+        this.fanOutThreshold = fanOutThreshold;
+        this.pruneBatch = pruneBatch;
+    }
+
+    /**
+     * Adds the edge sender -> receiver and returns the graph signals for it.
+     */
+    public GraphSignal addTransfer(String sender, String receiver) {
+        if (sender == null || receiver == null || sender.equals(receiver)) {
+            return GraphSignal.NONE;
+        }
+        long now = System.currentTimeMillis();
+        long cutoff = now - windowMillis;
+
+        synchronized (this) {
+            int s = idFor(sender);
+            int r = idFor(receiver);
+            if (s < 0 || r < 0) {
+                return GraphSignal.NONE;
+            }
+
+            // Keep both directions symmetric when a full list drops a neighbour
+            int evictedReceiver = out[s].touch(r, now, cutoff, maxDegree);
+            if (evictedReceiver >= 0) {
+                in[evictedReceiver].remove(s);
+            }
+            int evictedSender = in[r].touch(s, now, cutoff, maxDegree);
+            if (evictedSender >= 0) {
+                out[evictedSender].remove(r);
+            }
+
+            int fanIn = in[r].size;
+            int fanOut = out[s].size;
+            int cycle = shortestCycle(s, r, cutoff);
+
+            return new GraphSignal(fanIn, fanOut, cycle,
+                    fanIn >= fanInThreshold,
+                    fanOut >= fanOutThreshold);
+        }
+    }
+
+    public synchronized int getNodeCount() {
+        return ids.size();
+    }
+
+    /**
+     * Compacts expired edges and recycles ids of nodes without live edges.
+     *
+     * Walks the ids in batches of {@code graph.prune-batch}, taking the lock
+     * per batch, so addTransfer never waits behind a pass over the whole
+     * graph.
+     */
+    @Scheduled(fixedDelayString = "${graph.prune-interval-ms:60000}")
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        int released = 0;
+        int from = 0;
+        while (true) {
+            synchronized (this) {
+                int to = Math.min(from + pruneBatch, nextId);
+                released += pruneRange(from, to, cutoff);
+                if (to >= nextId) {
+                    break;
+                }
+                from = to;
+            }
+        }
+        if (released > 0) {
+            logger.debug("Graph prune released {} nodes, {} remain", released, getNodeCount());
+        }
+    }
+
+    private int pruneRange(int from, int to, long cutoff) {
+        int released = 0;
+        for (int id = from; id < to; id++) {
+            if (names[id] == null) {
+                continue;
+            }
+            out[id].compact(cutoff);
+            in[id].compact(cutoff);
+            if (out[id].size == 0 && in[id].size == 0) {
+                release(id);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    // Edge s -> r was just added: is there a live path r -> s or r -> x -> s?
+    private int shortestCycle(int s, int r, long cutoff) {
+        Adjacency fromReceiver = out[r];
+        fromReceiver.compact(cutoff);
+        if (fromReceiver.contains(s)) {
+            return 2;
+        }
+        Adjacency intoSender = in[s];
+        intoSender.compact(cutoff);
+        for (int i = 0; i < fromReceiver.size; i++) {
+            if (intoSender.contains(fromReceiver.nodes[i])) {
+                return 3;
+            }
+        }
+        return 0;
+    }
+
+    private int idFor(String account) {
+        Integer existing = ids.get(account);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else if (nextId < maxNodes) {
+            id = nextId++;
+            ensureCapacity(id + 1);
+        } else {
+            if (!capacityWarned) {
+                logger.warn("Transaction graph is full ({} nodes); new accounts are not tracked until pruning", maxNodes);
+                capacityWarned = true;
+            }
+            return -1;
+        }
+
+        names[id] = account;
+        if (out[id] == null) {
+            out[id] = new Adjacency();
+            in[id] = new Adjacency();
+        }
+        ids.put(account, id);
+        return id;
+    }
+
+    private void release(int id) {
+        ids.remove(names[id]);
+        names[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+        capacityWarned = false;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= names.length) {
+            return;
+        }
+        int capacity = Math.min(Math.max(required, names.length * 2), maxNodes);
+        names = Arrays.copyOf(names, capacity);
+        out = Arrays.copyOf(out, capacity);
+        in = Arrays.copyOf(in, capacity);
+    }
+
+    /**
+     * Primitive adjacency list: neighbour ids with the time the edge was last seen.
+     */
+    private static final class Adjacency {
+
+        int[] nodes = new int[4];
+        long[] times = new long[4];
+        int size;
+
+        /**
+         * Adds or refreshes the neighbour.
+         *
+         * @return the neighbour evicted to make room, or -1
+         */
+        int touch(int node, long now, long cutoff, int maxDegree) {
+            compact(cutoff);
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    times[i] = now;
+                    return -1;
+                }
+            }
+            if (size == maxDegree) {
+                // Full: replace the least recently seen neighbour
+                int oldest = 0;
+                for (int i = 1; i < size; i++) {
+                    if (times[i] < times[oldest]) {
+                        oldest = i;
+                    }
+                }
+                int evicted = nodes[oldest];
+                nodes[oldest] = node;
+                times[oldest] = now;
+                return evicted;
+            }
+            if (size == nodes.length) {
+                int capacity = Math.min(nodes.length * 2, maxDegree);
+                nodes = Arrays.copyOf(nodes, capacity);
+                times = Arrays.copyOf(times, capacity);
+            }
+            nodes[size] = node;
+            times[size] = now;
+            size++;
+            return -1;
+        }
+
+        void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    times[i] = times[size];
+                    return;
+                }
+            }
+        }
+
+        boolean contains(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Swap-remove edges last seen before the cutoff
+        void compact(long cutoff) {
+            int i = 0;
+            while (i < size) {
+                if (times[i] < cutoff) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    times[i] = times[size];
+                } else {
+                    i++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.transaction_api.heavyhitter;
+
+import com.example.transaction_api.model.RiskHitter;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.service.TransactionObserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Live leaderboard of senders, IPs and receivers with the most flagged
+ * transactions over a sliding window (last hour by default).
+ *
+ * The window is split into slices, each with its own Space-Saving summary
+ * of fixed capacity. A slice is cleared when the ring wraps around to it,
+ * and queries merge the live slices, so memory never grows with traffic.
+ */
+@Component
+public class HeavyHitterTracker implements TransactionObserver {
+
+    public enum Dimension {
+        SENDER, IP, RECEIVER;
+
+        public static Dimension fromParameter(String value) {
+            try {
+                return Dimension.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unsupported dimension '" + value + "'. Use sender, ip or receiver");
+            }
+        }
+    }
+
+    private final Map<Dimension, SlidingWindow> windows = new EnumMap<>(Dimension.class);
+
+    public HeavyHitterTracker(@Value("${heavy-hitter.window-minutes:60}") int windowMinutes,
+            @Value("${heavy-hitter.slices:12}") int slices,
+            @Value("${heavy-hitter.capacity:256}") int capacity) {
+        long sliceMillis = windowMinutes * 60_000L / slices;
+        for (Dimension dimension : Dimension.values()) {
+            windows.put(dimension, new SlidingWindow(slices, sliceMillis, capacity));
+        }
+    }
+
+    @Override
+    public void onTransactionDecided(Transaction txn, long latencyNanos) {
+        if (txn.getFraudFlag() == null || txn.getFraudFlag() != 1) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        offer(Dimension.SENDER, txn.getSenderAccount(), now);
+        offer(Dimension.IP, txn.getIpAddress(), now);
+        offer(Dimension.RECEIVER, txn.getReceiverAccount(), now);
+    }
+
+    public List<RiskHitter> top(Dimension dimension, int limit) {
+        return windows.get(dimension).top(dimension, limit, System.currentTimeMillis());
+    }
+
+    private void offer(Dimension dimension, String key, long now) {
+        if (key != null && !key.isEmpty()) {
+            windows.get(dimension).offer(key, now);
+        }
+    }
+
+    private static final class SlidingWindow {
+
+        private final long sliceMillis;
+        private final SpaceSaving[] slices;
+        private final long[] epochs;
+
+        SlidingWindow(int sliceCount, long sliceMillis, int capacity) {
+            this.sliceMillis = sliceMillis;
+            this.slices = new SpaceSaving[sliceCount];
+            this.epochs = new long[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                slices[i] = new SpaceSaving(capacity);
+                epochs[i] = -1L;
+            }
+        }
+
+        void offer(String key, long now) {
+            long epoch = now / sliceMillis;
+            int index = (int) (epoch % slices.length);
+            synchronized (this) {
+                if (epochs[index] != epoch) {
+                    slices[index].clear();
+                    epochs[index] = epoch;
+                }
+            }
+            slices[index].offer(key);
+        }
+
+        List<RiskHitter> top(Dimension dimension, int limit, long now) {
+            long oldestEpoch = now / sliceMillis - slices.length + 1;
+            Map<String, long[]> merged = new HashMap<>();
+
+            for (int i = 0; i < slices.length; i++) {
+                long epoch;
+                synchronized (this) {
+                    epoch = epochs[i];
+                }
+                if (epoch < oldestEpoch) {
+                    continue;
+                }
+                slices[i].forEach((key, counter) -> {
+                    long[] total = merged.computeIfAbsent(key, k -> new long[2]);
+                    total[0] += counter[0];
+                    total[1] += counter[1];
+                });
+            }
+
+            List<RiskHitter> result = new ArrayList<>(merged.size());
+            String name = dimension.name().toLowerCase(Locale.ROOT);
+            merged.forEach((key, total) -> result.add(new RiskHitter(name, key, total[0], total[1])));
+            result.sort((a, b) -> Long.compare(b.getFlaggedCount(), a.getFlaggedCount()));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.transaction_api.heavyhitter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Space-Saving summary (Metwally et al.): tracks at most {@code capacity}
+ * keys. When a new key arrives and the summary is full, it replaces the key
+ * with the smallest count and inherits that count as its error bound, so a
+ * key's true count lies in [count - error, count].
+ *
+ * Counters live in the paper's stream-summary: a list of buckets in ascending
+ * count order, each holding the counters that share that count. Incrementing
+ * moves a counter to the neighbouring bucket and eviction takes from the
+ * head bucket, so both are O(1) regardless of capacity.
+ */
+class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private Bucket minBucket;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void offer(String key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, 0L);
+            counters.put(key, counter);
+            attach(counter, bucketAfter(null, 1L));
+            return;
+        }
+
+        // Evict a counter from the minimum bucket; the newcomer inherits its count as error
+        Counter victim = minBucket.first;
+        counters.remove(victim.key);
+        victim.key = key;
+        victim.error = minBucket.count;
+        counters.put(key, victim);
+        increment(victim);
+    }
+
+    synchronized void clear() {
+        counters.clear();
+        minBucket = null;
+    }
+
+    /**
+     * Visits every tracked key with its count and error.
+     */
+    synchronized void forEach(BiConsumer<String, long[]> visitor) {
+        for (Bucket bucket = minBucket; bucket != null; bucket = bucket.next) {
+            for (Counter counter = bucket.first; counter != null; counter = counter.next) {
+                visitor.accept(counter.key, new long[]{bucket.count, counter.error});
+            }
+        }
+    }
+
+    private void increment(Counter counter) {
+        Bucket current = counter.bucket;
+        long target = current.count + 1;
+        Bucket next = current.next != null && current.next.count == target
+                ? current.next
+                : bucketAfter(current, target);
+        detach(counter);
+        attach(counter, next);
+    }
+
+    /** Inserts a new bucket after {@code previous} (or at the head when null). */
+    private Bucket bucketAfter(Bucket previous, long count) {
+        if (previous == null && minBucket != null && minBucket.count == count) {
+            return minBucket;
+        }
+        Bucket bucket = new Bucket(count);
+        bucket.prev = previous;
+        bucket.next = previous == null ? minBucket : previous.next;
+        if (bucket.next != null) {
+            bucket.next.prev = bucket;
+        }
+        if (previous == null) {
+            minBucket = bucket;
+        } else {
+            previous.next = bucket;
+        }
+        return bucket;
+    }
+
+    private void attach(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.prev = null;
+        counter.next = bucket.first;
+        if (bucket.first != null) {
+            bucket.first.prev = counter;
+        }
+        bucket.first = counter;
+    }
+
+    private void detach(Counter counter) {
+        Bucket bucket = counter.bucket;
+        if (counter.prev != null) {
+            counter.prev.next = counter.next;
+        } else {
+            bucket.first = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.prev = counter.prev;
+        }
+        counter.bucket = null;
+        counter.prev = null;
+        counter.next = null;
+
+        if (bucket.first == null) {
+            if (bucket.prev != null) {
+                bucket.prev.next = bucket.next;
+            } else {
+                minBucket = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.prev = bucket.prev;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        final long count;
+        Bucket prev;
+        Bucket next;
+        Counter first;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    private static final class Counter {
+        String key;
+        long error;
+        Bucket bucket;
+        Counter prev;
+        Counter next;
+
+        Counter(String key, long error) {
+            this.key = key;
+            this.error = error;
+        }
+    }
+}
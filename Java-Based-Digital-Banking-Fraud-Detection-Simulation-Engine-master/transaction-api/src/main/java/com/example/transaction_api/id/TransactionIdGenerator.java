@@ -0,0 +1,85 @@
+package com.example.transaction_api.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs for the TRANSACTIONS primary key:
+ * [41 bits millis since 2024-01-01][10 bits node][12 bits sequence].
+ *
+ * IDs from one node strictly increase, and IDs from all nodes increase
+ * with time, so the primary-key index only grows at its right edge.
+ * Generation is a single CAS on (millis, sequence) with no lock. When a
+ * millisecond's 4096 sequence values run out, or the clock steps back, the
+ * generator carries on from the last value instead of waiting, so IDs
+ * briefly run ahead of the wall clock.
+ *
+ * Each instance needs its own transaction-id.node-id (0-1023). When it is
+ * unset the node is derived from host name and process ID, which is fine
+ * for a handful of instances but can collide.
+ */
+@Component
+public class TransactionIdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIdGenerator.class);
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+
+    // (millis since EPOCH_MILLIS << SEQUENCE_BITS) | sequence, of the last ID issued
+    private final AtomicLong last = new AtomicLong();
+
+    public TransactionIdGenerator(@Value("${transaction-id.node-id:-1}") long nodeId) {
+        if (nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("transaction-id.node-id must be between 0 and " + MAX_NODE);
+        }
+        this.node = nodeId >= 0 ? nodeId : derivedNodeId();
+        if (nodeId < 0) {
+            logger.warn("transaction-id.node-id not set; using derived node {}", node);
+        }
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = last.get();
+            long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // A full sequence carries into the next millisecond
+            long next = Math.max(now, previous + 1);
+            if (last.compareAndSet(previous, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | (node << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return node;
+    }
+
+    /** Epoch millis at which the ID was generated. */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    private static long derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return ((host + ":" + ProcessHandle.current().pid()).hashCode() & 0x7fffffff) % (MAX_NODE + 1);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.transaction_api.idempotency;
+
+import com.example.transaction_api.journal.JournalBatch;
+import com.example.transaction_api.journal.TransactionJournal;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionDecision;
+import com.example.transaction_api.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects resent transactions before any scoring work is done.
+ *
+ * Recent transaction IDs map to the decision made for them; an ID that is
+ * still being processed maps to a pending future, so a retry racing the
+ * original waits for it instead of scoring twice. The wait is bounded; past
+ * it the retry fails with {@link TransactionInProgressException}. IDs not held in memory
+ * fall back to a lookup by TRANSACTION_ID.
+ *
+ * With the journal on, a decided transaction only reaches TRANSACTIONS once
+ * {@link com.example.transaction_api.journal.JournalReplicator} has copied
+ * it, and the database lookup cannot see it before then. Such IDs are
+ * therefore never evicted until {@link #replicated} is called for them,
+ * and on startup the unreplicated journal tail is loaded back into memory.
+ * The journal is local to each instance, so a resend routed to a different
+ * instance within the replication lag is still scored again; route by
+ * transaction ID, or turn the journal off, where that matters.
+ *
+ * Usage: {@link #claim} returns the original decision for a duplicate, or
+ * null when the caller owns the ID and must then call {@link #complete}
+ * or {@link #abandon}.
+ */
+@Component
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final TransactionRepository repository;
+    private final TransactionJournal journal;
+    private final int maxEntries;
+    private final boolean databaseFallback;
+    private final long waitTimeoutMillis;
+
+    private final Map<String, CompletableFuture<TransactionDecision>> recent = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Decided IDs whose journal records are not in TRANSACTIONS yet
+    private final Set<String> unreplicated = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+
+    public IdempotencyService(TransactionRepository repository,
+            TransactionJournal journal,
+            @Value("${idempotency.max-entries:500000}") int maxEntries,
+            @Value("${idempotency.database-fallback:true}") boolean databaseFallback,
+            @Value("${idempotency.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        this.repository = repository;
+        this.journal = journal;
+        this.maxEntries = maxEntries;
+        this.databaseFallback = databaseFallback;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * Loads the decisions of journaled transactions that were not yet
+     * replicated when the application stopped. Runs before the replicator
+     * is scheduled, so none of them can be committed meanwhile.
+     */
+    @PostConstruct
+    public void loadUnreplicated() {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        int loaded = 0;
+        long offset = journal.getCheckpoint();
+        while (offset < journal.getWriteOffset()) {
+            JournalBatch batch = journal.read(offset, LOAD_BATCH_SIZE);
+            for (Transaction t : batch.getRecords()) {
+                String transactionId = t.getTransactionId();
+                CompletableFuture<TransactionDecision> decided =
+                        CompletableFuture.completedFuture(TransactionDecision.of(t));
+                if (recent.putIfAbsent(transactionId, decided) == null) {
+                    unreplicated.add(transactionId);
+                    track(transactionId);
+                    loaded++;
+                }
+            }
+            offset = batch.getNextOffset();
+        }
+        if (loaded > 0) {
+            logger.info("Loaded {} unreplicated transaction IDs from the journal", loaded);
+        }
+    }
+
+    public TransactionDecision claim(String transactionId) {
+        CompletableFuture<TransactionDecision> mine = new CompletableFuture<>();
+        CompletableFuture<TransactionDecision> existing = recent.putIfAbsent(transactionId, mine);
+        if (existing != null) {
+            memoryHits.incrementAndGet();
+            try {
+                return existing.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                // The original attempt failed; let this retry take over
+                recent.remove(transactionId, existing);
+                return claim(transactionId);
+            } catch (TimeoutException e) {
+                throw new TransactionInProgressException(transactionId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransactionInProgressException(transactionId);
+            }
+        }
+        track(transactionId);
+
+        if (databaseFallback) {
+            TransactionDecision stored;
+            try {
+                stored = repository.findDecision(transactionId);
+            } catch (RuntimeException e) {
+                abandon(transactionId, e);
+                throw e;
+            }
+            if (stored != null) {
+                databaseHits.incrementAndGet();
+                mine.complete(stored);
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    public void complete(Transaction txn) {
+        CompletableFuture<TransactionDecision> pending = recent.get(txn.getTransactionId());
+        if (pending != null) {
+            if (journal.isEnabled()) {
+                // Before the future completes, so eviction never sees it decided but unpinned
+                unreplicated.add(txn.getTransactionId());
+            }
+            pending.complete(TransactionDecision.of(txn));
+        }
+    }
+
+    /** Called once the journal records of these transactions are committed to TRANSACTIONS. */
+    public void replicated(List<Transaction> transactions) {
+        for (Transaction t : transactions) {
+            unreplicated.remove(t.getTransactionId());
+        }
+    }
+
+    public void abandon(String transactionId, Throwable cause) {
+        CompletableFuture<TransactionDecision> pending = recent.remove(transactionId);
+        if (pending != null) {
+            pending.completeExceptionally(cause);
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDatabaseHits() {
+        return databaseHits.get();
+    }
+
+    public int size() {
+        return recent.size();
+    }
+
+    public int getUnreplicated() {
+        return unreplicated.size();
+    }
+
+    private void track(String transactionId) {
+        insertionOrder.add(transactionId);
+        if (size.incrementAndGet() <= maxEntries) {
+            return;
+        }
+        // Drop the oldest decided and replicated IDs; anything older is answered by the database
+        while (size.get() > maxEntries) {
+            String oldest = insertionOrder.peek();
+            if (oldest == null) {
+                break;
+            }
+            CompletableFuture<TransactionDecision> entry = recent.get(oldest);
+            if (entry != null && (!entry.isDone() || unreplicated.contains(oldest))) {
+                // Still being scored, or not in the database yet; keep it (and the
+                // order behind it) and try again on a later insert
+                break;
+            }
+            if (!insertionOrder.remove(oldest)) {
+                continue; // evicted by a concurrent insert
+            }
+            size.decrementAndGet();
+            if (entry != null) {
+                recent.remove(oldest, entry);
+            }
+        }
+    }
+}
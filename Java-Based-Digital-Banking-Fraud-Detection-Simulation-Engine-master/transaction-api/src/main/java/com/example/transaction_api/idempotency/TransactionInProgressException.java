@@ -0,0 +1,12 @@
+package com.example.transaction_api.idempotency;
+
+/**
+ * A retry waited longer than {@code idempotency.wait-timeout-ms} for the
+ * original attempt of the same transaction ID, which still owns it.
+ */
+public class TransactionInProgressException extends RuntimeException {
+
+    public TransactionInProgressException(String transactionId) {
+        super("Transaction " + transactionId + " is still being processed; retry later");
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.transaction_api.ipreputation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable path-compressed binary (Patricia) trie over 128-bit keys for
+ * matching an address against CIDR ranges.
+ *
+ * Built once through {@link Builder}, then flattened into parallel
+ * primitive arrays so that a lookup is a short walk over array indexes
+ * without allocation.
+ */
+final class CidrTrie {
+
+    private final long[] high;
+    private final long[] low;
+    private final int[] prefixLength;
+    private final int[] zeroChild;
+    private final int[] oneChild;
+    private final byte[] category;
+    private final int ranges;
+
+    private CidrTrie(long[] high, long[] low, int[] prefixLength, int[] zeroChild, int[] oneChild,
+                     byte[] category, int ranges) {
+        this.high = high;
+        this.low = low;
+        this.prefixLength = prefixLength;
+        this.zeroChild = zeroChild;
+        this.oneChild = oneChild;
+        this.category = category;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Walks every range containing the key (shortest to longest prefix).
+     *
+     * @return the highest category code among the matching ranges, or -1
+     */
+    int lookup(long keyHigh, long keyLow) {
+        int best = category[0];
+        int node = 0;
+        while (true) {
+            int length = prefixLength[node];
+            if (length == 128) {
+                return best;
+            }
+            int child = bit(keyHigh, keyLow, length) == 0 ? zeroChild[node] : oneChild[node];
+            if (child < 0 || !matches(keyHigh, keyLow, high[child], low[child], prefixLength[child])) {
+                return best;
+            }
+            if (category[child] > best) {
+                best = category[child];
+            }
+            node = child;
+        }
+    }
+
+    int getRangeCount() {
+        return ranges;
+    }
+
+    int getNodeCount() {
+        return category.length;
+    }
+
+    static int bit(long keyHigh, long keyLow, int index) {
+        return index < 64
+                ? (int) (keyHigh >>> (63 - index)) & 1
+                : (int) (keyLow >>> (127 - index)) & 1;
+    }
+
+    static long maskHigh(int length) {
+        return length <= 0 ? 0L : length >= 64 ? -1L : -1L << (64 - length);
+    }
+
+    static long maskLow(int length) {
+        return length <= 64 ? 0L : length >= 128 ? -1L : -1L << (128 - length);
+    }
+
+    private static boolean matches(long keyHigh, long keyLow, long nodeHigh, long nodeLow, int length) {
+        return ((keyHigh ^ nodeHigh) & maskHigh(length)) == 0
+                && ((keyLow ^ nodeLow) & maskLow(length)) == 0;
+    }
+
+    private static int commonPrefix(long aHigh, long aLow, long bHigh, long bLow) {
+        long diffHigh = aHigh ^ bHigh;
+        if (diffHigh != 0) {
+            return Long.numberOfLeadingZeros(diffHigh);
+        }
+        return 64 + Long.numberOfLeadingZeros(aLow ^ bLow);
+    }
+
+    /**
+     * Mutable trie used while loading lists; {@link #build()} flattens it.
+     */
+    static final class Builder {
+
+        private static final class Node {
+            final long high;
+            final long low;
+            final int length;
+            int category = -1;
+            Node zero;
+            Node one;
+
+            Node(long high, long low, int length) {
+                this.high = high & maskHigh(length);
+                this.low = low & maskLow(length);
+                this.length = length;
+            }
+
+            Node child(int bit) {
+                return bit == 0 ? zero : one;
+            }
+
+            void setChild(int bit, Node node) {
+                if (bit == 0) {
+                    zero = node;
+                } else {
+                    one = node;
+                }
+            }
+        }
+
+        private final Node root = new Node(0, 0, 0);
+        private int ranges;
+
+        void insert(long keyHigh, long keyLow, int length, int categoryCode) {
+            ranges++;
+            if (length == 0) {
+                root.category = Math.max(root.category, categoryCode);
+                return;
+            }
+            Node parent = root;
+            while (true) {
+                int branch = bit(keyHigh, keyLow, parent.length);
+                Node child = parent.child(branch);
+                if (child == null) {
+                    Node leaf = new Node(keyHigh, keyLow, length);
+                    leaf.category = categoryCode;
+                    parent.setChild(branch, leaf);
+                    return;
+                }
+
+                int common = Math.min(
+                        commonPrefix(keyHigh & maskHigh(length), keyLow & maskLow(length), child.high, child.low),
+                        Math.min(child.length, length));
+
+                if (common == child.length) {
+                    if (child.length == length) {
+                        child.category = Math.max(child.category, categoryCode);
+                        return;
+                    }
+                    parent = child; // new range is inside the child's range
+                    continue;
+                }
+
+                if (common == length) {
+                    // New range covers the child: insert it between parent and child
+                    Node covering = new Node(keyHigh, keyLow, length);
+                    covering.category = categoryCode;
+                    covering.setChild(bit(child.high, child.low, length), child);
+                    parent.setChild(branch, covering);
+                    return;
+                }
+
+                // Ranges diverge: split at the common prefix
+                Node split = new Node(keyHigh, keyLow, common);
+                Node leaf = new Node(keyHigh, keyLow, length);
+                leaf.category = categoryCode;
+                split.setChild(bit(child.high, child.low, common), child);
+                split.setChild(bit(keyHigh, keyLow, common), leaf);
+                parent.setChild(branch, split);
+                return;
+            }
+        }
+
+        CidrTrie build() {
+            List<Node> order = new ArrayList<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                if (node.zero != null) {
+                    queue.add(node.zero);
+                }
+                if (node.one != null) {
+                    queue.add(node.one);
+                }
+            }
+
+            int size = order.size();
+            Map<Node, Integer> index = new IdentityHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                index.put(order.get(i), i);
+            }
+
+            long[] high = new long[size];
+            long[] low = new long[size];
+            int[] prefixLength = new int[size];
+            int[] zeroChild = new int[size];
+            int[] oneChild = new int[size];
+            byte[] category = new byte[size];
+            for (int i = 0; i < size; i++) {
+                Node node = order.get(i);
+                high[i] = node.high;
+                low[i] = node.low;
+                prefixLength[i] = node.length;
+                zeroChild[i] = node.zero != null ? index.get(node.zero) : -1;
+                oneChild[i] = node.one != null ? index.get(node.one) : -1;
+                category[i] = (byte) node.category;
+            }
+            return new CidrTrie(high, low, prefixLength, zeroChild, oneChild, category, ranges);
+        }
+    }
+}
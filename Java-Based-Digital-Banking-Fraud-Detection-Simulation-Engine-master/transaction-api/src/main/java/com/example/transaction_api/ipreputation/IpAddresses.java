@@ -0,0 +1,165 @@
+package com.example.transaction_api.ipreputation;
+
+/**
+ * Allocation-free parsing of textual IP addresses into 128-bit keys.
+ * IPv4 addresses are mapped into the ::ffff:0:0/96 range so that one trie
+ * serves both families.
+ */
+final class IpAddresses {
+
+    static final long IPV4_MAPPED_HIGH = 0L;
+    static final long IPV4_MAPPED_LOW_PREFIX = 0x0000_ffff_0000_0000L;
+    static final int IPV4_MAPPED_PREFIX_BITS = 96;
+
+    private IpAddresses() {
+    }
+
+    /**
+     * @return the IPv4 address as an unsigned 32-bit value, or -1 if invalid
+     */
+    static long parseIpv4(CharSequence text, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else if (c == '.') {
+                if (value < 0 || octets == 3) {
+                    return -1;
+                }
+                address = (address << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (value < 0 || octets != 3) {
+            return -1;
+        }
+        return (address << 8) | value;
+    }
+
+    /**
+     * Parses IPv4 or IPv6 text into {@code out[0]} (high 64 bits) and
+     * {@code out[1]} (low 64 bits).
+     *
+     * @return false if the text is not a valid address
+     */
+    static boolean parse(CharSequence text, long[] out) {
+        if (text == null) {
+            return false;
+        }
+        int length = text.length();
+        boolean colon = false;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) == ':') {
+                colon = true;
+                break;
+            }
+        }
+        if (!colon) {
+            long v4 = parseIpv4(text, 0, length);
+            if (v4 < 0) {
+                return false;
+            }
+            out[0] = IPV4_MAPPED_HIGH;
+            out[1] = IPV4_MAPPED_LOW_PREFIX | v4;
+            return true;
+        }
+        return parseIpv6(text, length, out);
+    }
+
+    private static boolean parseIpv6(CharSequence text, int length, long[] out) {
+        // Up to eight 16-bit groups; "::" marks where the zero run goes
+        int[] groups = new int[8];
+        int count = 0;
+        int gapAt = -1;
+        int i = 0;
+
+        if (length >= 2 && text.charAt(0) == ':' && text.charAt(1) == ':') {
+            gapAt = 0;
+            i = 2;
+        }
+
+        while (i < length) {
+            int start = i;
+            int value = 0;
+            int digits = 0;
+            while (i < length && text.charAt(i) != ':') {
+                char c = text.charAt(i);
+                if (c == '.') {
+                    // Embedded IPv4 tail, e.g. ::ffff:10.0.0.1
+                    long v4 = parseIpv4(text, start, length);
+                    if (v4 < 0 || count > 6) {
+                        return false;
+                    }
+                    groups[count++] = (int) (v4 >>> 16);
+                    groups[count++] = (int) (v4 & 0xFFFF);
+                    i = length;
+                    digits = -1;
+                    break;
+                }
+                int hex = Character.digit(c, 16);
+                if (hex < 0 || ++digits > 4) {
+                    return false;
+                }
+                value = (value << 4) | hex;
+                i++;
+            }
+            if (digits == -1) {
+                break;
+            }
+            if (digits == 0 || count == 8) {
+                return false;
+            }
+            groups[count++] = value;
+
+            if (i < length) {
+                i++; // skip ':'
+                if (i < length && text.charAt(i) == ':') {
+                    if (gapAt >= 0) {
+                        return false; // only one "::" allowed
+                    }
+                    gapAt = count;
+                    i++;
+                } else if (i == length) {
+                    return false; // trailing single ':'
+                }
+            }
+        }
+
+        if (gapAt < 0 && count != 8) {
+            return false;
+        }
+        if (gapAt >= 0 && count == 8) {
+            return false;
+        }
+
+        long high = 0;
+        long low = 0;
+        int zeros = 8 - count;
+        int index = 0;
+        for (int g = 0; g < 8; g++) {
+            int value;
+            if (gapAt >= 0 && g >= gapAt && g < gapAt + zeros) {
+                value = 0;
+            } else {
+                value = groups[index++];
+            }
+            if (g < 4) {
+                high = (high << 16) | value;
+            } else {
+                low = (low << 16) | value;
+            }
+        }
+        out[0] = high;
+        out[1] = low;
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.transaction_api.ipreputation;
+
+/**
+ * Reputation categories, ordered by severity. When an address falls in
+ * several listed ranges, the most severe category wins.
+ */
+public enum IpCategory {
+    CLEAN,
+    SUSPICIOUS,
+    DATACENTER,
+    TOR_EXIT,
+    BLOCKLISTED;
+
+    private static final IpCategory[] VALUES = values();
+
+    static IpCategory ofCode(int code) {
+        return code < 0 ? CLEAN : VALUES[code];
+    }
+
+    /**
+     * Maps a list file name such as "tor-exit.txt" to its category.
+     */
+    static IpCategory fromFileName(String fileName) {
+        String base = fileName;
+        int dot = base.lastIndexOf('.');
+        if (dot > 0) {
+            base = base.substring(0, dot);
+        }
+        try {
+            return IpCategory.valueOf(base.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.transaction_api.ipreputation;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * IP reputation lookups against CIDR lists loaded from local files.
+ *
+ * Each file in the configured directory is named after its category
+ * (blocklisted.txt, tor-exit.txt, datacenter.txt, suspicious.txt) and holds
+ * one IPv4/IPv6 address or CIDR range per line; '#' starts a comment.
+ * The lists are compiled into a {@link CidrTrie} and swapped in atomically,
+ * so lookups never block on a reload.
+ */
+@Component
+public class IpReputationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpReputationService.class);
+
+    private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Path directory;
+    private final String[] builtinSuspicious;
+
+    private volatile CidrTrie trie = new CidrTrie.Builder().build();
+    private volatile long loadedFingerprint = Long.MIN_VALUE;
+
+    public IpReputationService(@Value("${ip-reputation.dir:data/ip-reputation}") String directory,
+            @Value("${ip-reputation.builtin-suspicious:172.0.0.0/8}") String[] builtinSuspicious) {
+        this.directory = Paths.get(directory);
+        this.builtinSuspicious = builtinSuspicious;
+    }
+
+    /**
+     * Most severe category of any range containing the address;
+     * CLEAN if unlisted or unparsable.
+     */
+    public IpCategory lookup(CharSequence ipAddress) {
+        long[] key = SCRATCH.get();
+        if (!IpAddresses.parse(ipAddress, key)) {
+            return IpCategory.CLEAN;
+        }
+        return IpCategory.ofCode(trie.lookup(key[0], key[1]));
+    }
+
+    @PostConstruct
+    public void load() {
+        reload(fingerprint());
+    }
+
+    /**
+     * Reloads the lists when any file in the directory changed.
+     */
+    @Scheduled(fixedDelayString = "${ip-reputation.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        long fingerprint = fingerprint();
+        if (fingerprint != loadedFingerprint) {
+            reload(fingerprint);
+        }
+    }
+
+    private synchronized void reload(long fingerprint) {
+        CidrTrie.Builder builder = new CidrTrie.Builder();
+        long[] key = new long[2];
+        int rejected = 0;
+
+        for (String range : builtinSuspicious) {
+            if (!range.isBlank() && !addRange(builder, range.trim(), IpCategory.SUSPICIOUS, key)) {
+                rejected++;
+            }
+        }
+
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+                for (Path file : files) {
+                    IpCategory category = IpCategory.fromFileName(file.getFileName().toString());
+                    if (category == null || category == IpCategory.CLEAN) {
+                        logger.warn("Ignoring IP list {}: file name is not a reputation category", file);
+                        continue;
+                    }
+                    rejected += loadFile(builder, file, category, key);
+                }
+            } catch (IOException e) {
+                logger.error("Failed to read IP reputation lists from {}: {}", directory, e.getMessage());
+                return; // keep serving the previous trie
+            }
+        }
+
+        CidrTrie rebuilt = builder.build();
+        trie = rebuilt;
+        loadedFingerprint = fingerprint;
+        logger.info("Loaded {} IP reputation ranges ({} trie nodes, {} rejected lines)",
+                rebuilt.getRangeCount(), rebuilt.getNodeCount(), rejected);
+    }
+
+    private int loadFile(CidrTrie.Builder builder, Path file, IpCategory category, long[] key) throws IOException {
+        int rejected = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String range = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (!range.isEmpty() && !addRange(builder, range, category, key)) {
+                    rejected++;
+                }
+            }
+        }
+        return rejected;
+    }
+
+    private static boolean addRange(CidrTrie.Builder builder, String range, IpCategory category, long[] key) {
+        int slash = range.indexOf('/');
+        String address = slash >= 0 ? range.substring(0, slash) : range;
+        if (!IpAddresses.parse(address, key)) {
+            return false;
+        }
+
+        boolean ipv4 = address.indexOf(':') < 0;
+        int maxLength = ipv4 ? 32 : 128;
+        int length = maxLength;
+        if (slash >= 0) {
+            try {
+                length = Integer.parseInt(range.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (length < 0 || length > maxLength) {
+                return false;
+            }
+        }
+        if (ipv4) {
+            length += IpAddresses.IPV4_MAPPED_PREFIX_BITS;
+        }
+        builder.insert(key[0], key[1], length, category.ordinal());
+        return true;
+    }
+
+    private long fingerprint() {
+        long fingerprint = 17;
+        if (!Files.isDirectory(directory)) {
+            return fingerprint;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+            for (Path file : files) {
+                fingerprint += file.getFileName().toString().hashCode() * 31L
+                        + Files.getLastModifiedTime(file).toMillis()
+                        + Files.size(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot check IP reputation lists in {}: {}", directory, e.getMessage());
+            return loadedFingerprint;
+        }
+        return fingerprint;
+    }
+}
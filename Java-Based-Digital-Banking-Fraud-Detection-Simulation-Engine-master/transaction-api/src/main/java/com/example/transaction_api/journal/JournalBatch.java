@@ -0,0 +1,31 @@
+package com.example.transaction_api.journal;
+
+import com.example.transaction_api.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Records read from the journal and the offset just past the last one.
+ */
+public class JournalBatch {
+
+    private final List<Transaction> records;
+    private final long nextOffset;
+
+    JournalBatch(List<Transaction> records, long nextOffset) {
+        this.records = records;
+        this.nextOffset = nextOffset;
+    }
+
+    public List<Transaction> getRecords() {
+        return records;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+}
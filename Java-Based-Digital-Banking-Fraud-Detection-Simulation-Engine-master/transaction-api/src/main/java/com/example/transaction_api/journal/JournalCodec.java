@@ -0,0 +1,98 @@
+package com.example.transaction_api.journal;
+
+import com.example.transaction_api.model.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Binary encoding of a decided transaction for the journal. Strings are
+ * written as a presence flag plus modified UTF-8; the timestamp as
+ * ISO text so it round-trips without a zone.
+ */
+final class JournalCodec {
+
+    private static final byte VERSION = 3; // 2 added REASON_CODES, 3 added ID
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(Transaction t) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeBoolean(t.getId() != null);
+            out.writeLong(t.getId() != null ? t.getId() : 0L);
+            writeString(out, t.getTransactionId());
+            writeString(out, t.getTimestamp() != null ? t.getTimestamp().toString() : null);
+            writeString(out, t.getCurrency());
+            out.writeDouble(t.getAmount());
+            writeString(out, t.getSenderAccount());
+            writeString(out, t.getReceiverAccount());
+            writeString(out, t.getTransactionType());
+            writeString(out, t.getChannel());
+            writeString(out, t.getStatus());
+            writeString(out, t.getIpAddress());
+            writeString(out, t.getLocation());
+            out.writeInt(t.getFraudFlag() != null ? t.getFraudFlag() : 0);
+            out.writeLong(t.getReasonCodes());
+            writeString(out, t.getLegacyFraudReason());
+            out.writeBoolean(t.getMlScore() != null);
+            out.writeDouble(t.getMlScore() != null ? t.getMlScore() : 0.0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Transaction decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unknown journal record version " + version);
+        }
+        Transaction t = new Transaction();
+        if (version >= 3) {
+            boolean hasId = in.readBoolean();
+            long id = in.readLong();
+            t.setId(hasId ? id : null);
+        }
+        t.setTransactionId(readString(in));
+        String timestamp = readString(in);
+        t.setTimestamp(timestamp != null ? LocalDateTime.parse(timestamp) : null);
+        t.setCurrency(readString(in));
+        t.setAmount(in.readDouble());
+        t.setSenderAccount(readString(in));
+        t.setReceiverAccount(readString(in));
+        t.setTransactionType(readString(in));
+        t.setChannel(readString(in));
+        t.setStatus(readString(in));
+        t.setIpAddress(readString(in));
+        t.setLocation(readString(in));
+        t.setFraudFlag(in.readInt());
+        if (version >= 2) {
+            t.setReasonCodes(in.readLong());
+        }
+        t.setFraudReason(readString(in));
+        boolean hasScore = in.readBoolean();
+        double score = in.readDouble();
+        t.setMlScore(hasScore ? score : null);
+        return t;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
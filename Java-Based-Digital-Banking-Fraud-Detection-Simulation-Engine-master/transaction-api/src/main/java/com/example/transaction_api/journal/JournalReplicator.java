@@ -0,0 +1,136 @@
+package com.example.transaction_api.journal;
+
+import com.example.transaction_api.cache.ResponseCache;
+import com.example.transaction_api.config.SchedulingConfig;
+import com.example.transaction_api.id.TransactionIdGenerator;
+import com.example.transaction_api.idempotency.IdempotencyService;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.outbox.DecisionOutbox;
+import com.example.transaction_api.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drains the transaction journal into TRANSACTIONS (and the decision
+ * outbox) in large batches and
+ * advances the checkpoint after each committed batch. While the database
+ * is unreachable it backs off exponentially and records keep accumulating
+ * in the journal; nothing is lost as long as the journal directory is.
+ *
+ * A batch that fails a constraint is retried row by row, and rows the
+ * database still refuses are quarantined by the journal instead of
+ * blocking every record behind them. A row whose generated ID clashes
+ * with a stored row (two instances sharing a node ID) is given a new ID
+ * and retried; its TRANSACTION_ID, already returned to the client, stays.
+ * Cached dashboard/listing responses are invalidated after each committed
+ * batch, when the rows become visible to the queries behind them.
+ */
+@Component
+public class JournalReplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalReplicator.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final TransactionJournal journal;
+    private final DecisionOutbox outbox;
+    private final TransactionIdGenerator idGenerator;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCache responseCache;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private long backoffMillis;
+    private long nextAttemptAt;
+
+    public JournalReplicator(TransactionJournal journal,
+            DecisionOutbox outbox,
+            TransactionIdGenerator idGenerator,
+            IdempotencyService idempotencyService,
+            ResponseCache responseCache,
+            @Value("${journal.replicate-batch-size:500}") int batchSize,
+            @Value("${journal.replicate-max-batches:20}") int maxBatchesPerRun) {
+        this.journal = journal;
+        this.outbox = outbox;
+        this.idGenerator = idGenerator;
+        this.idempotencyService = idempotencyService;
+        this.responseCache = responseCache;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${journal.replicate-interval-ms:200}",
+            scheduler = SchedulingConfig.PIPELINE_SCHEDULER)
+    public void replicate() {
+        if (!journal.isEnabled() || System.currentTimeMillis() < nextAttemptAt) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                JournalBatch batch = journal.read(journal.getCheckpoint(), batchSize);
+                if (batch.isEmpty()) {
+                    if (batch.getNextOffset() > journal.getCheckpoint()) {
+                        journal.commit(batch.getNextOffset()); // skipped a segment tail or corrupt records
+                    }
+                    break;
+                }
+                for (Transaction t : batch.getRecords()) {
+                    if (t.getId() == null) {
+                        t.setId(idGenerator.nextId()); // journaled before transactions had IDs
+                    }
+                }
+                try {
+                    outbox.insertIfAbsent(batch.getRecords());
+                } catch (DataIntegrityViolationException e) {
+                    insertRowByRow(batch.getRecords());
+                }
+                journal.commit(batch.getNextOffset());
+                idempotencyService.replicated(batch.getRecords());
+                responseCache.invalidateAll();
+            }
+            if (backoffMillis > 0) {
+                logger.info("Journal replication resumed; {} bytes pending", journal.getLagBytes());
+            }
+            backoffMillis = 0;
+        } catch (Exception e) {
+            backoffMillis = backoffMillis == 0 ? 500 : Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+            nextAttemptAt = System.currentTimeMillis() + backoffMillis;
+            logger.warn("Journal replication failed ({}); retrying in {} ms, {} bytes pending",
+                    e.getMessage(), backoffMillis, journal.getLagBytes());
+        }
+    }
+
+    // Other failures (the database is unreachable) propagate and back off as for a batch
+    private void insertRowByRow(List<Transaction> records) {
+        for (Transaction t : records) {
+            try {
+                insertRow(t);
+            } catch (DataIntegrityViolationException e) {
+                journal.reject(t, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+
+    private void insertRow(Transaction t) {
+        try {
+            outbox.insertIfAbsent(List.of(t));
+        } catch (DuplicateKeyException e) {
+            if (TransactionRepository.isPrimaryKeyViolation(e)) {
+                long collided = t.getId();
+                t.setId(idGenerator.nextId());
+                logger.error("Generated ID {} of transaction {} already exists (is transaction-id.node-id "
+                        + "unique per instance?); replicating it as {}", collided, t.getTransactionId(), t.getId());
+            }
+            // Otherwise another instance inserted the TRANSACTION_ID concurrently and the MERGE now matches it
+            outbox.insertIfAbsent(List.of(t));
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.transaction_api.journal;
+
+import com.example.transaction_api.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of decided transactions in memory-mapped segment
+ * files. A transaction is acknowledged once its record is in the journal
+ * (and forced to disk when journal.fsync is on); {@link JournalReplicator}
+ * copies records into TRANSACTIONS in the background.
+ *
+ * Layout:
+ * - Offsets are global byte positions; segment files are named after
+ *   their base offset and are journal.segment-bytes long.
+ * - Record = [int payload length][int CRC32 of payload][payload]. The
+ *   length is written last, and a zero length marks the unused tail of a
+ *   segment.
+ * - The "checkpoint" file holds the offset up to which records are in the
+ *   database. Replay after a restart starts there; fully replicated
+ *   segments are deleted.
+ * - A complete record that later fails its CRC or cannot be decoded is
+ *   copied into the quarantine directory (one file per offset) and
+ *   skipped, so one bad record does not stall replication;
+ *   getCorruptRecords() counts them.
+ * - A record the database refuses (a constraint violation on its own row)
+ *   is set aside the same way by {@link #reject}, named by its ID, and
+ *   counted by getRejectedRecords().
+ *
+ * Concurrent appends share forces (group commit): one force covers every
+ * record appended before it started.
+ */
+@Component
+public class TransactionJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionJournal.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String QUARANTINE_DIR = "quarantine";
+    private static final int ZERO_CHUNK = 64 * 1024;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    // Guarded by this
+    private MappedByteBuffer writeSegment;
+    private long writeBase;
+    private int writePosition;
+
+    // End of the last complete record; readers never look past it
+    private volatile long writeOffset;
+    private volatile long checkpoint;
+
+    private final Object syncLock = new Object();
+    private long syncedOffset; // guarded by syncLock
+
+    private final AtomicLong corruptRecords = new AtomicLong();
+    private final AtomicLong rejectedRecords = new AtomicLong();
+
+    public TransactionJournal(@Value("${journal.enabled:true}") boolean enabled,
+            @Value("${journal.dir:data/journal}") String directory,
+            @Value("${journal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${journal.fsync:true}") boolean fsync) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends the transaction and returns once the record is durable.
+     *
+     * @return the journal offset just past the record
+     */
+    public long append(Transaction txn) {
+        if (!enabled) {
+            throw new IllegalStateException("Transaction journal is disabled");
+        }
+        byte[] payload = JournalCodec.encode(txn);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + recordBytes + " bytes exceeds segment size");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long end;
+        synchronized (this) {
+            if (writePosition + recordBytes > segmentBytes) {
+                roll();
+            }
+            writeSegment.put(writePosition + HEADER_BYTES, payload);
+            writeSegment.putInt(writePosition + 4, (int) crc.getValue());
+            writeSegment.putInt(writePosition, payload.length);
+            writePosition += recordBytes;
+            end = writeBase + writePosition;
+            writeOffset = end;
+        }
+
+        if (fsync) {
+            sync(end);
+        }
+        return end;
+    }
+
+    /**
+     * Reads up to maxRecords records starting at the given offset.
+     */
+    public JournalBatch read(long fromOffset, int maxRecords) {
+        List<Transaction> records = new ArrayList<>();
+        long offset = fromOffset;
+        long limit = writeOffset;
+        while (records.size() < maxRecords && offset < limit) {
+            long base = offset - offset % segmentBytes;
+            int position = (int) (offset - base);
+            ByteBuffer segment = segments.get(base);
+            if (segment == null) {
+                throw new IllegalStateException("Journal segment " + base + " is missing");
+            }
+            int length = position + HEADER_BYTES <= segmentBytes ? segment.getInt(position) : 0;
+            if (length == 0) {
+                offset = base + segmentBytes; // rest of this segment is unused
+                continue;
+            }
+            if (length < 0 || position + HEADER_BYTES + length > segmentBytes) {
+                // The length itself is damaged: no record boundary to resume from in this segment
+                quarantine(segment, base, position, segmentBytes - position, "invalid length " + length);
+                offset = base + segmentBytes;
+                continue;
+            }
+
+            byte[] payload = new byte[length];
+            segment.get(position + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.getInt(position + 4)) {
+                quarantine(segment, base, position, HEADER_BYTES + length, "CRC mismatch");
+            } else {
+                try {
+                    records.add(JournalCodec.decode(payload));
+                } catch (IOException e) {
+                    quarantine(segment, base, position, HEADER_BYTES + length, e.getMessage());
+                }
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return new JournalBatch(records, offset);
+    }
+
+    /**
+     * Records that everything before the offset is in the database and
+     * deletes segments that are no longer needed.
+     */
+    public void commit(long offset) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, Long.toString(offset).getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = offset;
+
+        long currentBase;
+        synchronized (this) {
+            currentBase = writeBase;
+        }
+        for (Long base : new ArrayList<>(segments.keySet())) {
+            if (base + segmentBytes <= offset && base != currentBase) {
+                segments.remove(base);
+                Files.deleteIfExists(segmentPath(base));
+            }
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+
+    /** Bytes appended but not yet replicated to the database. */
+    public long getLagBytes() {
+        return writeOffset - checkpoint;
+    }
+
+    /** Records skipped by {@link #read} because they failed their CRC or decoding. */
+    public long getCorruptRecords() {
+        return corruptRecords.get();
+    }
+
+    /** Records set aside by {@link #reject} because the database refused them. */
+    public long getRejectedRecords() {
+        return rejectedRecords.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("segments", segments.size());
+        stats.put("writeOffset", writeOffset);
+        stats.put("checkpoint", checkpoint);
+        stats.put("lagBytes", getLagBytes());
+        stats.put("corruptRecords", corruptRecords.get());
+        stats.put("rejectedRecords", rejectedRecords.get());
+        return stats;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), map(file));
+            }
+        }
+
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        long firstBase = segments.isEmpty() ? 0 : segments.firstKey();
+        checkpoint = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.US_ASCII).trim())
+                : firstBase;
+
+        if (segments.isEmpty()) {
+            long base = checkpoint - checkpoint % segmentBytes;
+            segments.put(base, map(segmentPath(base)));
+        }
+        writeBase = segments.lastKey();
+        writeSegment = segments.get(writeBase);
+        writePosition = recoverWritePosition(writeSegment);
+        writeOffset = writeBase + writePosition;
+        synchronized (syncLock) {
+            syncedOffset = writeOffset;
+        }
+
+        if (checkpoint > writeOffset || checkpoint < firstBase) {
+            logger.warn("Journal checkpoint {} is outside [{}, {}]; replaying from the oldest segment",
+                    checkpoint, firstBase, writeOffset);
+            checkpoint = firstBase;
+        }
+        logger.info("Opened transaction journal at {}: {} segment(s), {} bytes pending replication",
+                directory, segments.size(), getLagBytes());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (enabled && writeSegment != null) {
+            synchronized (this) {
+                writeSegment.force();
+            }
+        }
+    }
+
+    private void sync(long end) {
+        synchronized (syncLock) {
+            if (syncedOffset >= end) {
+                return; // covered by a force another appender already did
+            }
+            long target = writeOffset;
+            MappedByteBuffer segment = segments.get(target - 1 - (target - 1) % segmentBytes);
+            if (segment != null) {
+                segment.force();
+            }
+            syncedOffset = target;
+        }
+    }
+
+    // Called with the monitor held
+    private void roll() {
+        writeSegment.force(); // earlier records must be durable before the new segment is used
+        long base = writeBase + segmentBytes;
+        try {
+            MappedByteBuffer segment = map(segmentPath(base));
+            segments.put(base, segment);
+            writeSegment = segment;
+            writeBase = base;
+            writePosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + base, e);
+        }
+    }
+
+    /**
+     * Finds the end of the valid records in the last segment. A torn record
+     * left by a crash mid-append is discarded together with everything after
+     * it: the rest of the segment is zeroed so that stale bytes past the torn
+     * record can never be read back as a length once appends resume.
+     *
+     * A record that fails its CRC but is followed by a valid record was
+     * complete when later records were appended, so it is corruption rather
+     * than a torn tail: it is kept for {@link #read} to quarantine instead of
+     * truncating acknowledged records behind it.
+     */
+    private int recoverWritePosition(MappedByteBuffer segment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            boolean framed = length > 0 && position + HEADER_BYTES + length <= segmentBytes;
+            if (framed && !hasValidCrc(segment, position, length)) {
+                int next = position + HEADER_BYTES + length;
+                framed = next + HEADER_BYTES <= segmentBytes && segment.getInt(next) > 0
+                        && next + HEADER_BYTES + segment.getInt(next) <= segmentBytes
+                        && hasValidCrc(segment, next, segment.getInt(next));
+            }
+            if (!framed) {
+                logger.warn("Discarding torn journal record at offset {} and the {} bytes after it",
+                        writeBase + position, segmentBytes - position);
+                byte[] zeros = new byte[Math.min(ZERO_CHUNK, segmentBytes - position)];
+                for (int i = position; i < segmentBytes; i += zeros.length) {
+                    segment.put(i, zeros, 0, Math.min(zeros.length, segmentBytes - i));
+                }
+                segment.force();
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static boolean hasValidCrc(ByteBuffer segment, int position, int length) {
+        byte[] payload = new byte[length];
+        segment.get(position + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.getInt(position + 4);
+    }
+
+    /**
+     * Copies the raw bytes of a corrupt record aside and counts it. Files are
+     * named by offset, so re-reading the same record after a failed batch
+     * neither duplicates the copy nor counts it twice.
+     */
+    private void quarantine(ByteBuffer segment, long base, int position, int bytes, String reason) {
+        long offset = base + position;
+        byte[] raw = new byte[bytes];
+        segment.get(position, raw);
+        Path file = directory.resolve(QUARANTINE_DIR).resolve(offset + ".record");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, raw, StandardOpenOption.CREATE_NEW);
+        } catch (FileAlreadyExistsException e) {
+            return; // already quarantined by an earlier read
+        } catch (IOException e) {
+            logger.error("Failed to quarantine journal record at offset {}: {}", offset, e.getMessage());
+        }
+        corruptRecords.incrementAndGet();
+        logger.error("Skipped corrupt journal record at offset {} ({}); {} bytes copied to {}",
+                offset, reason, bytes, file);
+    }
+
+    /**
+     * Sets aside a record that decodes but that the database refuses, so
+     * replication can move past it. Like {@link #quarantine} this is
+     * idempotent: rejecting the same record again after a failed batch
+     * neither duplicates the copy nor counts it twice.
+     */
+    public void reject(Transaction txn, String reason) {
+        Path file = directory.resolve(QUARANTINE_DIR).resolve("rejected-" + txn.getId() + ".record");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, JournalCodec.encode(txn), StandardOpenOption.CREATE_NEW);
+        } catch (FileAlreadyExistsException e) {
+            return; // already rejected by an earlier run
+        } catch (IOException e) {
+            logger.error("Failed to quarantine rejected transaction {}: {}", txn.getTransactionId(), e.getMessage());
+        }
+        rejectedRecords.incrementAndGet();
+        logger.error("Skipped journal record of transaction {} rejected by the database ({}); copied to {}",
+                txn.getTransactionId(), reason, file);
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.transaction_api.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saturation of the ingest and analytics connection pools.
+ *
+ * Hikari only exposes instantaneous gauges, so a sampler keeps the most
+ * recent pool-metrics.window-ms of samples in a ring. Peak active
+ * connections, peak waiting threads and the share of samples that found
+ * the pool exhausted are taken over that fixed window, so reading the stats
+ * changes nothing and concurrent readers see the same peaks. Waiters on the
+ * ingest pool are logged, since they add directly to decision latency.
+ */
+@Component
+public class ConnectionPoolMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolMetrics.class);
+
+    private final List<PoolGauge> pools;
+
+    public ConnectionPoolMetrics(HikariDataSource dataSource,
+                                 @Qualifier("analyticsDataSource") HikariDataSource analyticsDataSource,
+                                 @Value("${pool-metrics.sample-interval-ms:1000}") long sampleIntervalMillis,
+                                 @Value("${pool-metrics.window-ms:60000}") long windowMillis) {
+        int windowSamples = (int) Math.max(1, windowMillis / Math.max(1, sampleIntervalMillis));
+        this.pools = List.of(new PoolGauge(dataSource, windowSamples),
+                new PoolGauge(analyticsDataSource, windowSamples));
+    }
+
+    @Scheduled(fixedDelayString = "${pool-metrics.sample-interval-ms:1000}")
+    public void sample() {
+        for (PoolGauge pool : pools) {
+            int waiting = pool.sample();
+            if (waiting > 0 && pool == pools.get(0)) {
+                logger.warn("{} pool exhausted: {} thread(s) waiting for a connection", pool.name(), waiting);
+            }
+        }
+    }
+
+    /**
+     * Current gauges per pool, with peaks over the sampling window.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (PoolGauge pool : pools) {
+            stats.put(pool.name(), pool.snapshot());
+        }
+        return stats;
+    }
+
+    private static final class PoolGauge {
+
+        private final HikariDataSource dataSource;
+
+        // Ring of the last activeSamples.length samples; guarded by this
+        private final int[] activeSamples;
+        private final int[] waitingSamples;
+        private final boolean[] saturated;
+        private int next;
+        private int count;
+
+        PoolGauge(HikariDataSource dataSource, int windowSamples) {
+            this.dataSource = dataSource;
+            this.activeSamples = new int[windowSamples];
+            this.waitingSamples = new int[windowSamples];
+            this.saturated = new boolean[windowSamples];
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        synchronized int sample() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return 0; // not started yet
+            }
+            int active = pool.getActiveConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            activeSamples[next] = active;
+            waitingSamples[next] = waiting;
+            saturated[next] = waiting > 0 || active >= dataSource.getMaximumPoolSize();
+            next = (next + 1) % activeSamples.length;
+            count = Math.min(count + 1, activeSamples.length);
+            return waiting;
+        }
+
+        synchronized Map<String, Object> snapshot() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            int max = dataSource.getMaximumPoolSize();
+            int active = pool != null ? pool.getActiveConnections() : 0;
+
+            int peakActive = active;
+            int peakWaiting = 0;
+            int saturatedSamples = 0;
+            for (int i = 0; i < count; i++) {
+                peakActive = Math.max(peakActive, activeSamples[i]);
+                peakWaiting = Math.max(peakWaiting, waitingSamples[i]);
+                if (saturated[i]) {
+                    saturatedSamples++;
+                }
+            }
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("url", dataSource.getJdbcUrl());
+            stats.put("readOnly", dataSource.isReadOnly());
+            stats.put("maximumPoolSize", max);
+            stats.put("active", active);
+            stats.put("idle", pool != null ? pool.getIdleConnections() : 0);
+            stats.put("total", pool != null ? pool.getTotalConnections() : 0);
+            stats.put("waiting", pool != null ? pool.getThreadsAwaitingConnection() : 0);
+            stats.put("utilisation", max > 0 ? (double) active / max : 0.0);
+            stats.put("peakActive", peakActive);
+            stats.put("peakWaiting", peakWaiting);
+            stats.put("saturatedShare", count > 0 ? (double) saturatedSamples / count : 0.0);
+            stats.put("windowSamples", count);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.transaction_api.metrics;
+
+import java.util.Locale;
+
+/**
+ * Bucket resolutions kept by {@link TransactionTimeSeries}.
+ * Each granularity keeps a fixed number of slots in a ring buffer.
+ */
+public enum Granularity {
+
+    SECOND(1_000L, 3_600),      // last hour, per second
+    MINUTE(60_000L, 1_440),     // last day, per minute
+    HOUR(3_600_000L, 24 * 14);  // last two weeks, per hour
+
+    private final long bucketMillis;
+    private final int slots;
+
+    Granularity(long bucketMillis, int slots) {
+        this.bucketMillis = bucketMillis;
+        this.slots = slots;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Parses a request parameter such as "second", "minute" or "hour".
+     */
+    public static Granularity fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return MINUTE;
+        }
+        try {
+            return Granularity.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Unsupported granularity '" + value + "'. Use second, minute or hour");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.transaction_api.metrics;
+
+import com.example.transaction_api.model.TimeSeriesPoint;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.service.TransactionObserver;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory, fixed-size time-series of decision throughput and fraud rate.
+ *
+ * Every decided transaction is written into three ring buffers at once
+ * (per second, per minute and per hour), so a minute bucket is always the
+ * roll-up of its second buckets without a background job. Reads never
+ * touch the database.
+ */
+@Component
+public class TransactionTimeSeries implements TransactionObserver {
+
+    static final String[] CHANNELS = {"MOBILE", "ATM", "CARD", "NETBANKING", "OTHER"};
+
+    // Metric offsets inside one channel block
+    private static final int TXN_COUNT = 0;
+    private static final int FRAUD_COUNT = 1;
+    private static final int FAILED_COUNT = 2;
+    private static final int ML_SCORE_SUM = 3;   // scaled by ML_SCORE_SCALE
+    private static final int LATENCY_SUM = 4;    // microseconds
+    private static final int LATENCY_MAX = 5;    // microseconds
+    private static final int METRICS = 6;
+
+    private static final long ML_SCORE_SCALE = 1_000_000L;
+
+    private final Map<Granularity, Ring> rings = new EnumMap<>(Granularity.class);
+
+    public TransactionTimeSeries() {
+        for (Granularity granularity : Granularity.values()) {
+            rings.put(granularity, new Ring(granularity));
+        }
+    }
+
+    /**
+     * Records one decided transaction. Called from the decision path.
+     */
+    @Override
+    public void onTransactionDecided(Transaction txn, long latencyNanos) {
+        long now = System.currentTimeMillis();
+        int channel = channelIndex(txn.getChannel());
+        boolean fraud = txn.getFraudFlag() != null && txn.getFraudFlag() == 1;
+        boolean failed = "FAILED".equals(txn.getStatus());
+        long mlScore = txn.getMlScore() != null ? Math.round(txn.getMlScore() * ML_SCORE_SCALE) : 0L;
+        long latencyMicros = latencyNanos / 1_000L;
+
+        for (Ring ring : rings.values()) {
+            ring.add(now, channel, fraud, failed, mlScore, latencyMicros);
+        }
+    }
+
+    /**
+     * Returns the most recent buckets, oldest first.
+     *
+     * @param granularity bucket size
+     * @param channel     channel filter, or null for all channels combined
+     * @param points      number of buckets to return (capped by ring size)
+     */
+    public List<TimeSeriesPoint> query(Granularity granularity, String channel, int points) {
+        Ring ring = rings.get(granularity);
+        int limit = Math.max(1, Math.min(points, granularity.getSlots()));
+
+        int channelFrom = 0;
+        int channelTo = CHANNELS.length;
+        if (channel != null && !channel.isBlank()) {
+            channelFrom = channelIndex(channel);
+            channelTo = channelFrom + 1;
+        }
+
+        long currentEpoch = System.currentTimeMillis() / granularity.getBucketMillis();
+        List<TimeSeriesPoint> series = new ArrayList<>(limit);
+
+        for (long epoch = currentEpoch - limit + 1; epoch <= currentEpoch; epoch++) {
+            long[] totals = ring.read(epoch, channelFrom, channelTo);
+            series.add(toPoint(epoch * granularity.getBucketMillis(), channel, totals));
+        }
+        return series;
+    }
+
+    private TimeSeriesPoint toPoint(long bucketStartMillis, String channel, long[] totals) {
+        long count = totals[TXN_COUNT];
+        TimeSeriesPoint point = new TimeSeriesPoint();
+        point.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(bucketStartMillis), ZoneId.systemDefault()));
+        point.setChannel(channel == null || channel.isBlank() ? "ALL" : CHANNELS[channelIndex(channel)]);
+        point.setTransactions(count);
+        point.setFraudCount(totals[FRAUD_COUNT]);
+        point.setFailedCount(totals[FAILED_COUNT]);
+        point.setFraudRate(count > 0 ? (double) totals[FRAUD_COUNT] / count * 100.0 : 0.0);
+        point.setAvgMlScore(count > 0 ? (double) totals[ML_SCORE_SUM] / ML_SCORE_SCALE / count : 0.0);
+        point.setAvgLatencyMs(count > 0 ? totals[LATENCY_SUM] / 1_000.0 / count : 0.0);
+        point.setMaxLatencyMs(totals[LATENCY_MAX] / 1_000.0);
+        return point;
+    }
+
+    static int channelIndex(String channel) {
+        if (channel == null) {
+            return CHANNELS.length - 1;
+        }
+        switch (channel.toUpperCase(Locale.ROOT)) {
+            case "MOBILE":
+                return 0;
+            case "ATM":
+                return 1;
+            case "CARD":
+                return 2;
+            case "NETBANKING":
+                return 3;
+            default:
+                return CHANNELS.length - 1;
+        }
+    }
+
+    /**
+     * One ring buffer of buckets. A slot is reused once its epoch falls out
+     * of the window; the stamp array tells which epoch a slot currently holds.
+     */
+    private static final class Ring {
+
+        private final long bucketMillis;
+        private final int slots;
+        private final AtomicLongArray stamps;
+        private final AtomicLongArray values;
+
+        Ring(Granularity granularity) {
+            this.bucketMillis = granularity.getBucketMillis();
+            this.slots = granularity.getSlots();
+            this.stamps = new AtomicLongArray(slots);
+            this.values = new AtomicLongArray(slots * CHANNELS.length * METRICS);
+            for (int i = 0; i < slots; i++) {
+                stamps.set(i, -1L);
+            }
+        }
+
+        void add(long nowMillis, int channel, boolean fraud, boolean failed, long mlScore, long latencyMicros) {
+            long epoch = nowMillis / bucketMillis;
+            int slot = (int) (epoch % slots);
+
+            if (stamps.get(slot) != epoch) {
+                reset(slot, epoch);
+                if (stamps.get(slot) != epoch) {
+                    return; // slot already holds a newer bucket
+                }
+            }
+
+            int base = (slot * CHANNELS.length + channel) * METRICS;
+            values.incrementAndGet(base + TXN_COUNT);
+            if (fraud) {
+                values.incrementAndGet(base + FRAUD_COUNT);
+            }
+            if (failed) {
+                values.incrementAndGet(base + FAILED_COUNT);
+            }
+            values.addAndGet(base + ML_SCORE_SUM, mlScore);
+            values.addAndGet(base + LATENCY_SUM, latencyMicros);
+            values.accumulateAndGet(base + LATENCY_MAX, latencyMicros, Math::max);
+        }
+
+        private synchronized void reset(int slot, long epoch) {
+            long stamp = stamps.get(slot);
+            if (stamp >= epoch) {
+                return; // another thread already moved this slot forward
+            }
+            int from = slot * CHANNELS.length * METRICS;
+            int to = from + CHANNELS.length * METRICS;
+            for (int i = from; i < to; i++) {
+                values.set(i, 0L);
+            }
+            stamps.set(slot, epoch);
+        }
+
+        long[] read(long epoch, int channelFrom, int channelTo) {
+            long[] totals = new long[METRICS];
+            if (epoch < 0) {
+                return totals;
+            }
+            int slot = (int) (epoch % slots);
+            if (stamps.get(slot) != epoch) {
+                return totals; // no traffic in this bucket
+            }
+            for (int channel = channelFrom; channel < channelTo; channel++) {
+                int base = (slot * CHANNELS.length + channel) * METRICS;
+                for (int metric = 0; metric < METRICS; metric++) {
+                    long value = values.get(base + metric);
+                    if (metric == LATENCY_MAX) {
+                        totals[metric] = Math.max(totals[metric], value);
+                    } else {
+                        totals[metric] += value;
+                    }
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.transaction_api.model;
+
+public class AmountQuantiles {
+    private String dimension;
+    private String value;
+    private long count;
+    private double p50;
+    private double p95;
+    private double p99;
+    private double min;
+    private double max;
+
+    public AmountQuantiles() {
+    }
+
+    public AmountQuantiles(String dimension, String value, long count,
+                           double p50, double p95, double p99, double min, double max) {
+        this.dimension = dimension;
+        this.value = value;
+        this.count = count;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public void setP50(double p50) {
+        this.p50 = p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public void setP95(double p95) {
+        this.p95 = p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public void setP99(double p99) {
+        this.p99 = p99;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.transaction_api.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide short codes for one low-cardinality transaction field.
+ * Code 0 is null; codes are never reused, so a code stays valid for the
+ * life of the process. Once {@link #MAX_CODES} values are known, new
+ * values get {@link #OVERFLOW} and the caller keeps the String itself.
+ */
+final class CategoryDictionary {
+
+    static final short NULL = 0;
+    static final short OVERFLOW = -1;
+    static final int MAX_CODES = Short.MAX_VALUE;
+
+    private final Map<String, Short> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[1];
+
+    CategoryDictionary(String... seed) {
+        for (String value : seed) {
+            encode(value);
+        }
+    }
+
+    short encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Short code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * @return the value for a code from {@link #encode}; null for
+     *         {@link #NULL} and {@link #OVERFLOW}
+     */
+    String decode(short code) {
+        return code > 0 ? values[code] : null;
+    }
+
+    private synchronized short add(String value) {
+        Short existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.length > MAX_CODES) {
+            return OVERFLOW;
+        }
+        short code = (short) values.length;
+        String[] grown = Arrays.copyOf(values, code + 1);
+        grown[code] = value;
+        values = grown;
+        codes.put(value, code);
+        return code;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.transaction_api.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Memory-lean, immutable form of a {@link Transaction} for code that holds
+ * many rows at once (e.g. a whole day being archived).
+ *
+ * Currency, type, channel, status and location are stored as short codes
+ * from process-wide dictionaries, the timestamp as epoch millis and the
+ * fraud flag and ML score as primitives. That is about 80 bytes per row
+ * plus the ID/account/IP strings, against roughly 160 bytes plus eleven
+ * strings for a Transaction. {@link Transaction} stays the type used at the
+ * JSON and JDBC edges; convert with {@link #of} and {@link #toTransaction}.
+ */
+public final class CompactTransaction {
+
+    /** ID value for a transaction without a server-assigned ID. */
+    public static final long NO_ID = 0L;
+
+    /** Timestamp value for a transaction without one. */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final CategoryDictionary CURRENCIES = new CategoryDictionary();
+    private static final CategoryDictionary TYPES = new CategoryDictionary();
+    private static final CategoryDictionary CHANNELS = new CategoryDictionary();
+    private static final CategoryDictionary STATUSES = new CategoryDictionary("SUCCESS", "FAILED", "PENDING");
+    private static final CategoryDictionary LOCATIONS = new CategoryDictionary();
+
+    private static final short FAILED = STATUSES.encode("FAILED");
+
+    // Fields of the overflow array, for values past a dictionary's capacity
+    private static final int CURRENCY = 0;
+    private static final int TYPE = 1;
+    private static final int CHANNEL = 2;
+    private static final int STATUS = 3;
+    private static final int LOCATION = 4;
+
+    private final long id;
+    private final String transactionId;
+    private final long timestampMillis;
+    private final double amount;
+    private final String senderAccount;
+    private final String receiverAccount;
+    private final String ipAddress;
+    private final long reasonCodes;
+    private final String fraudReason;   // legacy free text, see Transaction
+    private final double mlScore;       // NaN = no score
+    private final short currency;
+    private final short transactionType;
+    private final short channel;
+    private final short status;
+    private final short location;
+    private final boolean fraud;
+    private final String[] overflow;    // null unless a dictionary was full
+
+    public CompactTransaction(long id, String transactionId, LocalDateTime timestamp, String currency, double amount,
+                              String senderAccount, String receiverAccount, String transactionType,
+                              String channel, String status, String ipAddress, String location,
+                              boolean fraud, long reasonCodes, String fraudReason, Double mlScore) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.timestampMillis = toMillis(timestamp);
+        this.amount = amount;
+        this.senderAccount = senderAccount;
+        this.receiverAccount = receiverAccount;
+        this.ipAddress = ipAddress;
+        this.reasonCodes = reasonCodes;
+        this.fraudReason = fraudReason;
+        this.mlScore = mlScore != null ? mlScore : Double.NaN;
+        this.fraud = fraud;
+
+        String[] spill = null;
+        short code = CURRENCIES.encode(currency);
+        if (code == CategoryDictionary.OVERFLOW) {
+            spill = spill(spill, CURRENCY, currency);
+        }
+        this.currency = code;
+        code = TYPES.encode(transactionType);
+        if (code == CategoryDictionary.OVERFLOW) {
+            spill = spill(spill, TYPE, transactionType);
+        }
+        this.transactionType = code;
+        code = CHANNELS.encode(channel);
+        if (code == CategoryDictionary.OVERFLOW) {
+            spill = spill(spill, CHANNEL, channel);
+        }
+        this.channel = code;
+        code = STATUSES.encode(status);
+        if (code == CategoryDictionary.OVERFLOW) {
+            spill = spill(spill, STATUS, status);
+        }
+        this.status = code;
+        code = LOCATIONS.encode(location);
+        if (code == CategoryDictionary.OVERFLOW) {
+            spill = spill(spill, LOCATION, location);
+        }
+        this.location = code;
+        this.overflow = spill;
+    }
+
+    public static CompactTransaction of(Transaction t) {
+        return new CompactTransaction(t.getId() != null ? t.getId() : NO_ID, t.getTransactionId(), t.getTimestamp(), t.getCurrency(), t.getAmount(),
+                t.getSenderAccount(), t.getReceiverAccount(), t.getTransactionType(), t.getChannel(),
+                t.getStatus(), t.getIpAddress(), t.getLocation(),
+                t.getFraudFlag() != null && t.getFraudFlag() == 1, t.getReasonCodes(), t.getLegacyFraudReason(),
+                t.getMlScore());
+    }
+
+    public Transaction toTransaction() {
+        Transaction t = new Transaction();
+        t.setId(id != NO_ID ? id : null);
+        t.setTransactionId(transactionId);
+        t.setTimestamp(getTimestamp());
+        t.setCurrency(getCurrency());
+        t.setAmount(amount);
+        t.setSenderAccount(senderAccount);
+        t.setReceiverAccount(receiverAccount);
+        t.setTransactionType(getTransactionType());
+        t.setChannel(getChannel());
+        t.setStatus(getStatus());
+        t.setIpAddress(ipAddress);
+        t.setLocation(getLocation());
+        t.setFraudFlag(fraud ? 1 : 0);
+        t.setReasonCodes(reasonCodes);
+        t.setFraudReason(fraudReason);
+        t.setMlScore(getMlScore());
+        return t;
+    }
+
+    /** Local date-time as epoch millis at UTC, the form archive segments store. */
+    public static long toMillis(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIMESTAMP;
+    }
+
+    public static LocalDateTime fromMillis(long millis) {
+        return millis != NO_TIMESTAMP ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return fromMillis(timestampMillis);
+    }
+
+    public String getCurrency() {
+        return decode(CURRENCIES, currency, CURRENCY);
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getSenderAccount() {
+        return senderAccount;
+    }
+
+    public String getReceiverAccount() {
+        return receiverAccount;
+    }
+
+    public String getTransactionType() {
+        return decode(TYPES, transactionType, TYPE);
+    }
+
+    public String getChannel() {
+        return decode(CHANNELS, channel, CHANNEL);
+    }
+
+    public String getStatus() {
+        return decode(STATUSES, status, STATUS);
+    }
+
+    public boolean isFailed() {
+        return status == FAILED;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getLocation() {
+        return decode(LOCATIONS, location, LOCATION);
+    }
+
+    public boolean isFraud() {
+        return fraud;
+    }
+
+    public long getReasonCodes() {
+        return reasonCodes;
+    }
+
+    public String getLegacyFraudReason() {
+        return fraudReason;
+    }
+
+    public Double getMlScore() {
+        return Double.isNaN(mlScore) ? null : mlScore;
+    }
+
+    private String decode(CategoryDictionary dictionary, short code, int field) {
+        return code == CategoryDictionary.OVERFLOW ? overflow[field] : dictionary.decode(code);
+    }
+
+    private static String[] spill(String[] spill, int field, String value) {
+        String[] result = spill != null ? spill : new String[LOCATION + 1];
+        result[field] = value;
+        return result;
+    }
+}
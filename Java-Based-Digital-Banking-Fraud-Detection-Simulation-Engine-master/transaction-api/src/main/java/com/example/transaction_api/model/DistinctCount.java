@@ -0,0 +1,30 @@
+package com.example.transaction_api.model;
+
+public class DistinctCount {
+    private String key;
+    private long estimate;
+
+    public DistinctCount() {
+    }
+
+    public DistinctCount(String key, long estimate) {
+        this.key = key;
+        this.estimate = estimate;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getEstimate() {
+        return estimate;
+    }
+
+    public void setEstimate(long estimate) {
+        this.estimate = estimate;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.transaction_api.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A decision event waiting in TRANSACTION_OUTBOX. The event ID is the
+ * transaction's time-ordered ID; the payload is the JSON sent to sinks.
+ */
+public class OutboxEvent {
+
+    private long eventId;
+    private String transactionId;
+    private LocalDateTime createdAt;
+    private String payload;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(long eventId, String transactionId, LocalDateTime createdAt, String payload) {
+        this.eventId = eventId;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
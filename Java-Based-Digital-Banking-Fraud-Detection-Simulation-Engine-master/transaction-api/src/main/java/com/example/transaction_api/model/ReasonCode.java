@@ -0,0 +1,100 @@
+package com.example.transaction_api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decision reasons, stored per transaction as a bitmask in REASON_CODES.
+ *
+ * Bits are part of the stored format: never renumber a code, only add new
+ * ones with unused bits. The text is only rendered at the API edge.
+ */
+public enum ReasonCode {
+
+    ACCOUNT_BLOCKED(0, "Account blocked due to multiple failed transactions"),
+    INVALID_AMOUNT(1, "Invalid amount"),
+    SAME_ACCOUNT(2, "Sender and receiver same"),
+    HIGH_AMOUNT(3, "High amount"),
+    BLOCKLISTED_SENDER(4, "Blocklisted sender"),
+    BLOCKLISTED_RECEIVER(5, "Blocklisted receiver"),
+    SUSPICIOUS_IP(6, "Suspicious IP"),
+    SHARED_IP(7, "IP shared by many accounts"),
+    HIGH_VELOCITY(8, "High transaction velocity"),
+    AMOUNT_SPIKE(9, "Rapid amount spike"),
+    UNUSUAL_HOUR(10, "Unusual time of day for account"),
+    UNUSUAL_CHANNEL(11, "Unusual channel for account"),
+    UNUSUAL_CURRENCY(12, "Unusual currency for account"),
+    FAILED_ATTEMPTS(13, "Multiple failed attempts before success"),
+    MULE_FAN_IN(14, "Receiver has mule-like fan-in"),
+    HIGH_FAN_OUT(15, "Sender has high fan-out"),
+    SHORT_CYCLE(16, "Transaction closes a short cycle"),
+    IMPOSSIBLE_TRAVEL(17, "Impossible travel"),
+    ML_HIGH_RISK(18, "ML_HIGH_RISK");
+
+    private static final ReasonCode[] VALUES = values();
+
+    private final int bitIndex;
+    private final String description;
+
+    ReasonCode(int bitIndex, String description) {
+        this.bitIndex = bitIndex;
+        this.description = description;
+    }
+
+    public long bit() {
+        return 1L << bitIndex;
+    }
+
+    public int getBitIndex() {
+        return bitIndex;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isSet(long mask) {
+        return (mask & bit()) != 0;
+    }
+
+    public static List<ReasonCode> fromMask(long mask) {
+        List<ReasonCode> codes = new ArrayList<>();
+        for (ReasonCode code : VALUES) {
+            if (code.isSet(mask)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Human-readable text for a mask, e.g. "High amount. Suspicious IP. ";
+     * "NONE" when no reason is set.
+     */
+    public static String describe(long mask) {
+        if (mask == 0) {
+            return "NONE";
+        }
+        StringBuilder text = new StringBuilder();
+        for (ReasonCode code : VALUES) {
+            if (code.isSet(mask)) {
+                text.append(code.description).append(". ");
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses a code name, case-insensitively.
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static ReasonCode parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown reason code: " + name);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.transaction_api.model;
+
+public class ReasonCount {
+    private String reason;
+    private String description;
+    private long count;
+
+    public ReasonCount() {
+    }
+
+    public ReasonCount(String reason, String description, long count) {
+        this.reason = reason;
+        this.description = description;
+        this.count = count;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.transaction_api.model;
+
+public class RiskHitter {
+    private String dimension;
+    private String key;
+    private long flaggedCount;
+    private long maxError;
+
+    public RiskHitter() {
+    }
+
+    public RiskHitter(String dimension, String key, long flaggedCount, long maxError) {
+        this.dimension = dimension;
+        this.key = key;
+        this.flaggedCount = flaggedCount;
+        this.maxError = maxError;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    public void setFlaggedCount(long flaggedCount) {
+        this.flaggedCount = flaggedCount;
+    }
+
+    public long getMaxError() {
+        return maxError;
+    }
+
+    public void setMaxError(long maxError) {
+        this.maxError = maxError;
+    }
+}
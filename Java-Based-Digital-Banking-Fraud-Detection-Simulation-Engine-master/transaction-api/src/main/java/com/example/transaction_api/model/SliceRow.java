@@ -0,0 +1,73 @@
+package com.example.transaction_api.model;
+
+import java.util.Map;
+
+public class SliceRow {
+    private Map<String, String> group;
+    private long count;
+    private long fraudCount;
+    private double totalAmount;
+    private double fraudRate;
+    private double avgMlScore;
+
+    public SliceRow() {
+    }
+
+    public SliceRow(Map<String, String> group, long count, long fraudCount,
+                    double totalAmount, double fraudRate, double avgMlScore) {
+        this.group = group;
+        this.count = count;
+        this.fraudCount = fraudCount;
+        this.totalAmount = totalAmount;
+        this.fraudRate = fraudRate;
+        this.avgMlScore = avgMlScore;
+    }
+
+    public Map<String, String> getGroup() {
+        return group;
+    }
+
+    public void setGroup(Map<String, String> group) {
+        this.group = group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getFraudCount() {
+        return fraudCount;
+    }
+
+    public void setFraudCount(long fraudCount) {
+        this.fraudCount = fraudCount;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public double getFraudRate() {
+        return fraudRate;
+    }
+
+    public void setFraudRate(double fraudRate) {
+        this.fraudRate = fraudRate;
+    }
+
+    public double getAvgMlScore() {
+        return avgMlScore;
+    }
+
+    public void setAvgMlScore(double avgMlScore) {
+        this.avgMlScore = avgMlScore;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.transaction_api.model;
+
+import java.time.LocalDateTime;
+
+public class TablePartition {
+    private String name;
+    private int position;
+    private LocalDateTime highValue;
+    private boolean compressed;
+
+    public TablePartition() {
+    }
+
+    public TablePartition(String name, int position, LocalDateTime highValue, boolean compressed) {
+        this.name = name;
+        this.position = position;
+        this.highValue = highValue;
+        this.compressed = compressed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /** Exclusive upper bound of TIMESTAMP_VAL in this partition. */
+    public LocalDateTime getHighValue() {
+        return highValue;
+    }
+
+    public void setHighValue(LocalDateTime highValue) {
+        this.highValue = highValue;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+}
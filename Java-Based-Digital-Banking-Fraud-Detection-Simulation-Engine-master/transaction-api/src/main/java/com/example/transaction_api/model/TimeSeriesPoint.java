@@ -0,0 +1,90 @@
+package com.example.transaction_api.model;
+
+import java.time.LocalDateTime;
+
+public class TimeSeriesPoint {
+    private LocalDateTime timestamp;
+    private String channel;
+    private long transactions;
+    private long fraudCount;
+    private long failedCount;
+    private double fraudRate;
+    private double avgMlScore;
+    private double avgLatencyMs;
+    private double maxLatencyMs;
+
+    public TimeSeriesPoint() {
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public long getFraudCount() {
+        return fraudCount;
+    }
+
+    public void setFraudCount(long fraudCount) {
+        this.fraudCount = fraudCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public double getFraudRate() {
+        return fraudRate;
+    }
+
+    public void setFraudRate(double fraudRate) {
+        this.fraudRate = fraudRate;
+    }
+
+    public double getAvgMlScore() {
+        return avgMlScore;
+    }
+
+    public void setAvgMlScore(double avgMlScore) {
+        this.avgMlScore = avgMlScore;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public void setAvgLatencyMs(double avgLatencyMs) {
+        this.avgLatencyMs = avgLatencyMs;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public void setMaxLatencyMs(double maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+}
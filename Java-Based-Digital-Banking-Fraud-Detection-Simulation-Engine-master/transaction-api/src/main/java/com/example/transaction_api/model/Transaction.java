@@ -1,10 +1,25 @@
 package com.example.transaction_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
+/*
+ * The constraints mirror the NOT NULL columns and column widths of
+ * TRANSACTIONS. A transaction is acknowledged once it is journaled, before
+ * it reaches the table, so a row the database would reject must be
+ * refused with a 400 here rather than fail later in the replicator.
+ */
 public class Transaction {
 
+    // Server-assigned, time-ordered primary key (TransactionIdGenerator);
+    // transactionId is the client's external ID
+    private Long id;
+
+    @Size(max = 64)
     private String transactionId;
 
     // Accepts multiple formats:
@@ -15,17 +30,34 @@ public class Transaction {
     @JsonDeserialize(using = LocalDateTimeDeserializer.class)
     private LocalDateTime timestamp;
 
+    @NotBlank
+    @Size(max = 10)
     private String currency;
+
+    // NUMBER(18,2)
+    @DecimalMax("9999999999999999.99")
     private double amount;
 
+    @NotBlank
+    @Size(max = 50)
     private String senderAccount;
+
+    @NotBlank
+    @Size(max = 50)
     private String receiverAccount;
 
+    @Size(max = 20)
     private String transactionType;
+
+    @Size(max = 20)
     private String channel;
 
     private String status; // SUCCESS / FAILED / PENDING
+
+    @Size(max = 45)
     private String ipAddress;
+
+    @Size(max = 50)
     private String location;
 
     /*
@@ -36,6 +68,10 @@ public class Transaction {
      */
     private Integer fraudFlag;
 
+    // Decision reasons as a ReasonCode bitmask
+    private long reasonCodes;
+
+    // Free-text reason of rows decided before REASON_CODES existed
     private String fraudReason;
 
     // ML score (probability from model)
@@ -43,6 +79,14 @@ public class Transaction {
 
     /* ===================== GETTERS & SETTERS ===================== */
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getTransactionId() {
         return transactionId;
     }
@@ -139,7 +183,25 @@ public class Transaction {
         this.fraudFlag = fraudFlag;
     }
 
+    public long getReasonCodes() {
+        return reasonCodes;
+    }
+
+    public void setReasonCodes(long reasonCodes) {
+        this.reasonCodes = reasonCodes;
+    }
+
+    public void addReason(ReasonCode reason) {
+        this.reasonCodes |= reason.bit();
+    }
+
+    // Display text: the legacy free text for old rows, otherwise rendered from the codes
     public String getFraudReason() {
+        return fraudReason != null ? fraudReason : ReasonCode.describe(reasonCodes);
+    }
+
+    @JsonIgnore
+    public String getLegacyFraudReason() {
         return fraudReason;
     }
 
@@ -0,0 +1,89 @@
+package com.example.transaction_api.model;
+
+public class TransactionDecision {
+    private Long id;
+    private String status;
+    private int fraudFlag;
+    private long reasonCodes;
+    private String fraudReason;
+    private Double mlScore;
+
+    public TransactionDecision() {
+    }
+
+    public TransactionDecision(Long id, String status, int fraudFlag, long reasonCodes, String fraudReason,
+                               Double mlScore) {
+        this.id = id;
+        this.status = status;
+        this.fraudFlag = fraudFlag;
+        this.reasonCodes = reasonCodes;
+        this.fraudReason = fraudReason;
+        this.mlScore = mlScore;
+    }
+
+    public static TransactionDecision of(Transaction txn) {
+        return new TransactionDecision(txn.getId(),
+                txn.getStatus(),
+                txn.getFraudFlag() != null ? txn.getFraudFlag() : 0,
+                txn.getReasonCodes(),
+                txn.getLegacyFraudReason(),
+                txn.getMlScore());
+    }
+
+    public void applyTo(Transaction txn) {
+        txn.setId(id);
+        txn.setStatus(status);
+        txn.setFraudFlag(fraudFlag);
+        txn.setReasonCodes(reasonCodes);
+        txn.setFraudReason(fraudReason);
+        txn.setMlScore(mlScore);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getFraudFlag() {
+        return fraudFlag;
+    }
+
+    public void setFraudFlag(int fraudFlag) {
+        this.fraudFlag = fraudFlag;
+    }
+
+    public long getReasonCodes() {
+        return reasonCodes;
+    }
+
+    public void setReasonCodes(long reasonCodes) {
+        this.reasonCodes = reasonCodes;
+    }
+
+    public String getFraudReason() {
+        return fraudReason;
+    }
+
+    public void setFraudReason(String fraudReason) {
+        this.fraudReason = fraudReason;
+    }
+
+    public Double getMlScore() {
+        return mlScore;
+    }
+
+    public void setMlScore(Double mlScore) {
+        this.mlScore = mlScore;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.transaction_api.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Search over hot and archived transactions: [from, to) on the transaction
+ * timestamp, optionally narrowed to one account (as sender or receiver)
+ * to flagged transactions and to transactions carrying any of the reasons
+ * in reasonMask (a {@link ReasonCode} bitmask; 0 = any). Results are newest
+ * first.
+ */
+public class TransactionQuery {
+    private String account;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean fraudOnly;
+    private long reasonMask;
+    private int limit;
+
+    public TransactionQuery() {
+    }
+
+    public TransactionQuery(String account, LocalDateTime from, LocalDateTime to, boolean fraudOnly,
+                            long reasonMask, int limit) {
+        this.account = account;
+        this.from = from;
+        this.to = to;
+        this.fraudOnly = fraudOnly;
+        this.reasonMask = reasonMask;
+        this.limit = limit;
+    }
+
+    public TransactionQuery withRange(LocalDateTime from, LocalDateTime to, int limit) {
+        return new TransactionQuery(account, from, to, fraudOnly, reasonMask, limit);
+    }
+
+    public boolean matches(Transaction t) {
+        LocalDateTime timestamp = t.getTimestamp();
+        if (timestamp == null || timestamp.isBefore(from) || !timestamp.isBefore(to)) {
+            return false;
+        }
+        if (fraudOnly && (t.getFraudFlag() == null || t.getFraudFlag() != 1)) {
+            return false;
+        }
+        if (reasonMask != 0 && (t.getReasonCodes() & reasonMask) == 0) {
+            return false;
+        }
+        return account == null
+                || account.equals(t.getSenderAccount())
+                || account.equals(t.getReceiverAccount());
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public void setAccount(String account) {
+        this.account = account;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public boolean isFraudOnly() {
+        return fraudOnly;
+    }
+
+    public void setFraudOnly(boolean fraudOnly) {
+        this.fraudOnly = fraudOnly;
+    }
+
+    public long getReasonMask() {
+        return reasonMask;
+    }
+
+    public void setReasonMask(long reasonMask) {
+        this.reasonMask = reasonMask;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
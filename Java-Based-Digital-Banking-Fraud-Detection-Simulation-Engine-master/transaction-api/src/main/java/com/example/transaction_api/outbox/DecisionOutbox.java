@@ -0,0 +1,110 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+import com.example.transaction_api.model.ReasonCode;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.repository.OutboxRepository;
+import com.example.transaction_api.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes decided transactions to TRANSACTIONS together with their decision
+ * events in TRANSACTION_OUTBOX, in one database transaction, so an event
+ * exists exactly when its row does. {@link OutboxRelay} publishes the
+ * events. With outbox.enabled=false only the rows are written.
+ */
+@Component
+public class DecisionOutbox {
+
+    private final TransactionRepository transactionRepository;
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public DecisionOutbox(TransactionRepository transactionRepository,
+            OutboxRepository outboxRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${outbox.enabled:true}") boolean enabled) {
+        this.transactionRepository = transactionRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void insert(Transaction txn) {
+        if (!enabled) {
+            transactionRepository.insertTransaction(txn);
+            return;
+        }
+        List<OutboxEvent> events = toEvents(List.of(txn));
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.insertTransaction(txn);
+            outboxRepository.appendIfStored(events);
+        });
+    }
+
+    /**
+     * Batch insert that skips transactions already stored; their events
+     * are skipped too.
+     */
+    public void insertIfAbsent(List<Transaction> transactions) {
+        if (!enabled) {
+            transactionRepository.insertTransactionsIfAbsent(transactions);
+            return;
+        }
+        List<OutboxEvent> events = toEvents(transactions);
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.insertTransactionsIfAbsent(transactions);
+            outboxRepository.appendIfStored(events);
+        });
+    }
+
+    private List<OutboxEvent> toEvents(List<Transaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            events.add(new OutboxEvent(t.getId(), t.getTransactionId(), now, payload(t)));
+        }
+        return events;
+    }
+
+    private String payload(Transaction t) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventId", t.getId());
+        event.put("transactionId", t.getTransactionId());
+        event.put("timestamp", t.getTimestamp());
+        event.put("senderAccount", t.getSenderAccount());
+        event.put("receiverAccount", t.getReceiverAccount());
+        event.put("amount", t.getAmount());
+        event.put("currency", t.getCurrency());
+        event.put("transactionType", t.getTransactionType());
+        event.put("channel", t.getChannel());
+        event.put("status", t.getStatus());
+        event.put("fraudFlag", t.getFraudFlag());
+        event.put("reasonCodes", t.getReasonCodes());
+        event.put("reasons", ReasonCode.fromMask(t.getReasonCodes()));
+        event.put("mlScore", t.getMlScore());
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode decision event for " + t.getTransactionId(), e);
+        }
+    }
+}
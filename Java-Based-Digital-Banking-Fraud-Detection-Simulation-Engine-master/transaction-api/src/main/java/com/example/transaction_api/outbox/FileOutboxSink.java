@@ -0,0 +1,60 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local file, one JSON payload per line. Each batch is
+ * a single write, forced to disk when fsync is on. A crash between the
+ * write and the outbox delete repeats the batch, so lines may repeat.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    public FileOutboxSink(Path file, boolean fsync) {
+        this.file = file;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        if (channel == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(OutboxLines.encode(events));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "file " + file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
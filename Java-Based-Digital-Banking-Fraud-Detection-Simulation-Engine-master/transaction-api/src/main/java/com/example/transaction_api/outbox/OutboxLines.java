@@ -0,0 +1,26 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON framing shared by the file and socket sinks.
+ */
+final class OutboxLines {
+
+    private OutboxLines() {
+    }
+
+    static byte[] encode(List<OutboxEvent> events) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events.size() * 256);
+        for (OutboxEvent event : events) {
+            // Payloads are single-line JSON from Jackson
+            out.writeBytes(event.getPayload().getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
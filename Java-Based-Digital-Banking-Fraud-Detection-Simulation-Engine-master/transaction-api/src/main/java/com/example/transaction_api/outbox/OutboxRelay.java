@@ -0,0 +1,107 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.config.SchedulingConfig;
+import com.example.transaction_api.model.OutboxEvent;
+import com.example.transaction_api.repository.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes TRANSACTION_OUTBOX events to the configured {@link OutboxSink}
+ * in batches, oldest event ID first, and deletes each batch only after the
+ * sink accepted it (at-least-once). On failure the same events are retried
+ * with exponential backoff, so a broken sink holds back everything behind
+ * it rather than reordering.
+ *
+ * Run the relay on one instance (outbox.relay-enabled): two relays would
+ * publish the same events. Event IDs from concurrent writers can commit
+ * slightly out of ID order, so such a straggler may follow a later ID.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final OutboxRepository repository;
+    private final OutboxSink sink;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    // Only touched by the relay's scheduled run
+    private long backoffMillis;
+    private long nextAttemptAt;
+
+    private volatile long publishedEvents;
+    private volatile long lastEventId;
+    private volatile long failures;
+    private volatile String lastError;
+
+    public OutboxRelay(OutboxRepository repository,
+            OutboxSink sink,
+            DecisionOutbox outbox,
+            @Value("${outbox.relay-enabled:true}") boolean relayEnabled,
+            @Value("${outbox.relay-batch-size:500}") int batchSize,
+            @Value("${outbox.relay-max-batches:20}") int maxBatchesPerRun) {
+        this.repository = repository;
+        this.sink = sink;
+        this.enabled = outbox.isEnabled() && relayEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:200}",
+            scheduler = SchedulingConfig.PIPELINE_SCHEDULER)
+    public void relay() {
+        if (!enabled || System.currentTimeMillis() < nextAttemptAt) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                List<OutboxEvent> events = repository.findPending(batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                sink.publish(events);
+                repository.delete(events);
+                publishedEvents += events.size();
+                lastEventId = events.get(events.size() - 1).getEventId();
+                if (events.size() < batchSize) {
+                    break;
+                }
+            }
+            if (backoffMillis > 0) {
+                logger.info("Outbox relay to {} resumed", sink.describe());
+            }
+            backoffMillis = 0;
+        } catch (Exception e) {
+            failures++;
+            lastError = e.getMessage();
+            backoffMillis = backoffMillis == 0 ? 500 : Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+            nextAttemptAt = System.currentTimeMillis() + backoffMillis;
+            logger.warn("Outbox relay to {} failed ({}); retrying in {} ms",
+                    sink.describe(), e.getMessage(), backoffMillis);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("sink", sink.describe());
+        stats.put("pendingEvents", repository.countPending());
+        stats.put("publishedEvents", publishedEvents);
+        stats.put("lastEventId", lastEventId);
+        stats.put("failures", failures);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for relayed decision events, chosen with outbox.sink.
+ *
+ * publish() gets batches in event-ID order and must not return until the
+ * batch is accepted (written, flushed, acknowledged). If it throws, the
+ * relay keeps the events and sends the same batch again later, so
+ * consumers may see an event more than once and should dedupe on eventId.
+ */
+public interface OutboxSink extends AutoCloseable {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+
+    /** Short description for logs and stats. */
+    String describe();
+
+    @Override
+    default void close() throws IOException {
+    }
+}
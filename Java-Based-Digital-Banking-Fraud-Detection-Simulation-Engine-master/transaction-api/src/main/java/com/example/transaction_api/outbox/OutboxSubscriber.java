@@ -0,0 +1,15 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * In-process consumer of decision events, used when outbox.sink is
+ * SUBSCRIBER. Runs on the relay thread; throwing makes the relay deliver
+ * the same batch again later.
+ */
+public interface OutboxSubscriber {
+
+    void onEvents(List<OutboxEvent> events);
+}
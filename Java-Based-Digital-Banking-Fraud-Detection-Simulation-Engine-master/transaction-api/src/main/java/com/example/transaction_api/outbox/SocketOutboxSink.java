@@ -0,0 +1,95 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams events over a TCP connection as newline-delimited JSON.
+ *
+ * With awaitAck the consumer must answer each batch with one line holding
+ * the eventId of the batch's last event; only then is the batch treated as
+ * delivered. Without it a batch counts as delivered once it is flushed to
+ * the socket, and events in flight when the connection drops are lost.
+ * Any I/O error closes the connection; the next publish reconnects.
+ */
+public class SocketOutboxSink implements OutboxSink {
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final boolean awaitAck;
+
+    private Socket socket;
+    private OutputStream out;
+    private BufferedReader in;
+
+    public SocketOutboxSink(String host, int port, int timeoutMillis, boolean awaitAck) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.awaitAck = awaitAck;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        try {
+            if (socket == null) {
+                connect();
+            }
+            out.write(OutboxLines.encode(events));
+            out.flush();
+            if (awaitAck) {
+                String expected = Long.toString(events.get(events.size() - 1).getEventId());
+                String ack = in.readLine();
+                if (ack == null || !expected.equals(ack.trim())) {
+                    throw new IOException("Expected ack " + expected + " from " + host + ":" + port + ", got " + ack);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "socket " + host + ":" + port;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already broken
+            }
+            socket = null;
+            out = null;
+            in = null;
+        }
+    }
+
+    private void connect() throws IOException {
+        Socket s = new Socket();
+        try {
+            s.connect(new InetSocketAddress(host, port), timeoutMillis);
+            s.setSoTimeout(timeoutMillis);
+            s.setTcpNoDelay(true);
+            out = s.getOutputStream();
+            in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+            socket = s;
+        } catch (IOException e) {
+            s.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.transaction_api.outbox;
+
+import com.example.transaction_api.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Hands events to the {@link OutboxSubscriber} beans in the application.
+ * A subscriber that throws stops the batch; every subscriber gets it again
+ * on the retry, including those that already handled it.
+ */
+public class SubscriberOutboxSink implements OutboxSink {
+
+    private final List<OutboxSubscriber> subscribers;
+
+    public SubscriberOutboxSink(List<OutboxSubscriber> subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxSubscriber subscriber : subscribers) {
+            subscriber.onEvents(events);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return subscribers.size() + " in-process subscriber(s)";
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.transaction_api.profile;
+
+import com.example.transaction_api.sketch.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-sender behavioural profile used for the amount-spike and
+ * unusual-time/channel/currency rules. Profiles live in memory and are
+ * updated in O(1) per transaction, so the checks need no database reads.
+ */
+@Component
+public class BehaviourProfileService {
+
+    private final ProfileStore store;
+    private final CategoryCodes channels = new CategoryCodes();
+    private final CategoryCodes currencies = new CategoryCodes();
+
+    public BehaviourProfileService(@Value("${profile.max-accounts:1000000}") int maxAccounts,
+            @Value("${profile.ewma-alpha:0.1}") double alpha,
+            @Value("${profile.min-history:5}") int minHistory,
+            @Value("${profile.spike-z-score:3.0}") double spikeZScore,
+            @Value("${profile.min-hour-share:0.05}") double minHourShare,
+            @Value("${profile.min-votes:5}") int minVotes) {
+        this.store = new ProfileStore(maxAccounts, 64, alpha, minHistory, spikeZScore, minHourShare, minVotes);
+    }
+
+    /**
+     * Scores the transaction against the sender's profile, then folds it in.
+     */
+    public ProfileSignal observe(String account, double amount, String channel,
+                                 String currency, LocalDateTime timestamp) {
+        if (account == null) {
+            return ProfileSignal.NONE;
+        }
+        int hour = (timestamp != null ? timestamp : LocalDateTime.now()).getHour();
+        return store.observe(Hashing.hash64(account), amount, hour,
+                channels.encode(channel), currencies.encode(currency));
+    }
+
+    public int getTrackedAccounts() {
+        return store.size();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.transaction_api.profile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns low-cardinality values (channel, currency) as small positive
+ * codes so a profile can hold them in a byte. Code 0 means "no value";
+ * after {@link #MAX_CODES} distinct values everything else shares the last code.
+ */
+class CategoryCodes {
+
+    static final int MAX_CODES = 127;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    int encode(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code == null) {
+                code = Math.min(codes.size() + 1, MAX_CODES);
+                codes.put(value, code);
+            }
+            return code;
+        }
+    }
+}
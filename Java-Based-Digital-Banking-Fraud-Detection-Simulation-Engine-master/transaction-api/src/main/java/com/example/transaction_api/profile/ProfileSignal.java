@@ -0,0 +1,67 @@
+package com.example.transaction_api.profile;
+
+/**
+ * How a transaction compares with its sender's behavioural profile,
+ * as it was before the transaction was folded in.
+ */
+public class ProfileSignal {
+
+    public static final ProfileSignal NONE = new ProfileSignal(0, 0, 1.0, false, false, false, false, false);
+
+    private final int history;
+    private final double amountZScore;
+    private final double hourShare;
+    private final boolean amountSpike;
+    private final boolean unusualHour;
+    private final boolean unusualChannel;
+    private final boolean unusualCurrency;
+    private final boolean established;
+
+    ProfileSignal(int history, double amountZScore, double hourShare, boolean amountSpike,
+                  boolean unusualHour, boolean unusualChannel, boolean unusualCurrency, boolean established) {
+        this.history = history;
+        this.amountZScore = amountZScore;
+        this.hourShare = hourShare;
+        this.amountSpike = amountSpike;
+        this.unusualHour = unusualHour;
+        this.unusualChannel = unusualChannel;
+        this.unusualCurrency = unusualCurrency;
+        this.established = established;
+    }
+
+    /** Number of earlier transactions in the profile. */
+    public int getHistory() {
+        return history;
+    }
+
+    /** Standard deviations between this amount and the account's EWMA (log scale). */
+    public double getAmountZScore() {
+        return amountZScore;
+    }
+
+    /** Share of the account's past activity within an hour of this time of day. */
+    public double getHourShare() {
+        return hourShare;
+    }
+
+    public boolean isAmountSpike() {
+        return amountSpike;
+    }
+
+    public boolean isUnusualHour() {
+        return unusualHour;
+    }
+
+    public boolean isUnusualChannel() {
+        return unusualChannel;
+    }
+
+    public boolean isUnusualCurrency() {
+        return unusualCurrency;
+    }
+
+    /** True once the profile has enough history for the signals to fire. */
+    public boolean isEstablished() {
+        return established;
+    }
+}
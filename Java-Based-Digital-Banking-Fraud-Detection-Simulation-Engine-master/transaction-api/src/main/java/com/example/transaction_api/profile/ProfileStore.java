@@ -0,0 +1,305 @@
+package com.example.transaction_api.profile;
+
+import java.util.Arrays;
+
+/**
+ * Bounded LRU store of per-account behavioural profiles in primitive arrays.
+ *
+ * Per account (~70 bytes):
+ * - EWMA mean and variance of log(1 + amount)
+ * - 24 saturating hour-of-day counters, halved when one fills up so old
+ *   habits fade
+ * - usual channel and currency, tracked as a majority vote (candidate code
+ *   plus vote counter)
+ *
+ * Scoring and updating happen in one O(1) step under the segment lock; the
+ * signal always describes the profile as it was before the transaction.
+ */
+class ProfileStore {
+
+    private static final int HOURS = 24;
+    private static final int MAX_VOTES = 127;
+
+    // Constant amounts give ~0 variance; don't let that turn every change into a spike
+    private static final double MIN_STD = 0.1;
+
+    private final Segment[] segments;
+    private final float alpha;
+    private final int minHistory;
+    private final double spikeZScore;
+    private final double minHourShare;
+    private final int minVotes;
+
+    ProfileStore(int maxAccounts, int segmentCount, double alpha, int minHistory,
+                 double spikeZScore, double minHourShare, int minVotes) {
+        this.alpha = (float) alpha;
+        this.minHistory = minHistory;
+        this.spikeZScore = spikeZScore;
+        this.minHourShare = minHourShare;
+        this.minVotes = minVotes;
+        this.segments = new Segment[segmentCount];
+        int perSegment = Math.max(16, (maxAccounts + segmentCount - 1) / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    ProfileSignal observe(long key, double amount, int hour, int channel, int currency) {
+        Segment segment = segments[(int) ((key >>> 32) & 0x7fffffff) % segments.length];
+        synchronized (segment) {
+            int entry = segment.acquire(key);
+            ProfileSignal signal = score(segment, entry, amount, hour, channel, currency);
+            update(segment, entry, amount, hour, channel, currency);
+            return signal;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private ProfileSignal score(Segment s, int entry, double amount, int hour, int channel, int currency) {
+        int history = s.count[entry];
+        if (history == 0) {
+            return ProfileSignal.NONE;
+        }
+
+        double x = Math.log1p(Math.max(0.0, amount));
+        double std = Math.max(MIN_STD, Math.sqrt(s.variance[entry]));
+        double z = (x - s.mean[entry]) / std;
+
+        int base = entry * HOURS;
+        int total = 0;
+        for (int h = 0; h < HOURS; h++) {
+            total += s.hours[base + h] & 0xFF;
+        }
+        int near = (s.hours[base + hour] & 0xFF)
+                + (s.hours[base + (hour + 1) % HOURS] & 0xFF)
+                + (s.hours[base + (hour + HOURS - 1) % HOURS] & 0xFF);
+        double hourShare = total > 0 ? (double) near / total : 1.0;
+
+        boolean established = history >= minHistory;
+        boolean unusualChannel = channel != 0 && s.channelVotes[entry] >= minVotes
+                && s.channel[entry] != channel;
+        boolean unusualCurrency = currency != 0 && s.currencyVotes[entry] >= minVotes
+                && s.currency[entry] != currency;
+
+        return new ProfileSignal(history, z, hourShare,
+                established && z >= spikeZScore,
+                established && hourShare < minHourShare,
+                established && unusualChannel,
+                established && unusualCurrency,
+                established);
+    }
+
+    private void update(Segment s, int entry, double amount, int hour, int channel, int currency) {
+        float x = (float) Math.log1p(Math.max(0.0, amount));
+        if (s.count[entry] == 0) {
+            s.mean[entry] = x;
+            s.variance[entry] = 0f;
+        } else {
+            // West's incremental EWMA mean/variance
+            float diff = x - s.mean[entry];
+            float increment = alpha * diff;
+            s.mean[entry] += increment;
+            s.variance[entry] = (1f - alpha) * (s.variance[entry] + diff * increment);
+        }
+        if (s.count[entry] < Integer.MAX_VALUE) {
+            s.count[entry]++;
+        }
+
+        int base = entry * HOURS;
+        if ((s.hours[base + hour] & 0xFF) == 0xFF) {
+            for (int h = 0; h < HOURS; h++) {
+                s.hours[base + h] = (byte) ((s.hours[base + h] & 0xFF) >>> 1);
+            }
+        }
+        s.hours[base + hour]++;
+
+        if (channel != 0) {
+            vote(s.channel, s.channelVotes, entry, channel);
+        }
+        if (currency != 0) {
+            vote(s.currency, s.currencyVotes, entry, currency);
+        }
+    }
+
+    // Boyer-Moore majority vote: the candidate survives while it wins most transactions
+    private static void vote(byte[] candidate, byte[] votes, int entry, int code) {
+        if (candidate[entry] == code) {
+            if (votes[entry] < MAX_VOTES) {
+                votes[entry]++;
+            }
+        } else if (votes[entry] == 0) {
+            candidate[entry] = (byte) code;
+            votes[entry] = 1;
+        } else {
+            votes[entry]--;
+        }
+    }
+
+    private static final class Segment {
+
+        private static final int NONE = -1;
+
+        final long[] keys;
+        final float[] mean;
+        final float[] variance;
+        final int[] count;
+        final byte[] hours;
+        final byte[] channel;
+        final byte[] channelVotes;
+        final byte[] currency;
+        final byte[] currencyVotes;
+        final int[] prev;
+        final int[] next;
+        final int[] index;      // slot -> entry id + 1, 0 = empty
+        final int indexMask;
+        int head = NONE;        // most recently used
+        int tail = NONE;        // least recently used
+        int size;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            mean = new float[capacity];
+            variance = new float[capacity];
+            count = new int[capacity];
+            hours = new byte[capacity * HOURS];
+            channel = new byte[capacity];
+            channelVotes = new byte[capacity];
+            currency = new byte[capacity];
+            currencyVotes = new byte[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            index = new int[slots];
+            indexMask = slots - 1;
+        }
+
+        /**
+         * Returns the entry for the key, creating an empty profile (and
+         * evicting the least recently used one) if needed.
+         */
+        int acquire(long key) {
+            int slot = find(key);
+            if (slot >= 0) {
+                int entry = index[slot] - 1;
+                moveToHead(entry);
+                return entry;
+            }
+
+            int entry;
+            if (size < keys.length) {
+                entry = size++;
+            } else {
+                entry = tail; // evict least recently used
+                unlink(entry);
+                removeFromIndex(keys[entry]);
+            }
+            keys[entry] = key;
+            reset(entry);
+            linkAtHead(entry);
+            insertIntoIndex(key, entry);
+            return entry;
+        }
+
+        private void reset(int entry) {
+            mean[entry] = 0f;
+            variance[entry] = 0f;
+            count[entry] = 0;
+            Arrays.fill(hours, entry * HOURS, (entry + 1) * HOURS, (byte) 0);
+            channel[entry] = 0;
+            channelVotes[entry] = 0;
+            currency[entry] = 0;
+            currencyVotes[entry] = 0;
+        }
+
+        private int find(long key) {
+            int slot = (int) mix(key) & indexMask;
+            while (index[slot] != 0) {
+                if (keys[index[slot] - 1] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & indexMask;
+            }
+            return -1;
+        }
+
+        private void insertIntoIndex(long key, int entry) {
+            int slot = (int) mix(key) & indexMask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & indexMask;
+            }
+            index[slot] = entry + 1;
+        }
+
+        // Linear-probing delete with backward shift, so no tombstones are needed
+        private void removeFromIndex(long key) {
+            int hole = find(key);
+            if (hole < 0) {
+                return;
+            }
+            index[hole] = 0;
+            int slot = (hole + 1) & indexMask;
+            while (index[slot] != 0) {
+                int home = (int) mix(keys[index[slot] - 1]) & indexMask;
+                boolean movable = hole <= slot
+                        ? home <= hole || home > slot
+                        : home <= hole && home > slot;
+                if (movable) {
+                    index[hole] = index[slot];
+                    index[slot] = 0;
+                    hole = slot;
+                }
+                slot = (slot + 1) & indexMask;
+            }
+        }
+
+        private void moveToHead(int entry) {
+            if (head != entry) {
+                unlink(entry);
+                linkAtHead(entry);
+            }
+        }
+
+        private void linkAtHead(int entry) {
+            prev[entry] = NONE;
+            next[entry] = head;
+            if (head != NONE) {
+                prev[head] = entry;
+            }
+            head = entry;
+            if (tail == NONE) {
+                tail = entry;
+            }
+        }
+
+        private void unlink(int entry) {
+            int p = prev[entry];
+            int n = next[entry];
+            if (p != NONE) {
+                next[p] = n;
+            } else {
+                head = n;
+            }
+            if (n != NONE) {
+                prev[n] = p;
+            } else {
+                tail = p;
+            }
+        }
+
+        private static long mix(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return key;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.transaction_api.repository;
+
+import com.example.transaction_api.model.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * TRANSACTION_OUTBOX (see create_transaction_outbox_table.sql): decision
+ * events written in the same database transaction as their TRANSACTIONS
+ * rows and deleted once a sink has accepted them.
+ */
+@Repository
+public class OutboxRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public OutboxRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Adds an event for each transaction row that exists and has no event
+     * yet. Must run in the transaction that inserted the rows: a row skipped
+     * by the insert (already stored by another instance) gets no event, and
+     * replaying a batch does not queue its events twice.
+     */
+    public void appendIfStored(List<OutboxEvent> events) {
+        String sql = """
+        MERGE INTO TRANSACTION_OUTBOX o
+        USING (SELECT ID, TRANSACTION_ID FROM TRANSACTIONS WHERE ID = ?) s
+        ON (o.EVENT_ID = s.ID)
+        WHEN NOT MATCHED THEN INSERT
+        (EVENT_ID, TRANSACTION_ID, CREATED_AT, PAYLOAD)
+        VALUES (s.ID, s.TRANSACTION_ID, ?, ?)
+        """;
+
+        jdbc.batchUpdate(sql, events, events.size(), (ps, e) -> {
+            ps.setLong(1, e.getEventId());
+            ps.setTimestamp(2, Timestamp.valueOf(e.getCreatedAt()));
+            ps.setString(3, e.getPayload());
+        });
+    }
+
+    // Oldest pending events, walked in primary-key order
+    public List<OutboxEvent> findPending(int limit) {
+        String sql = """
+        SELECT EVENT_ID, TRANSACTION_ID, CREATED_AT, PAYLOAD
+        FROM TRANSACTION_OUTBOX
+        ORDER BY EVENT_ID
+        FETCH FIRST ? ROWS ONLY
+        """;
+
+        return jdbc.query(sql, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("EVENT_ID"),
+                rs.getString("TRANSACTION_ID"),
+                rs.getTimestamp("CREATED_AT").toLocalDateTime(),
+                rs.getString("PAYLOAD")), limit);
+    }
+
+    public void delete(List<OutboxEvent> events) {
+        jdbc.batchUpdate("DELETE FROM TRANSACTION_OUTBOX WHERE EVENT_ID = ?", events, events.size(),
+                (ps, e) -> ps.setLong(1, e.getEventId()));
+    }
+
+    public long countPending() {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM TRANSACTION_OUTBOX", Long.class);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.transaction_api.repository;
+
+import com.example.transaction_api.model.TablePartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition metadata and maintenance DDL for the range-partitioned
+ * TRANSACTIONS table (see create_transactions_table.sql).
+ */
+@Repository
+public class PartitionRepository {
+
+    public static final String TABLE = "TRANSACTIONS";
+
+    // HIGH_VALUE is stored as text, e.g. TIMESTAMP' 2024-03-02 00:00:00'
+    private static final Pattern HIGH_VALUE = Pattern.compile("(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})");
+    private static final DateTimeFormatter HIGH_VALUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Names come from the data dictionary, but are concatenated into DDL
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Z][A-Z0-9_$#]{0,127}");
+
+    private final JdbcTemplate jdbc;
+
+    public PartitionRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public boolean isPartitioned() {
+        String sql = "SELECT COUNT(*) FROM USER_PART_TABLES WHERE TABLE_NAME = ?";
+        Integer count = jdbc.queryForObject(sql, Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    public List<TablePartition> findPartitions() {
+        String sql = """
+            SELECT PARTITION_NAME, PARTITION_POSITION, HIGH_VALUE, COMPRESSION
+            FROM USER_TAB_PARTITIONS
+            WHERE TABLE_NAME = ?
+            ORDER BY PARTITION_POSITION
+        """;
+
+        return jdbc.query(sql, (rs, rowNum) -> {
+            String name = rs.getString("PARTITION_NAME");
+            int position = rs.getInt("PARTITION_POSITION");
+            String highValue = rs.getString("HIGH_VALUE");
+            String compression = rs.getString("COMPRESSION");
+            return new TablePartition(name, position, parseHighValue(highValue), "ENABLED".equals(compression));
+        }, TABLE);
+    }
+
+    /**
+     * Rebuilds the partition with basic table compression; the partition
+     * stays readable and writable while it is moved.
+     */
+    public void compressPartition(String partition) {
+        jdbc.execute("ALTER TABLE " + TABLE + " MOVE PARTITION " + identifier(partition)
+                + " ROW STORE COMPRESS BASIC UPDATE INDEXES ONLINE");
+    }
+
+    /**
+     * Detaches the partition into its own table (kept for auditing or
+     * export) and removes it from TRANSACTIONS.
+     */
+    public void archivePartition(String partition, String archiveTable) {
+        String target = identifier(archiveTable);
+        jdbc.execute("CREATE TABLE " + target + " FOR EXCHANGE WITH TABLE " + TABLE);
+        jdbc.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + identifier(partition)
+                + " WITH TABLE " + target + " UPDATE GLOBAL INDEXES");
+        dropPartition(partition);
+    }
+
+    public boolean isEmpty(String partition) {
+        String sql = "SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + identifier(partition) + ") WHERE ROWNUM = 1";
+        Integer count = jdbc.queryForObject(sql, Integer.class);
+        return count == null || count == 0;
+    }
+
+    public void dropPartition(String partition) {
+        jdbc.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + identifier(partition)
+                + " UPDATE GLOBAL INDEXES");
+    }
+
+    private static String identifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + name);
+        }
+        return name;
+    }
+
+    private static LocalDateTime parseHighValue(String highValue) {
+        if (highValue == null) {
+            return null;
+        }
+        Matcher matcher = HIGH_VALUE.matcher(highValue);
+        return matcher.find() ? LocalDateTime.parse(matcher.group(1), HIGH_VALUE_FORMAT) : null; // MAXVALUE
+    }
+}
@@ -1,37 +1,68 @@
 package com.example.transaction_api.repository;
 
 import com.example.transaction_api.model.ChannelWiseFraud;
+import com.example.transaction_api.model.CompactTransaction;
 import com.example.transaction_api.model.FraudTrend;
 import com.example.transaction_api.model.LocationWiseFraud;
 import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionDecision;
+import com.example.transaction_api.model.TransactionQuery;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Repository
 public class TransactionRepository {
 
+    private static final TransactionRowMapper TRANSACTION_ROWS = new TransactionRowMapper();
+    private static final ResultSetExtractor<List<CompactTransaction>> COMPACT_ROWS = TRANSACTION_ROWS::extractCompact;
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbc;
+    private final JdbcTemplate analytics;
+    private final int queryWindowDays;
 
-    public TransactionRepository(JdbcTemplate jdbc) {
+    public TransactionRepository(JdbcTemplate jdbc,
+            @Qualifier("analyticsJdbcTemplate") JdbcTemplate analytics,
+            @Value("${transactions.query-window-days:90}") int queryWindowDays) {
         this.jdbc = jdbc;
+        this.analytics = analytics;
+        this.queryWindowDays = queryWindowDays;
     }
 
+    /*
+     * TRANSACTIONS is range-partitioned on TIMESTAMP_VAL. Every query below
+     * bounds TIMESTAMP_VAL with a bind value so Oracle only visits the
+     * partitions in range, and never wraps the column in a function.
+     *
+     * Writes and the lookups made while scoring a transaction use the ingest
+     * pool (jdbc); listings, dashboard aggregates and search use the
+     * analytics pool, which may point at a replica that lags slightly.
+     */
+
     // INSERT
     public void insertTransaction(Transaction t) {
 
         String sql = """
         INSERT INTO TRANSACTIONS
-        (TRANSACTION_ID, TIMESTAMP_VAL, CURRENCY, AMOUNT, SENDER_ACCOUNT,
+        (ID, TRANSACTION_ID, TIMESTAMP_VAL, CURRENCY, AMOUNT, SENDER_ACCOUNT,
          RECEIVER_ACCOUNT, TRANSACTION_TYPE, CHANNEL, STATUS,
-         IP_ADDRESS, LOCATION, FRAUD_FLAG, FRAUD_REASON, ML_SCORE)
-        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+         IP_ADDRESS, LOCATION, FRAUD_FLAG, REASON_CODES, FRAUD_REASON, ML_SCORE)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
         // Convert LocalDateTime to Timestamp for Oracle
@@ -43,6 +74,7 @@ public class TransactionRepository {
         }
 
         jdbc.update(sql,
+                t.getId(),
                 t.getTransactionId(),
                 timestamp,
                 t.getCurrency(),
@@ -55,54 +87,85 @@ public class TransactionRepository {
                 t.getIpAddress(),
                 t.getLocation(),
                 t.getFraudFlag() != null ? t.getFraudFlag() : 0,
-                t.getFraudReason(),
+                t.getReasonCodes(),
+                t.getLegacyFraudReason(),
                 t.getMlScore() != null ? t.getMlScore() : 0.0
         );
     }
 
 
-    // GET ALL
-    public List<Transaction> findAll() {
-        String sql = "SELECT * FROM TRANSACTIONS";
+    // Batch insert that skips rows already present, so journal replay after a crash is safe
+    public void insertTransactionsIfAbsent(List<Transaction> transactions) {
+
+        String sql = """
+        MERGE INTO TRANSACTIONS t
+        USING (SELECT ? AS TRANSACTION_ID FROM DUAL) s
+        ON (t.TRANSACTION_ID = s.TRANSACTION_ID)
+        WHEN NOT MATCHED THEN INSERT
+        (ID, TRANSACTION_ID, TIMESTAMP_VAL, CURRENCY, AMOUNT, SENDER_ACCOUNT,
+         RECEIVER_ACCOUNT, TRANSACTION_TYPE, CHANNEL, STATUS,
+         IP_ADDRESS, LOCATION, FRAUD_FLAG, REASON_CODES, FRAUD_REASON, ML_SCORE)
+        VALUES (?, s.TRANSACTION_ID, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        jdbc.batchUpdate(sql, transactions, transactions.size(), (ps, t) -> {
+            ps.setString(1, t.getTransactionId());
+            ps.setObject(2, t.getId());
+            ps.setTimestamp(3, t.getTimestamp() != null
+                    ? Timestamp.valueOf(t.getTimestamp())
+                    : new Timestamp(System.currentTimeMillis()));
+            ps.setString(4, t.getCurrency());
+            ps.setDouble(5, t.getAmount());
+            ps.setString(6, t.getSenderAccount());
+            ps.setString(7, t.getReceiverAccount());
+            ps.setString(8, t.getTransactionType());
+            ps.setString(9, t.getChannel());
+            ps.setString(10, t.getStatus());
+            ps.setString(11, t.getIpAddress());
+            ps.setString(12, t.getLocation());
+            ps.setInt(13, t.getFraudFlag() != null ? t.getFraudFlag() : 0);
+            ps.setLong(14, t.getReasonCodes());
+            ps.setString(15, t.getLegacyFraudReason());
+            ps.setDouble(16, t.getMlScore() != null ? t.getMlScore() : 0.0);
+        });
+    }
 
-        return jdbc.query(sql, transactionRowMapper());
+    // True when the generated ID clashed with a stored row, rather than the TRANSACTION_ID
+    public static boolean isPrimaryKeyViolation(DuplicateKeyException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("PK_TRANSACTIONS");
     }
 
-    private RowMapper<Transaction> transactionRowMapper() {
-        return (rs, rowNum) -> {
-            Transaction t = new Transaction();
-            t.setTransactionId(rs.getString("TRANSACTION_ID"));
+    // Decision already stored for a transaction ID (unique-key lookup on TRANSACTION_ID), or null
+    public TransactionDecision findDecision(String transactionId) {
+        String sql = """
+        SELECT ID, STATUS, FRAUD_FLAG, REASON_CODES, FRAUD_REASON, ML_SCORE
+        FROM TRANSACTIONS
+        WHERE TRANSACTION_ID = ?
+        """;
 
-            // Convert Oracle TIMESTAMP to LocalDateTime
-            Timestamp timestamp = rs.getTimestamp("TIMESTAMP_VAL");
-            if (timestamp != null) {
-                t.setTimestamp(timestamp.toLocalDateTime());
+        List<TransactionDecision> rows = jdbc.query(sql, (rs, rowNum) -> {
+            TransactionDecision decision = new TransactionDecision(
+                    rs.getLong("ID"),
+                    rs.getString("STATUS"),
+                    rs.getInt("FRAUD_FLAG"),
+                    rs.getLong("REASON_CODES"),
+                    rs.getString("FRAUD_REASON"),
+                    null);
+            double mlScore = rs.getDouble("ML_SCORE");
+            if (!rs.wasNull()) {
+                decision.setMlScore(mlScore);
             }
+            return decision;
+        }, transactionId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
 
-            t.setCurrency(rs.getString("CURRENCY"));
-            t.setAmount(rs.getDouble("AMOUNT"));
-            t.setSenderAccount(rs.getString("SENDER_ACCOUNT"));
-            t.setReceiverAccount(rs.getString("RECEIVER_ACCOUNT"));
-            t.setTransactionType(rs.getString("TRANSACTION_TYPE"));
-            t.setChannel(rs.getString("CHANNEL"));
-            t.setStatus(rs.getString("STATUS"));
-            t.setIpAddress(rs.getString("IP_ADDRESS"));
-            t.setLocation(rs.getString("LOCATION"));
-            t.setFraudFlag(rs.getInt("FRAUD_FLAG"));
-            t.setFraudReason(rs.getString("FRAUD_REASON"));
-
-            // Set ML score if column exists (might be null)
-            try {
-                Double mlScore = rs.getDouble("ML_SCORE");
-                if (!rs.wasNull()) {
-                    t.setMlScore(mlScore);
-                }
-            } catch (Exception e) {
-                // Column doesn't exist yet - ignore
-            }
+    // GET ALL (within the query window)
+    public List<Transaction> findAll() {
+        String sql = "SELECT * FROM TRANSACTIONS WHERE TIMESTAMP_VAL >= ?";
 
-            return t;
-        };
+        return analytics.query(sql, TRANSACTION_ROWS, windowStart());
     }
 
     public List<Transaction> findFraudTransactions() {
@@ -110,10 +173,11 @@ public class TransactionRepository {
         String sql = """
         SELECT * FROM TRANSACTIONS
         WHERE FRAUD_FLAG = 1
+        AND TIMESTAMP_VAL >= ?
         ORDER BY TIMESTAMP_VAL DESC
     """;
 
-        return jdbc.query(sql, transactionRowMapper());
+        return analytics.query(sql, TRANSACTION_ROWS, windowStart());
     }
 
     public int countRecentTransactions(String senderAccount) {
@@ -121,34 +185,23 @@ public class TransactionRepository {
         SELECT COUNT(*)
         FROM TRANSACTIONS
         WHERE SENDER_ACCOUNT = ?
-        AND TIMESTAMP_VAL >= SYSDATE - (5 / (24 * 60))
+        AND TIMESTAMP_VAL >= ?
     """;
 
-        return jdbc.queryForObject(sql, Integer.class, senderAccount);
+        return jdbc.queryForObject(sql, Integer.class, senderAccount, minutesAgo(5));
     }
 
 
-    public Double avgAmountLast5Min(String senderAccount) {
-        String sql = """
-        SELECT AVG(AMOUNT)
-        FROM TRANSACTIONS
-        WHERE SENDER_ACCOUNT = ?
-        AND TIMESTAMP_VAL >= SYSDATE - (5 / (24 * 60))
-    """;
-
-        return jdbc.queryForObject(sql, Double.class, senderAccount);
-    }
-
     public int countRecentFailedTxns(String senderAccount) {
         String sql = """
         SELECT COUNT(*)
         FROM TRANSACTIONS
         WHERE SENDER_ACCOUNT = ?
         AND STATUS = 'FAILED'
-        AND TIMESTAMP_VAL >= SYSDATE - (5 / (24 * 60))
+        AND TIMESTAMP_VAL >= ?
     """;
 
-        return jdbc.queryForObject(sql, Integer.class, senderAccount);
+        return jdbc.queryForObject(sql, Integer.class, senderAccount, minutesAgo(5));
     }
 
     public List<Transaction> findByStatus(String status) {
@@ -156,28 +209,29 @@ public class TransactionRepository {
         String sql = """
         SELECT * FROM TRANSACTIONS
         WHERE STATUS = ?
+        AND TIMESTAMP_VAL >= ?
     """;
 
-        return jdbc.query(sql, transactionRowMapper(), status);
+        return analytics.query(sql, TRANSACTION_ROWS, status, windowStart());
     }
 
     /* ================= DASHBOARD QUERIES ================= */
 
     public long countTotalTransactions() {
-        String sql = "SELECT COUNT(*) FROM TRANSACTIONS";
-        Long count = jdbc.queryForObject(sql, Long.class);
+        String sql = "SELECT COUNT(*) FROM TRANSACTIONS WHERE TIMESTAMP_VAL >= ?";
+        Long count = analytics.queryForObject(sql, Long.class, windowStart());
         return count != null ? count : 0L;
     }
 
     public long countFraudTransactions() {
-        String sql = "SELECT COUNT(*) FROM TRANSACTIONS WHERE FRAUD_FLAG = 1";
-        Long count = jdbc.queryForObject(sql, Long.class);
+        String sql = "SELECT COUNT(*) FROM TRANSACTIONS WHERE FRAUD_FLAG = 1 AND TIMESTAMP_VAL >= ?";
+        Long count = analytics.queryForObject(sql, Long.class, windowStart());
         return count != null ? count : 0L;
     }
 
     public long countTransactionsByStatus(String status) {
-        String sql = "SELECT COUNT(*) FROM TRANSACTIONS WHERE STATUS = ?";
-        Long count = jdbc.queryForObject(sql, Long.class, status);
+        String sql = "SELECT COUNT(*) FROM TRANSACTIONS WHERE STATUS = ? AND TIMESTAMP_VAL >= ?";
+        Long count = analytics.queryForObject(sql, Long.class, status, windowStart());
         return count != null ? count : 0L;
     }
 
@@ -186,16 +240,17 @@ public class TransactionRepository {
             SELECT TRUNC(TIMESTAMP_VAL) AS TRANSACTION_DATE, COUNT(*) AS FRAUD_COUNT
             FROM TRANSACTIONS
             WHERE FRAUD_FLAG = 1
+            AND TIMESTAMP_VAL >= ?
             GROUP BY TRUNC(TIMESTAMP_VAL)
             ORDER BY TRANSACTION_DATE DESC
         """;
 
-        return jdbc.query(sql, (rs, rowNum) -> {
+        return analytics.query(sql, (rs, rowNum) -> {
             Date date = rs.getDate("TRANSACTION_DATE");
             LocalDate localDate = date != null ? date.toLocalDate() : LocalDate.now();
             long fraudCount = rs.getLong("FRAUD_COUNT");
             return new FraudTrend(localDate, fraudCount);
-        });
+        }, windowStart());
     }
 
     public List<ChannelWiseFraud> getChannelWiseFraud() {
@@ -207,17 +262,18 @@ public class TransactionRepository {
                 COUNT(*) AS TOTAL_COUNT
             FROM TRANSACTIONS
             WHERE CHANNEL IS NOT NULL
+            AND TIMESTAMP_VAL >= ?
             GROUP BY CHANNEL
             ORDER BY FRAUD_COUNT DESC
         """;
 
-        return jdbc.query(sql, (rs, rowNum) -> {
+        return analytics.query(sql, (rs, rowNum) -> {
             String channel = rs.getString("CHANNEL");
             long fraudCount = rs.getLong("FRAUD_COUNT");
             long nonFraudCount = rs.getLong("NON_FRAUD_COUNT");
             long totalCount = rs.getLong("TOTAL_COUNT");
             return new ChannelWiseFraud(channel, fraudCount, nonFraudCount, totalCount);
-        });
+        }, windowStart());
     }
 
     public List<LocationWiseFraud> getLocationWiseFraud() {
@@ -228,17 +284,136 @@ public class TransactionRepository {
                 COUNT(*) AS TOTAL_TRANSACTIONS
             FROM TRANSACTIONS
             WHERE LOCATION IS NOT NULL
+            AND TIMESTAMP_VAL >= ?
             GROUP BY LOCATION
             HAVING SUM(CASE WHEN FRAUD_FLAG = 1 THEN 1 ELSE 0 END) > 0
             ORDER BY FRAUD_COUNT DESC
         """;
 
-        return jdbc.query(sql, (rs, rowNum) -> {
+        return analytics.query(sql, (rs, rowNum) -> {
             String location = rs.getString("LOCATION");
             long fraudCount = rs.getLong("FRAUD_COUNT");
             long totalTransactions = rs.getLong("TOTAL_TRANSACTIONS");
             return new LocationWiseFraud(location, fraudCount, totalTransactions);
+        }, windowStart());
+    }
+
+    /* ================= SEARCH & ARCHIVAL ================= */
+
+    public List<Transaction> search(TransactionQuery query) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT * FROM TRANSACTIONS
+            WHERE TIMESTAMP_VAL >= ? AND TIMESTAMP_VAL < ?
+        """);
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(query.getFrom()));
+        args.add(Timestamp.valueOf(query.getTo()));
+        if (query.getAccount() != null) {
+            sql.append(" AND (SENDER_ACCOUNT = ? OR RECEIVER_ACCOUNT = ?)");
+            args.add(query.getAccount());
+            args.add(query.getAccount());
+        }
+        if (query.isFraudOnly()) {
+            sql.append(" AND FRAUD_FLAG = 1");
+        }
+        if (query.getReasonMask() != 0) {
+            sql.append(" AND BITAND(REASON_CODES, ?) <> 0");
+            args.add(query.getReasonMask());
+        }
+        sql.append(" ORDER BY TIMESTAMP_VAL DESC FETCH FIRST ? ROWS ONLY");
+        args.add(query.getLimit());
+
+        return analytics.query(sql.toString(), TRANSACTION_ROWS, args.toArray());
+    }
+
+    /**
+     * Row counts per distinct REASON_CODES mask in [from, to), answered from
+     * the (TIMESTAMP_VAL, REASON_CODES) index without visiting the table.
+     */
+    public Map<Long, Long> countByReasonCodes(LocalDateTime from, LocalDateTime to) {
+        String sql = """
+        SELECT REASON_CODES, COUNT(*) AS CNT
+        FROM TRANSACTIONS
+        WHERE TIMESTAMP_VAL >= ? AND TIMESTAMP_VAL < ?
+        AND REASON_CODES <> 0
+        GROUP BY REASON_CODES
+        """;
+
+        Map<Long, Long> counts = new HashMap<>();
+        analytics.query(sql, rs -> {
+            counts.put(rs.getLong("REASON_CODES"), rs.getLong("CNT"));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return counts;
+    }
+
+    /**
+     * Streams every transaction since {@code from} in time order without
+     * materialising the result, for rebuilding in-memory views at startup.
+     */
+    public void forEachSince(LocalDateTime from, Consumer<Transaction> action) {
+        String sql = """
+        SELECT * FROM TRANSACTIONS
+        WHERE TIMESTAMP_VAL >= ?
+        ORDER BY TIMESTAMP_VAL
+    """;
+
+        analytics.query(sql, rs -> {
+            TRANSACTION_ROWS.forEach(rs, action);
+            return null;
+        }, Timestamp.valueOf(from));
+    }
+
+    public LocalDateTime findOldestTimestamp() {
+        Timestamp oldest = analytics.queryForObject("SELECT MIN(TIMESTAMP_VAL) FROM TRANSACTIONS", Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+
+    public List<CompactTransaction> findBetween(LocalDateTime from, LocalDateTime to) {
+        String sql = """
+        SELECT * FROM TRANSACTIONS
+        WHERE TIMESTAMP_VAL >= ? AND TIMESTAMP_VAL < ?
+        ORDER BY TIMESTAMP_VAL
+    """;
+
+        return analytics.query(sql, COMPACT_ROWS, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Deletes exactly the given rows (by TRANSACTION_ID, within their day's
+     * partition), so rows that arrived after they were read are kept. Runs
+     * on the ingest pool: the archive reads above may come from a replica,
+     * but the delete must hit the primary.
+     */
+    public int deleteArchived(List<CompactTransaction> rows, LocalDateTime from, LocalDateTime to) {
+        String sql = """
+        DELETE FROM TRANSACTIONS
+        WHERE TRANSACTION_ID = ? AND TIMESTAMP_VAL >= ? AND TIMESTAMP_VAL < ?
+    """;
+
+        Timestamp fromTs = Timestamp.valueOf(from);
+        Timestamp toTs = Timestamp.valueOf(to);
+        int[][] counts = jdbc.batchUpdate(sql, rows, DELETE_BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.getTransactionId());
+            ps.setTimestamp(2, fromTs);
+            ps.setTimestamp(3, toTs);
         });
+
+        int deleted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                deleted += Math.max(count, 0); // SUCCESS_NO_INFO is negative
+            }
+        }
+        return deleted;
+    }
+
+    // Start of the listing/dashboard window; older partitions are skipped
+    private Timestamp windowStart() {
+        return Timestamp.valueOf(LocalDate.now().minusDays(queryWindowDays).atStartOfDay());
+    }
+
+    private static Timestamp minutesAgo(int minutes) {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutes));
     }
 
 }
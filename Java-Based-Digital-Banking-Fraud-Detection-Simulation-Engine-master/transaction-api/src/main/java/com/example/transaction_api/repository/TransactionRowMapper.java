@@ -0,0 +1,185 @@
+package com.example.transaction_api.repository;
+
+import com.example.transaction_api.model.CompactTransaction;
+import com.example.transaction_api.model.Transaction;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Maps TRANSACTIONS rows to {@link Transaction}s.
+ *
+ * Column positions are resolved once per result set instead of by name on
+ * every row, and the optional ID, REASON_CODES and ML_SCORE columns are
+ * looked for once in the metadata (older schemas lack them).
+ *
+ * Currency, channel, type, status and location have a few dozen distinct
+ * values, so they are interned: a listing of many rows then retains one
+ * String per distinct value instead of one per row.
+ *
+ * {@link #extractCompact} reads the same columns into
+ * {@link CompactTransaction}s for bulk reads such as archiving.
+ *
+ * Stateless apart from the shared interner, so one instance serves every
+ * query.
+ */
+final class TransactionRowMapper implements ResultSetExtractor<List<Transaction>> {
+
+    // Interned values across all columns; past this, new values are kept as read
+    private static final int MAX_INTERNED = 4096;
+
+    private final Map<String, String> interned = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Transaction> extractData(ResultSet rs) throws SQLException {
+        List<Transaction> rows = new ArrayList<>();
+        forEach(rs, rows::add);
+        return rows;
+    }
+
+    /**
+     * Maps rows one at a time, so a large read need not be held in a list.
+     */
+    void forEach(ResultSet rs, Consumer<Transaction> action) throws SQLException {
+        Columns c = new Columns(rs);
+        while (rs.next()) {
+            Transaction t = new Transaction();
+            if (c.id > 0) {
+                t.setId(rs.getLong(c.id));
+            }
+            t.setTransactionId(rs.getString(c.transactionId));
+
+            Timestamp timestamp = rs.getTimestamp(c.timestamp);
+            if (timestamp != null) {
+                t.setTimestamp(timestamp.toLocalDateTime());
+            }
+
+            t.setCurrency(intern(rs.getString(c.currency)));
+            t.setAmount(rs.getDouble(c.amount));
+            t.setSenderAccount(rs.getString(c.senderAccount));
+            t.setReceiverAccount(rs.getString(c.receiverAccount));
+            t.setTransactionType(intern(rs.getString(c.transactionType)));
+            t.setChannel(intern(rs.getString(c.channel)));
+            t.setStatus(intern(rs.getString(c.status)));
+            t.setIpAddress(rs.getString(c.ipAddress));
+            t.setLocation(intern(rs.getString(c.location)));
+            t.setFraudFlag(rs.getInt(c.fraudFlag));
+            if (c.reasonCodes > 0) {
+                t.setReasonCodes(rs.getLong(c.reasonCodes));
+            }
+            t.setFraudReason(rs.getString(c.fraudReason));
+
+            if (c.mlScore > 0) {
+                double mlScore = rs.getDouble(c.mlScore);
+                if (!rs.wasNull()) {
+                    t.setMlScore(mlScore);
+                }
+            }
+            action.accept(t);
+        }
+    }
+
+    List<CompactTransaction> extractCompact(ResultSet rs) throws SQLException {
+        Columns c = new Columns(rs);
+        List<CompactTransaction> rows = new ArrayList<>();
+        while (rs.next()) {
+            Timestamp timestamp = rs.getTimestamp(c.timestamp);
+            Double mlScore = null;
+            if (c.mlScore > 0) {
+                double score = rs.getDouble(c.mlScore);
+                mlScore = rs.wasNull() ? null : score;
+            }
+            rows.add(new CompactTransaction(
+                    c.id > 0 ? rs.getLong(c.id) : CompactTransaction.NO_ID,
+                    rs.getString(c.transactionId),
+                    timestamp != null ? timestamp.toLocalDateTime() : null,
+                    rs.getString(c.currency),
+                    rs.getDouble(c.amount),
+                    rs.getString(c.senderAccount),
+                    rs.getString(c.receiverAccount),
+                    rs.getString(c.transactionType),
+                    rs.getString(c.channel),
+                    rs.getString(c.status),
+                    rs.getString(c.ipAddress),
+                    rs.getString(c.location),
+                    rs.getInt(c.fraudFlag) == 1,
+                    c.reasonCodes > 0 ? rs.getLong(c.reasonCodes) : 0L,
+                    rs.getString(c.fraudReason),
+                    mlScore));
+        }
+        return rows;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = interned.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() >= MAX_INTERNED) {
+            return value;
+        }
+        existing = interned.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /** 1-based column positions for one result set; 0 = column absent. */
+    private static final class Columns {
+
+        final int id;
+        final int transactionId;
+        final int timestamp;
+        final int currency;
+        final int amount;
+        final int senderAccount;
+        final int receiverAccount;
+        final int transactionType;
+        final int channel;
+        final int status;
+        final int ipAddress;
+        final int location;
+        final int fraudFlag;
+        final int fraudReason;
+        final int reasonCodes;
+        final int mlScore;
+
+        Columns(ResultSet rs) throws SQLException {
+            transactionId = rs.findColumn("TRANSACTION_ID");
+            timestamp = rs.findColumn("TIMESTAMP_VAL");
+            currency = rs.findColumn("CURRENCY");
+            amount = rs.findColumn("AMOUNT");
+            senderAccount = rs.findColumn("SENDER_ACCOUNT");
+            receiverAccount = rs.findColumn("RECEIVER_ACCOUNT");
+            transactionType = rs.findColumn("TRANSACTION_TYPE");
+            channel = rs.findColumn("CHANNEL");
+            status = rs.findColumn("STATUS");
+            ipAddress = rs.findColumn("IP_ADDRESS");
+            location = rs.findColumn("LOCATION");
+            fraudFlag = rs.findColumn("FRAUD_FLAG");
+            fraudReason = rs.findColumn("FRAUD_REASON");
+            ResultSetMetaData meta = rs.getMetaData();
+            id = optionalColumn(meta, "ID");
+            reasonCodes = optionalColumn(meta, "REASON_CODES");
+            mlScore = optionalColumn(meta, "ML_SCORE");
+        }
+
+        private static int optionalColumn(ResultSetMetaData meta, String name) throws SQLException {
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (name.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
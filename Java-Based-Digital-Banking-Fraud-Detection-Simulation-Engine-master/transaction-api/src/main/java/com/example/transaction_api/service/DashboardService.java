@@ -1,21 +1,58 @@
 package com.example.transaction_api.service;
 
+import com.example.transaction_api.columnar.ColumnarStore;
+import com.example.transaction_api.columnar.SliceQuery;
+import com.example.transaction_api.heavyhitter.HeavyHitterTracker;
+import com.example.transaction_api.ipfanout.IpFanOutTracker;
+import com.example.transaction_api.metrics.Granularity;
+import com.example.transaction_api.metrics.TransactionTimeSeries;
+import com.example.transaction_api.model.AmountQuantiles;
 import com.example.transaction_api.model.ChannelWiseFraud;
 import com.example.transaction_api.model.DashboardSummary;
+import com.example.transaction_api.model.DistinctCount;
 import com.example.transaction_api.model.FraudTrend;
 import com.example.transaction_api.model.LocationWiseFraud;
+import com.example.transaction_api.model.ReasonCode;
+import com.example.transaction_api.model.ReasonCount;
+import com.example.transaction_api.model.RiskHitter;
+import com.example.transaction_api.model.SliceRow;
+import com.example.transaction_api.model.TimeSeriesPoint;
 import com.example.transaction_api.repository.TransactionRepository;
+import com.example.transaction_api.sketch.SketchRegistry;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class DashboardService {
 
+    private static final int DEFAULT_TIME_SERIES_POINTS = 60;
+    private static final int MAX_REASON_HOURS = 24 * 90;
+
     private final TransactionRepository repository;
+    private final TransactionTimeSeries timeSeries;
+    private final SketchRegistry sketches;
+    private final HeavyHitterTracker heavyHitters;
+    private final ColumnarStore columnarStore;
+    private final IpFanOutTracker ipFanOut;
 
-    public DashboardService(TransactionRepository repository) {
+    public DashboardService(TransactionRepository repository,
+                            TransactionTimeSeries timeSeries,
+                            SketchRegistry sketches,
+                            HeavyHitterTracker heavyHitters,
+                            ColumnarStore columnarStore,
+                            IpFanOutTracker ipFanOut) {
         this.repository = repository;
+        this.timeSeries = timeSeries;
+        this.sketches = sketches;
+        this.heavyHitters = heavyHitters;
+        this.columnarStore = columnarStore;
+        this.ipFanOut = ipFanOut;
     }
 
     public DashboardSummary getSummary() {
@@ -50,4 +87,107 @@ public class DashboardService {
     public List<LocationWiseFraud> getLocationWiseFraud() {
         return repository.getLocationWiseFraud();
     }
+
+    /**
+     * High-resolution series served from memory (no database access).
+     */
+    public List<TimeSeriesPoint> getTimeSeries(String granularity, String channel, Integer points) {
+        Granularity resolved = Granularity.fromParameter(granularity);
+        int limit = points != null ? points : DEFAULT_TIME_SERIES_POINTS;
+        return timeSeries.query(resolved, channel, limit);
+    }
+
+    /* ================= SKETCH-BASED ESTIMATES ================= */
+
+    public long getDistinctSenders(int days) {
+        return sketches.distinctSenders(days);
+    }
+
+    public List<DistinctCount> getDistinctIpsByLocation(int days) {
+        return sketches.distinctIpsByLocation(days);
+    }
+
+    public List<AmountQuantiles> getAmountQuantiles(String dimension, int days) {
+        return sketches.amountQuantiles(dimension, days);
+    }
+
+    /* ================= HEAVY HITTERS ================= */
+
+    public List<RiskHitter> getTopRisk(String dimension, int limit) {
+        return heavyHitters.top(HeavyHitterTracker.Dimension.fromParameter(dimension), limit);
+    }
+
+    public Map<String, List<RiskHitter>> getTopRiskAllDimensions(int limit) {
+        Map<String, List<RiskHitter>> result = new LinkedHashMap<>();
+        for (HeavyHitterTracker.Dimension dimension : HeavyHitterTracker.Dimension.values()) {
+            result.put(dimension.name().toLowerCase(), heavyHitters.top(dimension, limit));
+        }
+        return result;
+    }
+
+    /* ================= DECISION REASONS ================= */
+
+    /**
+     * How many transactions carried each reason in the last hours, most
+     * frequent first. Per-mask counts come from the database and are
+     * expanded to reasons here.
+     */
+    public List<ReasonCount> getReasonCounts(int hours) {
+        if (hours < 1 || hours > MAX_REASON_HOURS) {
+            throw new IllegalArgumentException("hours must be between 1 and " + MAX_REASON_HOURS);
+        }
+        LocalDateTime to = LocalDateTime.now();
+        Map<Long, Long> perMask = repository.countByReasonCodes(to.minusHours(hours), to);
+
+        long[] totals = new long[ReasonCode.values().length];
+        for (Map.Entry<Long, Long> entry : perMask.entrySet()) {
+            for (ReasonCode code : ReasonCode.fromMask(entry.getKey())) {
+                totals[code.ordinal()] += entry.getValue();
+            }
+        }
+        List<ReasonCount> result = new ArrayList<>();
+        for (ReasonCode code : ReasonCode.values()) {
+            if (totals[code.ordinal()] > 0) {
+                result.add(new ReasonCount(code.name(), code.getDescription(), totals[code.ordinal()]));
+            }
+        }
+        result.sort(Comparator.comparingLong(ReasonCount::getCount).reversed());
+        return result;
+    }
+
+    /* ================= SHARED-IP FAN-OUT ================= */
+
+    public List<DistinctCount> getIpFanOut(int limit) {
+        return ipFanOut.top(limit);
+    }
+
+    /* ================= AD-HOC SLICING (IN-MEMORY COLUMNS) ================= */
+
+    /**
+     * @param groupBy comma-separated dimensions, e.g. "channel,location,hour"
+     * @param filters equality filters keyed by dimension name
+     * @param hours   look-back window in hours
+     */
+    public List<SliceRow> getSlice(String groupBy, Map<String, String> filters, int hours,
+                                   boolean fraudOnly, Double minAmount, Double maxAmount) {
+        SliceQuery query = new SliceQuery()
+                .from(System.currentTimeMillis() - hours * 3_600_000L)
+                .fraudOnly(fraudOnly)
+                .amountBetween(
+                        minAmount != null ? minAmount : Double.NEGATIVE_INFINITY,
+                        maxAmount != null ? maxAmount : Double.POSITIVE_INFINITY);
+
+        if (groupBy != null && !groupBy.isBlank()) {
+            for (String dimension : groupBy.split(",")) {
+                query.groupBy(SliceQuery.Dimension.fromParameter(dimension));
+            }
+        }
+        filters.forEach((dimension, value) -> {
+            if (value != null && !value.isBlank()) {
+                query.where(SliceQuery.Dimension.fromParameter(dimension), value.trim());
+            }
+        });
+
+        return columnarStore.query(query);
+    }
 }
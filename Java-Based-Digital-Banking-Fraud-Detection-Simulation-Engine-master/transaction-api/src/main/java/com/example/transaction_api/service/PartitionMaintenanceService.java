@@ -0,0 +1,128 @@
+package com.example.transaction_api.service;
+
+import com.example.transaction_api.model.TablePartition;
+import com.example.transaction_api.repository.PartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Nightly housekeeping for the partitioned TRANSACTIONS table:
+ * - partitions older than partition.compress-after-days are rebuilt compressed
+ * - partitions older than partition.retention-days are archived into their
+ *   own table (ARCHIVE), dropped (DROP) or left alone (NONE)
+ *
+ * When the cold-tier archive (archive.enabled) is on, it owns row retention:
+ * it copies old days to segment files and deletes them from the table. An
+ * expired partition is then only dropped once that job has emptied it,
+ * whatever the retention action, so rows never leave TRANSACTIONS before
+ * they are in the archive.
+ *
+ * Does nothing if TRANSACTIONS is not partitioned.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private static final DateTimeFormatter ARCHIVE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public enum RetentionAction {
+        ARCHIVE, DROP, NONE
+    }
+
+    private final PartitionRepository partitionRepository;
+    private final boolean enabled;
+    private final int compressAfterDays;
+    private final int retentionDays;
+    private final RetentionAction retentionAction;
+    private final boolean fileArchiveEnabled;
+
+    public PartitionMaintenanceService(PartitionRepository partitionRepository,
+            @Value("${partition.maintenance-enabled:true}") boolean enabled,
+            @Value("${partition.compress-after-days:7}") int compressAfterDays,
+            @Value("${partition.retention-days:180}") int retentionDays,
+            @Value("${partition.retention-action:DROP}") String retentionAction,
+            @Value("${archive.enabled:true}") boolean fileArchiveEnabled) {
+        this.partitionRepository = partitionRepository;
+        this.enabled = enabled;
+        this.compressAfterDays = compressAfterDays;
+        this.retentionDays = retentionDays;
+        this.retentionAction = RetentionAction.valueOf(retentionAction.trim().toUpperCase(Locale.ROOT));
+        this.fileArchiveEnabled = fileArchiveEnabled;
+    }
+
+    @Scheduled(cron = "${partition.maintenance-cron:0 30 2 * * *}")
+    public void runMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!partitionRepository.isPartitioned()) {
+                logger.info("{} is not partitioned; skipping partition maintenance", PartitionRepository.TABLE);
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime retainFrom = now.minusDays(retentionDays);
+            LocalDateTime compressBefore = now.minusDays(compressAfterDays);
+
+            for (TablePartition partition : partitionRepository.findPartitions()) {
+                LocalDateTime highValue = partition.getHighValue();
+                if (highValue == null) {
+                    continue; // MAXVALUE partition
+                }
+                if (!highValue.isAfter(retainFrom) && retentionAction != RetentionAction.NONE) {
+                    expire(partition);
+                } else if (!highValue.isAfter(compressBefore) && !partition.isCompressed()) {
+                    compress(partition);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void expire(TablePartition partition) {
+        if (partition.getPosition() == 1) {
+            // The first partition anchors interval partitioning and cannot be dropped
+            return;
+        }
+        try {
+            if (fileArchiveEnabled) {
+                if (!partitionRepository.isEmpty(partition.getName())) {
+                    logger.info("Partition {} is past retention but not yet emptied by the archive job",
+                            partition.getName());
+                    return;
+                }
+                partitionRepository.dropPartition(partition.getName());
+                logger.info("Dropped archived partition {}", partition.getName());
+            } else if (retentionAction == RetentionAction.ARCHIVE) {
+                String archiveTable = "TXN_ARCH_" + partition.getHighValue().minusDays(1).format(ARCHIVE_SUFFIX);
+                partitionRepository.archivePartition(partition.getName(), archiveTable);
+                logger.info("Archived partition {} into {}", partition.getName(), archiveTable);
+            } else {
+                partitionRepository.dropPartition(partition.getName());
+                logger.info("Dropped partition {}", partition.getName());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to expire partition {}: {}", partition.getName(), e.getMessage());
+        }
+    }
+
+    private void compress(TablePartition partition) {
+        try {
+            long started = System.currentTimeMillis();
+            partitionRepository.compressPartition(partition.getName());
+            logger.info("Compressed partition {} in {} ms", partition.getName(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to compress partition {}: {}", partition.getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.transaction_api.service;
+
+import com.example.transaction_api.model.Transaction;
+
+/**
+ * Receives every decided transaction from {@link TransactionService}.
+ * Implementations keep in-memory views (time-series, sketches, ...) and
+ * must be cheap: they run on the request thread after the decision.
+ */
+public interface TransactionObserver {
+
+    /**
+     * @param txn          the transaction with status, fraud flag and ML score set
+     * @param latencyNanos time spent deciding the transaction
+     */
+    void onTransactionDecided(Transaction txn, long latencyNanos);
+}
@@ -0,0 +1,49 @@
+package com.example.transaction_api.service;
+
+import com.example.transaction_api.archive.ArchiveStore;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionQuery;
+import com.example.transaction_api.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches across the hot TRANSACTIONS table and the archive. The archive
+ * watermark splits the time range: everything before it comes from the
+ * archive, everything after from Oracle, so no row is returned twice.
+ */
+@Service
+public class TransactionSearchService {
+
+    private final TransactionRepository repository;
+    private final ArchiveStore archiveStore;
+
+    public TransactionSearchService(TransactionRepository repository, ArchiveStore archiveStore) {
+        this.repository = repository;
+        this.archiveStore = archiveStore;
+    }
+
+    public List<Transaction> search(TransactionQuery query) {
+        if (!query.getFrom().isBefore(query.getTo())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        archiveStore.refresh(); // the archive job may have run on another instance
+        LocalDateTime watermark = archiveStore.getWatermark();
+        List<Transaction> result = new ArrayList<>();
+
+        // Newest first: hot rows, then archived rows
+        if (watermark == null || query.getTo().isAfter(watermark)) {
+            LocalDateTime hotFrom = watermark != null && watermark.isAfter(query.getFrom()) ? watermark : query.getFrom();
+            result.addAll(repository.search(query.withRange(hotFrom, query.getTo(), query.getLimit())));
+        }
+        if (watermark != null && query.getFrom().isBefore(watermark) && result.size() < query.getLimit()) {
+            LocalDateTime coldTo = query.getTo().isBefore(watermark) ? query.getTo() : watermark;
+            result.addAll(archiveStore.search(
+                    query.withRange(query.getFrom(), coldTo, query.getLimit() - result.size())));
+        }
+        return result;
+    }
+}
@@ -1,8 +1,28 @@
 package com.example.transaction_api.service;
 
+import com.example.transaction_api.blocklist.BlocklistService;
+import com.example.transaction_api.cache.ResponseCache;
+import com.example.transaction_api.geo.GeoVelocity;
+import com.example.transaction_api.geo.GeoVelocityService;
+import com.example.transaction_api.graph.GraphSignal;
+import com.example.transaction_api.graph.TransactionGraph;
+import com.example.transaction_api.id.TransactionIdGenerator;
+import com.example.transaction_api.idempotency.IdempotencyService;
+import com.example.transaction_api.ipfanout.IpFanOutTracker;
+import com.example.transaction_api.ipreputation.IpCategory;
+import com.example.transaction_api.ipreputation.IpReputationService;
+import com.example.transaction_api.journal.TransactionJournal;
 import com.example.transaction_api.model.MlTransactionPayload;
+import com.example.transaction_api.model.ReasonCode;
 import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionDecision;
+import com.example.transaction_api.outbox.DecisionOutbox;
+import com.example.transaction_api.profile.BehaviourProfileService;
+import com.example.transaction_api.profile.ProfileSignal;
 import com.example.transaction_api.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,39 +31,152 @@ import java.util.Map;
 @Service
 public class TransactionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+
     private final TransactionRepository repository;
     private final MlFraudClient mlFraudClient;
     private final MlPayloadMapper mlPayloadMapper;
     private final EmailService emailService;
     private final AccountStatusService accountStatusService;
+    private final List<TransactionObserver> observers;
+    private final ResponseCache responseCache;
+    private final TransactionGraph transactionGraph;
+    private final IpReputationService ipReputationService;
+    private final GeoVelocityService geoVelocityService;
+    private final BlocklistService blocklistService;
+    private final IdempotencyService idempotencyService;
+    private final BehaviourProfileService profileService;
+    private final IpFanOutTracker ipFanOutTracker;
+    private final TransactionJournal journal;
+    private final TransactionIdGenerator idGenerator;
+    private final DecisionOutbox outbox;
 
     public TransactionService(TransactionRepository repository,
             MlFraudClient mlFraudClient,
             MlPayloadMapper mlPayloadMapper,
             EmailService emailService,
-            AccountStatusService accountStatusService) {
+            AccountStatusService accountStatusService,
+            List<TransactionObserver> observers,
+            ResponseCache responseCache,
+            TransactionGraph transactionGraph,
+            IpReputationService ipReputationService,
+            GeoVelocityService geoVelocityService,
+            BlocklistService blocklistService,
+            IdempotencyService idempotencyService,
+            BehaviourProfileService profileService,
+            IpFanOutTracker ipFanOutTracker,
+            TransactionJournal journal,
+            TransactionIdGenerator idGenerator,
+            DecisionOutbox outbox) {
         this.repository = repository;
         this.mlFraudClient = mlFraudClient;
         this.mlPayloadMapper = mlPayloadMapper;
         this.emailService = emailService;
         this.accountStatusService = accountStatusService;
+        this.observers = observers;
+        this.responseCache = responseCache;
+        this.transactionGraph = transactionGraph;
+        this.ipReputationService = ipReputationService;
+        this.geoVelocityService = geoVelocityService;
+        this.blocklistService = blocklistService;
+        this.idempotencyService = idempotencyService;
+        this.profileService = profileService;
+        this.ipFanOutTracker = ipFanOutTracker;
+        this.journal = journal;
+        this.idGenerator = idGenerator;
+        this.outbox = outbox;
     }
 
-    public void processTransaction(Transaction txn) {
+    /**
+     * Scores and stores a transaction.
+     *
+     * @return false if the transaction ID was already processed; the
+     *         transaction then carries the original decision and nothing
+     *         is re-scored or re-inserted
+     */
+    public boolean processTransaction(Transaction txn) {
+        String transactionId = txn.getTransactionId();
+        if (transactionId != null) {
+            TransactionDecision original = idempotencyService.claim(transactionId);
+            if (original != null) {
+                logger.info("Duplicate transaction {}; returning original decision", transactionId);
+                original.applyTo(txn);
+                return false;
+            }
+        }
+
+        long startNanos = System.nanoTime();
+
+        txn.setId(idGenerator.nextId());
+        if (transactionId == null) {
+            txn.setTransactionId(Long.toString(txn.getId()));
+        }
+
+        try {
+            decideTransaction(txn);
+        } catch (DuplicateKeyException e) {
+            if (transactionId == null) {
+                throw e; // the generated ID collided twice; persist() already retried once
+            }
+            // TRANSACTION_ID inserted by another instance after our claim
+            TransactionDecision stored = repository.findDecision(transactionId);
+            if (stored == null) {
+                idempotencyService.abandon(transactionId, e);
+                throw e;
+            }
+            stored.applyTo(txn);
+            idempotencyService.complete(txn);
+            return false;
+        } catch (RuntimeException e) {
+            if (transactionId != null) {
+                idempotencyService.abandon(transactionId, e);
+            }
+            throw e;
+        }
+        if (transactionId != null) {
+            idempotencyService.complete(txn);
+        }
+
+        // Feed in-memory views (time-series, sketches, ...) with the final decision
+        long latencyNanos = System.nanoTime() - startNanos;
+        for (TransactionObserver observer : observers) {
+            try {
+                observer.onTransactionDecided(txn, latencyNanos);
+            } catch (Exception e) {
+                // An analytics view must never fail the transaction
+                logger.error("Observer {} failed for transaction {}: {}",
+                        observer.getClass().getSimpleName(), txn.getTransactionId(), e.getMessage());
+            }
+        }
+
+        // Cached dashboard/listing responses no longer reflect the table. With the
+        // journal on, the row is not in TRANSACTIONS yet: JournalReplicator invalidates
+        // once the batch holding it commits.
+        if (!journal.isEnabled()) {
+            responseCache.invalidateAll();
+        }
+        return true;
+    }
+
+    private void decideTransaction(Transaction txn) {
 
         // Set timestamp if not provided
         if (txn.getTimestamp() == null) {
             txn.setTimestamp(java.time.LocalDateTime.now());
         }
 
+        // Reasons are decided here, never taken from the request
+        txn.setReasonCodes(0);
+        txn.setFraudReason(null);
+
         /* ================= ACCOUNT STATUS CHECK ================= */
 
         // Check if sender account is blocked
         if (accountStatusService.isAccountBlocked(txn.getSenderAccount())) {
             txn.setStatus("FAILED");
             txn.setFraudFlag(0);
-            txn.setFraudReason("Account blocked due to multiple failed transactions");
-            repository.insertTransaction(txn);
+            txn.addReason(ReasonCode.ACCOUNT_BLOCKED);
+            persist(txn);
             return; // Stop processing immediately
         }
 
@@ -52,56 +185,95 @@ public class TransactionService {
         if (txn.getAmount() <= 0) {
             txn.setStatus("FAILED");
             txn.setFraudFlag(0);
-            txn.setFraudReason("Invalid amount");
-            repository.insertTransaction(txn);
+            txn.addReason(ReasonCode.INVALID_AMOUNT);
+            persist(txn);
             return;
         }
 
         if (txn.getSenderAccount().equals(txn.getReceiverAccount())) {
             txn.setStatus("FAILED");
             txn.setFraudFlag(0);
-            txn.setFraudReason("Sender and receiver same");
-            repository.insertTransaction(txn);
+            txn.addReason(ReasonCode.SAME_ACCOUNT);
+            persist(txn);
             return;
         }
 
         /* ================= RULE-BASED FRAUD SIGNALS ================= */
 
-        StringBuilder alerts = new StringBuilder();
-
         if (txn.getAmount() > 100000) {
-            alerts.append("High amount. ");
+            txn.addReason(ReasonCode.HIGH_AMOUNT);
+        }
+
+        if (blocklistService.isBlocklisted(txn.getSenderAccount())) {
+            txn.addReason(ReasonCode.BLOCKLISTED_SENDER);
+        }
+        if (blocklistService.isBlocklisted(txn.getReceiverAccount())) {
+            txn.addReason(ReasonCode.BLOCKLISTED_RECEIVER);
+        }
+
+        IpCategory ipCategory = ipReputationService.lookup(txn.getIpAddress());
+        if (ipCategory != IpCategory.CLEAN) {
+            txn.addReason(ReasonCode.SUSPICIOUS_IP);
         }
 
-        if (txn.getIpAddress() != null && txn.getIpAddress().startsWith("172.")) {
-            alerts.append("Suspicious IP. ");
+        long ipFanOut = ipFanOutTracker.record(txn.getIpAddress(), txn.getSenderAccount());
+        if (ipFanOut >= ipFanOutTracker.getAlertAccounts()) {
+            txn.addReason(ReasonCode.SHARED_IP);
         }
 
         int velocity = repository.countRecentTransactions(txn.getSenderAccount());
         if (velocity >= 3) {
-            alerts.append("High transaction velocity. ");
+            txn.addReason(ReasonCode.HIGH_VELOCITY);
         }
 
-        Double avg = repository.avgAmountLast5Min(txn.getSenderAccount());
-        if (avg != null && avg > 0 && txn.getAmount() > avg * 3) {
-            alerts.append("Rapid amount spike. ");
+        ProfileSignal profile = profileService.observe(txn.getSenderAccount(), txn.getAmount(),
+                txn.getChannel(), txn.getCurrency(), txn.getTimestamp());
+        if (profile.isAmountSpike()) {
+            txn.addReason(ReasonCode.AMOUNT_SPIKE);
+        }
+        if (profile.isUnusualHour()) {
+            txn.addReason(ReasonCode.UNUSUAL_HOUR);
+        }
+        if (profile.isUnusualChannel()) {
+            txn.addReason(ReasonCode.UNUSUAL_CHANNEL);
+        }
+        if (profile.isUnusualCurrency()) {
+            txn.addReason(ReasonCode.UNUSUAL_CURRENCY);
         }
 
         int failedAttempts = repository.countRecentFailedTxns(txn.getSenderAccount());
         if (failedAttempts >= 2) {
-            alerts.append("Multiple failed attempts before success. ");
+            txn.addReason(ReasonCode.FAILED_ATTEMPTS);
+        }
+
+        GraphSignal graph = transactionGraph.addTransfer(txn.getSenderAccount(), txn.getReceiverAccount());
+        if (graph.isMuleFanIn()) {
+            txn.addReason(ReasonCode.MULE_FAN_IN);
+        }
+        if (graph.isHighFanOut()) {
+            txn.addReason(ReasonCode.HIGH_FAN_OUT);
+        }
+        if (graph.isCycle()) {
+            txn.addReason(ReasonCode.SHORT_CYCLE);
+        }
+
+        GeoVelocity travel = geoVelocityService.check(
+                txn.getSenderAccount(), txn.getLocation(), txn.getTimestamp());
+        if (travel.isImpossible()) {
+            txn.addReason(ReasonCode.IMPOSSIBLE_TRAVEL);
+            logger.debug("Impossible travel for {} from {} ({} km in {} min)", txn.getTransactionId(),
+                    travel.getPreviousLocation(), Math.round(travel.getDistanceKm()),
+                    Math.round(travel.getElapsedMinutes()));
         }
 
         /* ================= RULE-BASED DECISION ================= */
 
-        if (!alerts.isEmpty()) {
+        if (txn.getReasonCodes() != 0) {
             txn.setStatus("PENDING");
             txn.setFraudFlag(1);
-            txn.setFraudReason(alerts.toString());
         } else {
             txn.setStatus("SUCCESS");
             txn.setFraudFlag(0);
-            txn.setFraudReason("NONE");
         }
 
         /* ================= ML FRAUD CHECK ================= */
@@ -129,12 +301,7 @@ public class TransactionService {
         if (mlScore >= 0.7 && !"FAILED".equals(txn.getStatus())) {
             txn.setStatus("FAILED");
             txn.setFraudFlag(1);
-
-            if ("NONE".equals(txn.getFraudReason())) {
-                txn.setFraudReason("ML_HIGH_RISK");
-            } else {
-                txn.setFraudReason(txn.getFraudReason() + " ML_HIGH_RISK.");
-            }
+            txn.addReason(ReasonCode.ML_HIGH_RISK);
         } else {
             txn.setStatus("SUCCESS");
             txn.setFraudFlag(0);
@@ -142,7 +309,7 @@ public class TransactionService {
 
         /* ================= SAVE ================= */
 
-        repository.insertTransaction(txn);
+        persist(txn);
 
         /* ================= EMAIL ALERT (if fraud detected) ================= */
 
@@ -152,8 +319,7 @@ public class TransactionService {
                 emailService.sendFraudAlert(txn);
             } catch (Exception e) {
                 // Log error but don't fail transaction processing
-                org.slf4j.LoggerFactory.getLogger(TransactionService.class)
-                        .error("Failed to send fraud alert email: {}", e.getMessage());
+                logger.error("Failed to send fraud alert email: {}", e.getMessage());
             }
         }
 
@@ -166,6 +332,38 @@ public class TransactionService {
                 transactionFailed);
     }
 
+    // Acknowledge on the durable journal append when enabled; the replicator writes TRANSACTIONS
+    private void persist(Transaction txn) {
+        try {
+            write(txn);
+        } catch (DuplicateKeyException e) {
+            // A TRANSACTION_ID violation on a client-supplied ID is a resent
+            // transaction and is left to the caller. Anything else means the
+            // generated ID clashed with a stored row: PK_TRANSACTIONS, or the
+            // TRANSACTION_ID that was defaulted from it.
+            boolean generatedTransactionId = txn.getTransactionId().equals(Long.toString(txn.getId()));
+            if (!generatedTransactionId && !TransactionRepository.isPrimaryKeyViolation(e)) {
+                throw e;
+            }
+            long collided = txn.getId();
+            txn.setId(idGenerator.nextId());
+            if (generatedTransactionId) {
+                txn.setTransactionId(Long.toString(txn.getId()));
+            }
+            logger.error("Generated ID {} already exists (is transaction-id.node-id unique per instance?); "
+                    + "retrying as {}", collided, txn.getId());
+            write(txn);
+        }
+    }
+
+    private void write(Transaction txn) {
+        if (journal.isEnabled()) {
+            journal.append(txn);
+        } else {
+            outbox.insert(txn);
+        }
+    }
+
     /* ================= READ APIs ================= */
 
     public List<Transaction> getAllTransactions() {
@@ -0,0 +1,114 @@
+package com.example.transaction_api.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * All sketches for one calendar day. Each dimension map is capped at
+ * {@link #MAX_DIMENSION_VALUES} keys; further values are folded into
+ * {@link #OTHER} so memory stays bounded even with dirty input.
+ */
+class DailySketches {
+
+    static final int MAX_DIMENSION_VALUES = 64;
+    static final String OTHER = "OTHER";
+
+    private final HyperLogLog senders = new HyperLogLog();
+    private final Map<String, HyperLogLog> ipsByLocation = new ConcurrentHashMap<>();
+    private final Map<String, QuantileSketch> amountByChannel = new ConcurrentHashMap<>();
+    private final Map<String, QuantileSketch> amountByCurrency = new ConcurrentHashMap<>();
+
+    void record(String senderAccount, String ipAddress, String location,
+                String channel, String currency, double amount) {
+        senders.add(senderAccount);
+        if (ipAddress != null) {
+            dimension(ipsByLocation, location, key -> new HyperLogLog()).add(ipAddress);
+        }
+        dimension(amountByChannel, channel, key -> new QuantileSketch()).add(amount);
+        dimension(amountByCurrency, currency, key -> new QuantileSketch()).add(amount);
+    }
+
+    HyperLogLog getSenders() {
+        return senders;
+    }
+
+    Map<String, HyperLogLog> getIpsByLocation() {
+        return ipsByLocation;
+    }
+
+    Map<String, QuantileSketch> getAmountByChannel() {
+        return amountByChannel;
+    }
+
+    Map<String, QuantileSketch> getAmountByCurrency() {
+        return amountByCurrency;
+    }
+
+    void merge(DailySketches other) {
+        senders.merge(other.senders);
+        other.ipsByLocation.forEach((key, sketch) ->
+                dimension(ipsByLocation, key, k -> new HyperLogLog()).merge(sketch));
+        other.amountByChannel.forEach((key, sketch) ->
+                dimension(amountByChannel, key, k -> new QuantileSketch()).merge(sketch));
+        other.amountByCurrency.forEach((key, sketch) ->
+                dimension(amountByCurrency, key, k -> new QuantileSketch()).merge(sketch));
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        senders.writeTo(out);
+
+        out.writeInt(ipsByLocation.size());
+        for (Map.Entry<String, HyperLogLog> entry : ipsByLocation.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+        writeQuantiles(out, amountByChannel);
+        writeQuantiles(out, amountByCurrency);
+    }
+
+    static DailySketches readFrom(DataInputStream in) throws IOException {
+        DailySketches day = new DailySketches();
+        day.senders.merge(HyperLogLog.readFrom(in));
+
+        int locations = in.readInt();
+        for (int i = 0; i < locations; i++) {
+            String key = in.readUTF();
+            dimension(day.ipsByLocation, key, k -> new HyperLogLog()).merge(HyperLogLog.readFrom(in));
+        }
+        readQuantiles(in, day.amountByChannel);
+        readQuantiles(in, day.amountByCurrency);
+        return day;
+    }
+
+    private static void writeQuantiles(DataOutputStream out, Map<String, QuantileSketch> sketches) throws IOException {
+        out.writeInt(sketches.size());
+        for (Map.Entry<String, QuantileSketch> entry : sketches.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    private static void readQuantiles(DataInputStream in, Map<String, QuantileSketch> target) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            dimension(target, key, k -> new QuantileSketch()).merge(QuantileSketch.readFrom(in));
+        }
+    }
+
+    private static <S> S dimension(Map<String, S> sketches, String key, Function<String, S> factory) {
+        String resolved = key == null || key.isBlank() ? OTHER : key;
+        S sketch = sketches.get(resolved);
+        if (sketch != null) {
+            return sketch;
+        }
+        if (sketches.size() >= MAX_DIMENSION_VALUES) {
+            resolved = OTHER;
+        }
+        return sketches.computeIfAbsent(resolved, factory);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.transaction_api.sketch;
+
+/**
+ * 64-bit hashing of short strings (account numbers, IPs) without
+ * allocating: FNV-1a over the chars followed by the MurmurHash3 finaliser
+ * so that every output bit is well mixed for HyperLogLog.
+ */
+public final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    public static long hash64(CharSequence value) {
+        return hash64(value, FNV_OFFSET);
+    }
+
+    /**
+     * Seeded variant for callers that need two independent hashes of a key.
+     */
+    public static long hash64(CharSequence value, long seed) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    public static long mix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
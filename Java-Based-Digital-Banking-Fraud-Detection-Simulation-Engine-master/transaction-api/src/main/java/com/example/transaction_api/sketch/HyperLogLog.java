@@ -0,0 +1,115 @@
+package com.example.transaction_api.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * HyperLogLog distinct counter with 2^precision one-byte registers.
+ * Precision 12 uses 4 KB and has a standard error of about 1.6%.
+ * Sketches with the same precision merge by taking the register maximum.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(CharSequence value) {
+        if (value != null) {
+            addHash(Hashing.hash64(value));
+        }
+    }
+
+    public synchronized void addHash(long hash) {
+        addHash(registers, 0, precision, hash);
+    }
+
+    public synchronized long estimate() {
+        return estimate(registers, 0, registers.length);
+    }
+
+    /**
+     * Adds a hash to a register block embedded in a larger array, for
+     * callers that pack many small sketches into one allocation.
+     */
+    public static void addHash(byte[] registers, int offset, int precision, long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[offset + index]) {
+            registers[offset + index] = rank;
+        }
+    }
+
+    /**
+     * Estimates the cardinality of the register block
+     * registers[offset, offset + m); m must be a power of two.
+     */
+    public static long estimate(byte[] registers, int offset, int m) {
+        double sum = 0.0;
+        int zeros = 0;
+        for (int i = offset; i < offset + m; i++) {
+            byte register = registers[i];
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = m >= 128 ? 0.7213 / (1.0 + 1.079 / m) : m == 64 ? 0.709 : m == 32 ? 0.697 : 0.673;
+        double estimate = alpha * m * m / sum;
+
+        // Small-range correction (linear counting)
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of different precision");
+        }
+        byte[] snapshot = other.snapshot();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (snapshot[i] > registers[i]) {
+                    registers[i] = snapshot[i];
+                }
+            }
+        }
+    }
+
+    public int sizeInBytes() {
+        return registers.length;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(precision);
+        out.write(snapshot());
+    }
+
+    public static HyperLogLog readFrom(DataInputStream in) throws IOException {
+        HyperLogLog sketch = new HyperLogLog(in.readUnsignedByte());
+        in.readFully(sketch.registers);
+        return sketch;
+    }
+
+    private synchronized byte[] snapshot() {
+        return registers.clone();
+    }
+}
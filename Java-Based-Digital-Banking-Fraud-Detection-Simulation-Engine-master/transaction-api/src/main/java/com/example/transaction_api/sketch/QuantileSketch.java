@@ -0,0 +1,152 @@
+package com.example.transaction_api.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Mergeable quantile sketch for transaction amounts.
+ *
+ * Values are counted in logarithmic buckets with a fixed relative
+ * accuracy (1% by default), the same idea as DDSketch. Memory is a fixed
+ * array of counters regardless of how many values are added, and two
+ * sketches merge exactly by adding their counters.
+ */
+public class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // Amounts below MIN_VALUE share the first bucket, above MAX_VALUE the last one
+    private static final double MIN_VALUE = 0.01;
+    private static final double MAX_VALUE = 1e12;
+    private static final int MIN_INDEX = bucketIndex(MIN_VALUE);
+    private static final int BUCKETS = bucketIndex(MAX_VALUE) - MIN_INDEX + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public synchronized void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        counts[slot(value)]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the estimated value, or 0 if the sketch is empty
+     */
+    public synchronized double quantile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        if (quantile <= 0) {
+            return min;
+        }
+        if (quantile >= 1) {
+            return max;
+        }
+
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(GAMMA, i + MIN_INDEX) / (GAMMA + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMin() {
+        return count == 0 ? 0.0 : min;
+    }
+
+    public synchronized double getMax() {
+        return count == 0 ? 0.0 : max;
+    }
+
+    public void merge(QuantileSketch other) {
+        long[] otherCounts;
+        long otherCount;
+        double otherMin;
+        double otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherCount = other.count;
+            otherMin = other.min;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            count += otherCount;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+
+        // Sparse encoding: only non-empty buckets
+        int nonEmpty = 0;
+        for (long c : counts) {
+            if (c != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeShort(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public static QuantileSketch readFrom(DataInputStream in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int slot = in.readUnsignedShort();
+            long c = in.readLong();
+            if (slot < BUCKETS) {
+                sketch.counts[slot] = c;
+            }
+        }
+        return sketch;
+    }
+
+    private static int slot(double value) {
+        if (value <= MIN_VALUE) {
+            return 0;
+        }
+        if (value >= MAX_VALUE) {
+            return BUCKETS - 1;
+        }
+        return bucketIndex(value) - MIN_INDEX;
+    }
+
+    private static int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+}
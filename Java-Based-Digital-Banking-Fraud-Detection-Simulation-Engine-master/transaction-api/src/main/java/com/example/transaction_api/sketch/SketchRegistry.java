@@ -0,0 +1,214 @@
+package com.example.transaction_api.sketch;
+
+import com.example.transaction_api.model.AmountQuantiles;
+import com.example.transaction_api.model.DistinctCount;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.service.TransactionObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Keeps per-day probabilistic sketches (distinct senders, distinct IPs per
+ * location, amount quantiles per channel and currency), updated from the
+ * decision path. Days are merged on read, so any range of retained days can
+ * be answered without touching TRANSACTIONS. Sketches are written to disk
+ * periodically and reloaded on startup.
+ */
+@Component
+public class SketchRegistry implements TransactionObserver {
+
+    private static final Logger logger = LoggerFactory.getLogger(SketchRegistry.class);
+
+    private static final String FILE_PREFIX = "sketches-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int FORMAT_VERSION = 1;
+
+    private final NavigableMap<LocalDate, DailySketches> days = new ConcurrentSkipListMap<>();
+    private final int retentionDays;
+    private final Path directory;
+
+    public SketchRegistry(@Value("${sketch.retention-days:7}") int retentionDays,
+            @Value("${sketch.persistence.dir:data/sketches}") String directory) {
+        this.retentionDays = retentionDays;
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public void onTransactionDecided(Transaction txn, long latencyNanos) {
+        LocalDate today = LocalDate.now();
+        LocalDate day = txn.getTimestamp() != null ? txn.getTimestamp().toLocalDate() : today;
+        if (day.isAfter(today)) {
+            day = today;
+        }
+        if (day.isBefore(today.minusDays(retentionDays - 1L))) {
+            return; // outside the retained window
+        }
+
+        days.computeIfAbsent(day, d -> new DailySketches()).record(
+                txn.getSenderAccount(),
+                txn.getIpAddress(),
+                txn.getLocation(),
+                txn.getChannel(),
+                txn.getCurrency(),
+                txn.getAmount());
+    }
+
+    /* ================= QUERIES ================= */
+
+    public long distinctSenders(int lastDays) {
+        HyperLogLog merged = new HyperLogLog();
+        for (DailySketches day : window(lastDays)) {
+            merged.merge(day.getSenders());
+        }
+        return merged.estimate();
+    }
+
+    public List<DistinctCount> distinctIpsByLocation(int lastDays) {
+        Map<String, HyperLogLog> merged = new HashMap<>();
+        for (DailySketches day : window(lastDays)) {
+            day.getIpsByLocation().forEach((location, sketch) ->
+                    merged.computeIfAbsent(location, k -> new HyperLogLog()).merge(sketch));
+        }
+
+        List<DistinctCount> result = new ArrayList<>();
+        merged.forEach((location, sketch) -> result.add(new DistinctCount(location, sketch.estimate())));
+        result.sort(Comparator.comparingLong(DistinctCount::getEstimate).reversed());
+        return result;
+    }
+
+    public List<AmountQuantiles> amountQuantiles(String dimension, int lastDays) {
+        Function<DailySketches, Map<String, QuantileSketch>> selector;
+        if ("currency".equalsIgnoreCase(dimension)) {
+            selector = DailySketches::getAmountByCurrency;
+        } else if ("channel".equalsIgnoreCase(dimension)) {
+            selector = DailySketches::getAmountByChannel;
+        } else {
+            throw new IllegalArgumentException("Unsupported dimension '" + dimension + "'. Use channel or currency");
+        }
+
+        Map<String, QuantileSketch> merged = new HashMap<>();
+        for (DailySketches day : window(lastDays)) {
+            selector.apply(day).forEach((key, sketch) ->
+                    merged.computeIfAbsent(key, k -> new QuantileSketch()).merge(sketch));
+        }
+
+        List<AmountQuantiles> result = new ArrayList<>();
+        merged.forEach((key, sketch) -> result.add(new AmountQuantiles(
+                dimension.toLowerCase(),
+                key,
+                sketch.getCount(),
+                sketch.quantile(0.50),
+                sketch.quantile(0.95),
+                sketch.quantile(0.99),
+                sketch.getMin(),
+                sketch.getMax())));
+        result.sort(Comparator.comparingLong(AmountQuantiles::getCount).reversed());
+        return result;
+    }
+
+    private List<DailySketches> window(int lastDays) {
+        if (lastDays < 1 || lastDays > retentionDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + retentionDays);
+        }
+        LocalDate from = LocalDate.now().minusDays(lastDays - 1L);
+        return new ArrayList<>(days.tailMap(from, true).values());
+    }
+
+    /* ================= PERSISTENCE ================= */
+
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                LocalDate day = parseDay(file);
+                if (day == null || day.isBefore(oldest)) {
+                    continue;
+                }
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    if (in.readInt() != FORMAT_VERSION) {
+                        logger.warn("Skipping sketch file {} with unknown format", file);
+                        continue;
+                    }
+                    days.computeIfAbsent(day, d -> new DailySketches()).merge(DailySketches.readFrom(in));
+                }
+            }
+            logger.info("Loaded sketches for {} day(s) from {}", days.size(), directory);
+        } catch (IOException e) {
+            logger.error("Failed to load sketches from {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${sketch.persist-interval-ms:60000}")
+    public void persist() {
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        days.headMap(oldest, false).clear();
+
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<LocalDate, DailySketches> entry : days.entrySet()) {
+                Path target = directory.resolve(FILE_PREFIX + entry.getKey() + FILE_SUFFIX);
+                Path temp = directory.resolve(target.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    entry.getValue().writeTo(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            deleteExpiredFiles(oldest);
+        } catch (IOException e) {
+            logger.error("Failed to persist sketches to {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteExpiredFiles(LocalDate oldest) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                LocalDate day = parseDay(file);
+                if (day != null && day.isBefore(oldest)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static LocalDate parseDay(Path file) {
+        String name = file.getFileName().toString();
+        String date = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- Oracle Database Table Creation Script for the decision outbox
+-- Run after create_transactions_table.sql
+
+-- One row per decided transaction, inserted in the same database
+-- transaction as its TRANSACTIONS row and deleted by OutboxRelay once a
+-- sink has accepted it. EVENT_ID is the transaction's time-ordered ID, so
+-- the relay reads the oldest events from the left edge of the primary key.
+CREATE TABLE TRANSACTION_OUTBOX (
+    EVENT_ID NUMBER(19) NOT NULL,
+    TRANSACTION_ID VARCHAR2(64) NOT NULL,
+    CREATED_AT TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    -- Decision event as single-line JSON
+    PAYLOAD VARCHAR2(4000) NOT NULL,
+    CONSTRAINT PK_TRANSACTION_OUTBOX PRIMARY KEY (EVENT_ID)
+);
+
+-- Verify table creation
+SELECT * FROM TRANSACTION_OUTBOX;
@@ -1,9 +1,16 @@
 -- Oracle Database Table Creation Script for Transactions
 -- Run this script in Oracle SQL*Plus or SQL Developer if the table doesn't exist
 
+-- Range-partitioned by TIMESTAMP_VAL with one partition per day, created
+-- automatically as rows arrive (interval partitioning). For monthly
+-- partitions use INTERVAL (NUMTOYMINTERVAL(1, 'MONTH')).
 CREATE TABLE TRANSACTIONS (
-    TRANSACTION_ID VARCHAR2(64) PRIMARY KEY,
-    TIMESTAMP_VAL TIMESTAMP DEFAULT SYSTIMESTAMP,
+    -- Time-ordered 64-bit key from TransactionIdGenerator, so inserts
+    -- append to the right edge of the primary-key index
+    ID NUMBER(19) NOT NULL,
+    -- Client-supplied ID, used for idempotency
+    TRANSACTION_ID VARCHAR2(64) NOT NULL,
+    TIMESTAMP_VAL TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     CURRENCY VARCHAR2(10) NOT NULL,
     AMOUNT NUMBER(18,2) NOT NULL,
     SENDER_ACCOUNT VARCHAR2(50) NOT NULL,
@@ -11,15 +18,39 @@ CREATE TABLE TRANSACTIONS (
     TRANSACTION_TYPE VARCHAR2(20),
     CHANNEL VARCHAR2(20),
     STATUS VARCHAR2(20),
-    IP_ADDRESS VARCHAR2(15),
+    IP_ADDRESS VARCHAR2(45),
     LOCATION VARCHAR2(50),
     FRAUD_FLAG NUMBER(1) DEFAULT 0,
+    -- Decision reasons as a bitmask; bits are defined by ReasonCode
+    REASON_CODES NUMBER(19) DEFAULT 0 NOT NULL,
+    -- Free-text reason, only set on rows decided before REASON_CODES existed
     FRAUD_REASON VARCHAR2(500),
-    ML_SCORE NUMBER(5,4) DEFAULT 0.0
+    ML_SCORE NUMBER(5,4) DEFAULT 0.0,
+    CONSTRAINT PK_TRANSACTIONS PRIMARY KEY (ID),
+    CONSTRAINT UK_TRANSACTIONS_TXN_ID UNIQUE (TRANSACTION_ID)
+)
+PARTITION BY RANGE (TIMESTAMP_VAL)
+INTERVAL (NUMTODSINTERVAL(1, 'DAY'))
+(
+    PARTITION P_INITIAL VALUES LESS THAN (TIMESTAMP '2024-01-01 00:00:00')
 );
 
--- Optional: Create an index on timestamp for faster queries
-CREATE INDEX IDX_TRANSACTIONS_TIMESTAMP ON TRANSACTIONS(TIMESTAMP_VAL);
+-- Local (per-partition) indexes, so dropping or compressing a partition
+-- only touches that partition. The primary key and TRANSACTION_ID unique
+-- key stay global indexes because neither contains the partition key.
+CREATE INDEX IDX_TRANSACTIONS_TIMESTAMP ON TRANSACTIONS(TIMESTAMP_VAL) LOCAL;
+CREATE INDEX IDX_TRANSACTIONS_SENDER_TS ON TRANSACTIONS(SENDER_ACCOUNT, TIMESTAMP_VAL) LOCAL;
+CREATE INDEX IDX_TRANSACTIONS_FRAUD_TS ON TRANSACTIONS(FRAUD_FLAG, TIMESTAMP_VAL) LOCAL;
+CREATE INDEX IDX_TRANSACTIONS_RECEIVER_TS ON TRANSACTIONS(RECEIVER_ACCOUNT, TIMESTAMP_VAL) LOCAL;
+
+-- Per-reason counts range-scan this index by TIMESTAMP_VAL and group on
+-- REASON_CODES without visiting the table. BITAND(REASON_CODES, :bit)
+-- cannot drive an index lookup; it is only checked against the index
+-- entries in the time range before rows are fetched. A B-tree rather than
+-- a bitmap index: rows are inserted concurrently by request threads and by
+-- the journal replicator on every instance, and bitmap indexes lock whole
+-- key ranges on DML.
+CREATE INDEX IDX_TRANSACTIONS_REASON_TS ON TRANSACTIONS(TIMESTAMP_VAL, REASON_CODES) LOCAL;
 
 -- Verify table creation
 SELECT * FROM TRANSACTIONS;
@@ -27,3 +58,36 @@ SELECT * FROM TRANSACTIONS;
 -- If table already exists, add ML_SCORE column:
 -- ALTER TABLE TRANSACTIONS ADD ML_SCORE NUMBER(5,4) DEFAULT 0.0;
 
+-- If table already exists, widen IP_ADDRESS for IPv6 addresses:
+-- ALTER TABLE TRANSACTIONS MODIFY IP_ADDRESS VARCHAR2(45);
+
+-- If table already exists as a heap table, partition it in place (12.2+):
+-- ALTER TABLE TRANSACTIONS MODIFY TIMESTAMP_VAL NOT NULL;
+-- ALTER TABLE TRANSACTIONS MODIFY
+--     PARTITION BY RANGE (TIMESTAMP_VAL) INTERVAL (NUMTODSINTERVAL(1, 'DAY'))
+--     (PARTITION P_INITIAL VALUES LESS THAN (TIMESTAMP '2024-01-01 00:00:00'))
+--     ONLINE
+--     UPDATE INDEXES (IDX_TRANSACTIONS_TIMESTAMP LOCAL);
+-- CREATE INDEX IDX_TRANSACTIONS_SENDER_TS ON TRANSACTIONS(SENDER_ACCOUNT, TIMESTAMP_VAL) LOCAL;
+-- CREATE INDEX IDX_TRANSACTIONS_FRAUD_TS ON TRANSACTIONS(FRAUD_FLAG, TIMESTAMP_VAL) LOCAL;
+-- CREATE INDEX IDX_TRANSACTIONS_RECEIVER_TS ON TRANSACTIONS(RECEIVER_ACCOUNT, TIMESTAMP_VAL) LOCAL;
+
+-- If table already exists, add REASON_CODES (older rows keep FRAUD_REASON text):
+-- ALTER TABLE TRANSACTIONS ADD REASON_CODES NUMBER(19) DEFAULT 0 NOT NULL;
+-- CREATE INDEX IDX_TRANSACTIONS_REASON_TS ON TRANSACTIONS(TIMESTAMP_VAL, REASON_CODES) LOCAL;
+
+-- If the earlier bitmap index on REASON_CODES exists, replace it:
+-- DROP INDEX IDX_TRANSACTIONS_REASON;
+-- CREATE INDEX IDX_TRANSACTIONS_REASON_TS ON TRANSACTIONS(TIMESTAMP_VAL, REASON_CODES) LOCAL;
+
+-- If table already exists, move the primary key to a time-ordered ID
+-- (rows inserted before the change get IDs from a sequence, which sort
+-- below generated ones):
+-- ALTER TABLE TRANSACTIONS ADD ID NUMBER(19);
+-- CREATE SEQUENCE TRANSACTIONS_ID_BACKFILL;
+-- UPDATE TRANSACTIONS SET ID = TRANSACTIONS_ID_BACKFILL.NEXTVAL;
+-- ALTER TABLE TRANSACTIONS MODIFY ID NOT NULL;
+-- ALTER TABLE TRANSACTIONS DROP PRIMARY KEY DROP INDEX;
+-- ALTER TABLE TRANSACTIONS ADD CONSTRAINT PK_TRANSACTIONS PRIMARY KEY (ID);
+-- ALTER TABLE TRANSACTIONS ADD CONSTRAINT UK_TRANSACTIONS_TXN_ID UNIQUE (TRANSACTION_ID);
+-- DROP SEQUENCE TRANSACTIONS_ID_BACKFILL;
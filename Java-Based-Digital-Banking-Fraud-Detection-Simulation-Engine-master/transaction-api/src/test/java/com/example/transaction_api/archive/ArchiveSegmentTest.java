@@ -0,0 +1,210 @@
+package com.example.transaction_api.archive;
+
+import com.example.transaction_api.model.CompactTransaction;
+import com.example.transaction_api.model.ReasonCode;
+import com.example.transaction_api.model.TransactionQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveSegmentTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void currentVersionRoundTripsEveryColumn() throws IOException {
+        List<CompactTransaction> rows = rows();
+        List<CompactTransaction> read = ArchiveSegment.readAll(written(rows, ArchiveSegment.VERSION));
+
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CompactTransaction expected = rows.get(i);
+            CompactTransaction actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getCurrency(), actual.getCurrency());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getSenderAccount(), actual.getSenderAccount());
+            assertEquals(expected.getReceiverAccount(), actual.getReceiverAccount());
+            assertEquals(expected.getTransactionType(), actual.getTransactionType());
+            assertEquals(expected.getChannel(), actual.getChannel());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getIpAddress(), actual.getIpAddress());
+            assertEquals(expected.getLocation(), actual.getLocation());
+            assertEquals(expected.isFraud(), actual.isFraud());
+            assertEquals(expected.getReasonCodes(), actual.getReasonCodes());
+            assertEquals(expected.getLegacyFraudReason(), actual.getLegacyFraudReason());
+            assertEquals(expected.getMlScore(), actual.getMlScore());
+        }
+    }
+
+    @Test
+    void versionOneFilesReadBackWithoutReasonCodesOrIds() throws IOException {
+        List<CompactTransaction> rows = rows();
+        List<CompactTransaction> read = ArchiveSegment.readAll(written(rows, 1));
+
+        assertEquals(transactionIds(rows), transactionIds(read));
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(0L, read.get(i).getReasonCodes());
+            assertEquals(CompactTransaction.NO_ID, read.get(i).getId());
+            assertEquals(rows.get(i).getLegacyFraudReason(), read.get(i).getLegacyFraudReason());
+            assertEquals(rows.get(i).getAmount(), read.get(i).getAmount());
+        }
+    }
+
+    @Test
+    void versionTwoFilesReadBackWithoutIds() throws IOException {
+        List<CompactTransaction> rows = rows();
+        List<CompactTransaction> read = ArchiveSegment.readAll(written(rows, 2));
+
+        assertEquals(transactionIds(rows), transactionIds(read));
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i).getReasonCodes(), read.get(i).getReasonCodes());
+            assertEquals(CompactTransaction.NO_ID, read.get(i).getId());
+        }
+    }
+
+    @Test
+    void queriesFilterOnEveryVersion() throws IOException {
+        for (int version = 1; version <= ArchiveSegment.VERSION; version++) {
+            ArchiveSegmentIndex index = written(rows(), version);
+            TransactionQuery account = new TransactionQuery("ACC2", DAY.atStartOfDay(),
+                    DAY.plusDays(1).atStartOfDay(), false, 0L, 100);
+            assertTrue(index.mightMatch(account));
+            // Newest first
+            assertEquals(List.of("T4", "T2", "T0"), transactionIds(ArchiveSegment.read(index, account)));
+
+            TransactionQuery fraud = new TransactionQuery(null, DAY.atStartOfDay(),
+                    DAY.plusDays(1).atStartOfDay(), true, 0L, 100);
+            assertEquals(List.of("T3", "T0"), transactionIds(ArchiveSegment.read(index, fraud)));
+
+            TransactionQuery limited = new TransactionQuery(null, DAY.atStartOfDay(),
+                    DAY.plusDays(1).atStartOfDay(), false, 0L, 2);
+            assertEquals(List.of("T5", "T4"), transactionIds(ArchiveSegment.read(index, limited)));
+        }
+    }
+
+    @Test
+    void emptySegmentRoundTrips() throws IOException {
+        ArchiveSegmentIndex index = written(List.of(), ArchiveSegment.VERSION);
+        assertEquals(0, index.getRowCount());
+        assertNull(index.getMinTimestamp());
+        assertTrue(ArchiveSegment.readAll(index).isEmpty());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path file = directory.resolve("garbage.seg");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> ArchiveSegment.readIndex(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArchiveSegment.write(directory.resolve("v9.seg"), rows(), 0.01, ArchiveSegment.VERSION + 1));
+    }
+
+    @Test
+    void storeWritesVerifiedSegmentsAndReadsThemBackByDay() throws IOException {
+        ArchiveStore store = new ArchiveStore(directory.toString(), 0.01);
+        store.write(DAY, rows());
+
+        assertTrue(store.contains(DAY));
+        assertEquals(DAY.plusDays(1).atStartOfDay(), store.getWatermark());
+        assertEquals(transactionIds(rows()), transactionIds(store.readDay(DAY)));
+    }
+
+    @Test
+    void storeSeesSegmentsWrittenByAnotherInstance() throws IOException {
+        ArchiveStore reader = new ArchiveStore(directory.toString(), 0.01);
+        reader.load();
+        assertNull(reader.getWatermark());
+
+        ArchiveStore writer = new ArchiveStore(directory.toString(), 0.01);
+        writer.write(DAY, rows());
+        writer.write(DAY.plusDays(1), List.of(row(9, DAY.plusDays(1).atTime(8, 0), "ACC1", "ACC2", false)));
+
+        reader.refresh();
+        assertEquals(DAY.plusDays(2).atStartOfDay(), reader.getWatermark());
+        assertNotNull(reader.readDay(DAY));
+
+        writer.deleteBefore(DAY.plusDays(1));
+        reader.refresh();
+        assertTrue(!reader.contains(DAY), "a segment deleted by the writer must disappear from the reader");
+        assertTrue(reader.contains(DAY.plusDays(1)));
+    }
+
+    @Test
+    void onlyOneWriterHoldsTheLock() throws IOException {
+        ArchiveStore store = new ArchiveStore(directory.toString(), 0.01);
+        try (FileChannel lock = store.tryLockWriter()) {
+            assertNotNull(lock);
+            // A second instance locks the same file through its own channel
+            assertThrows(java.nio.channels.OverlappingFileLockException.class,
+                    () -> new ArchiveStore(directory.toString(), 0.01).tryLockWriter());
+        }
+        try (FileChannel again = store.tryLockWriter()) {
+            assertNotNull(again, "the lock is released when the channel closes");
+        }
+    }
+
+    private ArchiveSegmentIndex written(List<CompactTransaction> rows, int version) throws IOException {
+        Path file = directory.resolve("v" + version + "-" + rows.size() + ".seg");
+        ArchiveSegment.write(file, rows, 0.01, version);
+        return ArchiveSegment.readIndex(file);
+    }
+
+    // Oldest first, with nulls in the optional columns
+    private static List<CompactTransaction> rows() {
+        List<CompactTransaction> rows = new ArrayList<>();
+        rows.add(row(0, DAY.atTime(0, 0), "ACC1", "ACC2", true));
+        rows.add(row(1, DAY.atTime(1, 30), "ACC3", "ACC4", false));
+        rows.add(row(2, DAY.atTime(9, 15, 30), "ACC2", "ACC5", false));
+        rows.add(row(3, DAY.atTime(12, 0), "ACC6", "ACC1", true));
+        rows.add(row(4, DAY.atTime(18, 45), "ACC6", "ACC2", false));
+        rows.add(row(5, DAY.atTime(23, 59, 59, 999_000_000), "ACC7", "ACC8", false));
+        return rows;
+    }
+
+    private static CompactTransaction row(int i, LocalDateTime timestamp, String sender, String receiver,
+                                          boolean fraud) {
+        boolean legacy = i % 2 == 1;
+        return new CompactTransaction(
+                1_000L + i,
+                "T" + i,
+                timestamp,
+                "INR",
+                100.25 * (i + 1),
+                sender,
+                receiver,
+                i % 3 == 0 ? null : "TRANSFER",
+                "UPI",
+                fraud ? "FAILED" : "SUCCESS",
+                i == 2 ? null : "10.0.0." + i,
+                "Mumbai",
+                fraud,
+                fraud ? ReasonCode.HIGH_AMOUNT.bit() : 0L,
+                legacy ? "Legacy reason " + i : null,
+                i == 4 ? null : 0.1 * i);
+    }
+
+    private static List<String> transactionIds(List<CompactTransaction> rows) {
+        return rows.stream().map(CompactTransaction::getTransactionId).collect(Collectors.toList());
+    }
+}
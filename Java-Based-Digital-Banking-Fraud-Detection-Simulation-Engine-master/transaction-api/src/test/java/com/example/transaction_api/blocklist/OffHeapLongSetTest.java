@@ -0,0 +1,86 @@
+package com.example.transaction_api.blocklist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapLongSetTest {
+
+    @Test
+    void keepsEveryEntryAcrossRehashes() {
+        OffHeapLongSet set = new OffHeapLongSet(16);
+        long initialBytes = set.offHeapBytes();
+
+        SplittableRandom random = new SplittableRandom(11);
+        Set<Long> expected = new HashSet<>();
+        while (expected.size() < 100_000) {
+            long value = random.nextLong();
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        assertTrue(set.offHeapBytes() > initialBytes, "the table should have grown");
+        for (long value : expected) {
+            assertTrue(set.contains(value), "lost " + value + " while rehashing");
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong();
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void keepsLoadBelowSeventyPercent() {
+        OffHeapLongSet set = new OffHeapLongSet(16);
+        for (long value = 1; value <= 50_000; value++) {
+            set.add(value * 0x9E3779B97F4A7C15L);
+            long slots = set.offHeapBytes() / Long.BYTES;
+            assertTrue(set.size() <= slots * 0.7, set.size() + " entries in " + slots + " slots");
+        }
+    }
+
+    @Test
+    void sequentialKeysDoNotCollideIntoOneCluster() {
+        OffHeapLongSet set = new OffHeapLongSet(1_000);
+        for (long value = 1; value <= 10_000; value++) {
+            assertTrue(set.add(value));
+        }
+        for (long value = 1; value <= 10_000; value++) {
+            assertTrue(set.contains(value));
+        }
+        assertFalse(set.contains(10_001));
+    }
+
+    @Test
+    void storesZeroAlthoughZeroMarksEmptySlots() {
+        OffHeapLongSet set = new OffHeapLongSet(16);
+        assertFalse(set.contains(0));
+
+        assertTrue(set.add(0));
+        assertTrue(set.contains(0));
+        assertFalse(set.add(0));
+        assertEquals(1, set.size());
+
+        // Zero is stored as one, so the two share a slot
+        assertTrue(set.contains(1));
+        assertFalse(set.add(1));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void zeroSurvivesRehash() {
+        OffHeapLongSet set = new OffHeapLongSet(16);
+        set.add(0);
+        for (long value = 2; value < 10_000; value++) {
+            set.add(value);
+        }
+        assertTrue(set.contains(0));
+        assertEquals(9_999, set.size());
+    }
+}
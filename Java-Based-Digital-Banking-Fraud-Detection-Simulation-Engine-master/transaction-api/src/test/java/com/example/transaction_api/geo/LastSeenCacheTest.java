@@ -0,0 +1,127 @@
+package com.example.transaction_api.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LastSeenCacheTest {
+
+    private static final long TTL = 60_000;
+
+    // One segment of the minimum 16 entries: a 32-slot index
+    private static final int CAPACITY = 16;
+    private static final int SLOTS = 32;
+
+    @Test
+    void returnsThePreviousValueOfALiveEntry() {
+        LastSeenCache cache = new LastSeenCache(CAPACITY, TTL, 1);
+        assertEquals(LastSeenCache.ABSENT, cache.put(42L, 1L, 0));
+        assertEquals(1L, cache.put(42L, 2L, 10));
+        assertEquals(2L, cache.put(42L, 3L, 20));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void entryExpiresOneMillisecondAfterTheTtl() {
+        LastSeenCache cache = new LastSeenCache(CAPACITY, TTL, 1);
+        cache.put(1L, 10L, 1_000);
+        assertEquals(10L, cache.put(1L, 11L, 1_000 + TTL), "still live exactly at the TTL");
+
+        // Each put restarts the clock for the entry
+        assertEquals(LastSeenCache.ABSENT, cache.put(1L, 12L, 1_000 + 2 * TTL + 1));
+        assertEquals(12L, cache.put(1L, 13L, 1_000 + 2 * TTL + 1));
+        assertEquals(1, cache.size(), "an expired entry is overwritten in place");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        LastSeenCache cache = new LastSeenCache(CAPACITY, TTL, 1);
+        for (long key = 0; key < CAPACITY; key++) {
+            cache.put(key, key, 0);
+        }
+        cache.put(0L, 100L, 1);                         // 0 is now the most recent, 1 the least
+        cache.put(CAPACITY, CAPACITY, 2);               // evicts 1
+
+        assertEquals(CAPACITY, cache.size());
+        assertEquals(100L, cache.put(0L, 0L, 3));
+        assertEquals(LastSeenCache.ABSENT, cache.put(1L, 1L, 4), "the LRU entry was evicted");
+        assertEquals(CAPACITY, cache.size());
+    }
+
+    @Test
+    void evictionKeepsCollidingKeysReachable() {
+        // Keys that share a home slot form one probe run; deleting the first
+        // must shift the rest back so lookups do not stop at the hole
+        for (int home : new int[]{5, SLOTS - 2}) { // SLOTS - 2: the run wraps past the end of the index
+            List<Long> colliding = keysWithHomeSlot(home, 6);
+            LastSeenCache cache = new LastSeenCache(CAPACITY, TTL, 1);
+            for (long key : colliding) {
+                cache.put(key, key + 1, 0);
+            }
+            fillWithOtherKeys(cache, colliding, home);
+
+            // The first colliding key is the LRU entry
+            cache.put(-1L, 0L, 1);
+            for (int i = 1; i < colliding.size(); i++) {
+                long key = colliding.get(i);
+                assertEquals(key + 1, cache.put(key, key + 1, 2), "key " + i + " lost after home-slot " + home);
+            }
+            assertEquals(LastSeenCache.ABSENT, cache.put(colliding.get(0), 0L, 3));
+        }
+    }
+
+    @Test
+    void matchesAnLruModelUnderRandomChurn() {
+        // 40 keys into 16 entries and 32 slots: long probe runs and constant deletes
+        LastSeenCache cache = new LastSeenCache(CAPACITY, TTL, 1);
+        Map<Long, Long> model = new LinkedHashMap<>(16, 0.75f, true);
+        Random random = new Random(7);
+        for (int op = 0; op < 200_000; op++) {
+            long key = random.nextInt(40) * 0x9E3779B97F4A7C15L;
+            long value = op;
+            Long expected = model.put(key, value);
+            if (model.size() > CAPACITY) {
+                Long eldest = model.keySet().iterator().next();
+                model.remove(eldest);
+            }
+            assertEquals(expected != null ? expected : LastSeenCache.ABSENT, cache.put(key, value, 0),
+                    "operation " + op);
+        }
+        assertEquals(CAPACITY, cache.size());
+    }
+
+    private static void fillWithOtherKeys(LastSeenCache cache, List<Long> colliding, int home) {
+        long key = 1_000_000;
+        for (int filled = colliding.size(); filled < CAPACITY; key++) {
+            int slot = homeSlot(key);
+            if (slot != home && !colliding.contains(key)) {
+                cache.put(key, key + 1, 0);
+                filled++;
+            }
+        }
+    }
+
+    private static List<Long> keysWithHomeSlot(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (homeSlot(key) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    // Same mixer as the segment index
+    private static int homeSlot(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & (SLOTS - 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.transaction_api.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void idsAreMonotonicAndUniqueUnderContention() throws Exception {
+        TransactionIdGenerator generator = new TransactionIdGenerator(7);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Callable<long[]> task = () -> {
+                long[] ids = new long[IDS_PER_THREAD];
+                start.await();
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            };
+            List<Future<long[]>> futures = IntStream.range(0, THREADS)
+                    .mapToObj(i -> pool.submit(task))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            Set<Long> all = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1], "ID " + ids[i] + " after " + ids[i - 1]);
+                }
+                for (long id : ids) {
+                    all.add(id);
+                }
+            }
+            assertEquals(THREADS * IDS_PER_THREAD, all.size(), "duplicate IDs under contention");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void bitLayoutIsMillisNodeSequence() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(0x2A5);
+        long before = System.currentTimeMillis();
+        long first = generator.nextId();
+        long second = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        // [41 bits millis since 2024-01-01][10 bits node][12 bits sequence]
+        assertTrue(first > 0, "the sign bit must stay clear");
+        assertEquals(0x2A5, (first >>> 12) & 0x3FF);
+        assertEquals(0x2A5, (second >>> 12) & 0x3FF);
+        long millis = TransactionIdGenerator.timestampOf(first);
+        assertTrue(millis >= before && millis <= after, millis + " outside [" + before + ", " + after + "]");
+        assertEquals(millis, (first >>> 22) + 1_704_067_200_000L);
+
+        if (TransactionIdGenerator.timestampOf(second) == millis) {
+            assertEquals((first & 0xFFF) + 1, second & 0xFFF, "sequence within one millisecond");
+        } else {
+            assertEquals(0, second & 0xFFF, "sequence restarts in a new millisecond");
+        }
+    }
+
+    @Test
+    void sequenceOverflowCarriesIntoTheNextMillisecond() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(1);
+        long previous = generator.nextId();
+        // More than one millisecond's 4096 sequence values, faster than the clock moves
+        for (int i = 0; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(1, (id >>> 12) & 0x3FF);
+            previous = id;
+        }
+    }
+
+    @Test
+    void rejectsNodeIdsThatDoNotFitTenBits() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+        assertEquals(1023, new TransactionIdGenerator(1023).getNodeId());
+    }
+}
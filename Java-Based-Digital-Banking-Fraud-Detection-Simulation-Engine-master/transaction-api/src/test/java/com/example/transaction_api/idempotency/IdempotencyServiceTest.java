@@ -0,0 +1,143 @@
+package com.example.transaction_api.idempotency;
+
+import com.example.transaction_api.journal.TransactionJournal;
+import com.example.transaction_api.model.Transaction;
+import com.example.transaction_api.model.TransactionDecision;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private static final long WAIT_MILLIS = 200;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void duplicateAfterCompleteGetsTheOriginalDecision() throws IOException {
+        IdempotencyService service = service(journal(false), 100);
+        assertNull(service.claim("T1"));
+        service.complete(decided("T1", 11L, "FAILED"));
+
+        TransactionDecision original = service.claim("T1");
+        assertEquals(11L, original.getId());
+        assertEquals("FAILED", original.getStatus());
+        assertEquals(1, service.getMemoryHits());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheOriginal() throws Exception {
+        IdempotencyService service = service(journal(false), 100);
+        assertNull(service.claim("T1"));
+
+        CompletableFuture<TransactionDecision> duplicate = CompletableFuture.supplyAsync(() -> service.claim("T1"));
+        Thread.sleep(WAIT_MILLIS / 4);
+        assertFalse(duplicate.isDone(), "the duplicate must wait while the original is scored");
+        service.complete(decided("T1", 11L, "SUCCESS"));
+
+        assertEquals(11L, duplicate.get(1, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    void concurrentDuplicateIsRejectedWhenTheOriginalTakesTooLong() throws IOException {
+        IdempotencyService service = service(journal(false), 100);
+        assertNull(service.claim("T1"));
+
+        // Surfaces as a 409 from TransactionController
+        assertThrows(TransactionInProgressException.class, () -> service.claim("T1"));
+
+        service.complete(decided("T1", 11L, "SUCCESS"));
+        assertEquals(11L, service.claim("T1").getId());
+    }
+
+    @Test
+    void abandonedClaimIsTakenOverByTheWaitingDuplicate() throws Exception {
+        IdempotencyService service = service(journal(false), 100);
+        assertNull(service.claim("T1"));
+
+        CompletableFuture<TransactionDecision> duplicate = CompletableFuture.supplyAsync(() -> service.claim("T1"));
+        Thread.sleep(WAIT_MILLIS / 4);
+        service.abandon("T1", new IllegalStateException("ML service down"));
+
+        // null: the retry now owns the ID and scores it
+        assertNull(duplicate.get(1, TimeUnit.SECONDS));
+        assertThrows(TransactionInProgressException.class, () -> service.claim("T1"));
+    }
+
+    @Test
+    void unreplicatedDecisionsAreNotEvicted() throws IOException {
+        IdempotencyService service = service(journal(true), 2);
+        for (int i = 0; i < 5; i++) {
+            service.claim("T" + i);
+            service.complete(decided("T" + i, (long) i, "SUCCESS"));
+        }
+        assertEquals(5, service.size(), "decisions not yet in TRANSACTIONS must stay in memory");
+        assertEquals(5, service.getUnreplicated());
+
+        service.replicated(List.of(decided("T0", 0L, "SUCCESS"), decided("T1", 1L, "SUCCESS"),
+                decided("T2", 2L, "SUCCESS")));
+        service.claim("T5");
+        service.complete(decided("T5", 5L, "SUCCESS"));
+        assertTrue(service.size() <= 3, "replicated decisions are evictable again, size " + service.size());
+        assertEquals(3L, service.claim("T3").getId());
+    }
+
+    @Test
+    void unreplicatedJournalTailIsLoadedOnStartup() throws IOException, ExecutionException, InterruptedException {
+        TransactionJournal journal = journal(true);
+        journal.append(decided("T1", 11L, "FAILED"));
+        long replicated = journal.append(decided("T2", 12L, "SUCCESS"));
+        journal.commit(replicated);
+        journal.append(decided("T3", 13L, "PENDING"));
+        journal.close();
+
+        // A restart before T3 was replicated: the database lookup could not see it yet
+        IdempotencyService restarted = service(journal(true), 100);
+        restarted.loadUnreplicated();
+
+        assertEquals(1, restarted.getUnreplicated());
+        TransactionDecision original = restarted.claim("T3");
+        assertEquals(13L, original.getId());
+        assertEquals("PENDING", original.getStatus());
+        assertNull(restarted.claim("T1"), "replicated records are left to the database lookup");
+    }
+
+    private IdempotencyService service(TransactionJournal journal, int maxEntries) {
+        // No database fallback: these tests only cover the in-memory claims
+        return new IdempotencyService(null, journal, maxEntries, false, WAIT_MILLIS);
+    }
+
+    private TransactionJournal journal(boolean enabled) throws IOException {
+        TransactionJournal journal = new TransactionJournal(enabled, directory.toString(), 4096, false);
+        journal.open();
+        return journal;
+    }
+
+    private static Transaction decided(String transactionId, Long id, String status) {
+        Transaction txn = new Transaction();
+        txn.setId(id);
+        txn.setTransactionId(transactionId);
+        txn.setTimestamp(LocalDateTime.of(2024, 3, 1, 12, 0));
+        txn.setAmount(2_500.0);
+        txn.setCurrency("INR");
+        txn.setSenderAccount("ACC1");
+        txn.setReceiverAccount("ACC2");
+        txn.setStatus(status);
+        txn.setFraudFlag(0);
+        return txn;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.transaction_api.ipreputation;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IpAddressesTest {
+
+    @Test
+    void parsesIpv4IntoTheMappedRange() {
+        assertParses("10.0.0.1", 0L, 0x0000_ffff_0a00_0001L);
+        assertParses("0.0.0.0", 0L, 0x0000_ffff_0000_0000L);
+        assertParses("255.255.255.255", 0L, 0x0000_ffff_ffff_ffffL);
+        assertEquals(0xC0A8_0101L, IpAddresses.parseIpv4("192.168.1.1", 0, 11));
+        assertEquals(0x0102_0304L, IpAddresses.parseIpv4("x1.2.3.4y", 1, 8), "parses only the given range");
+    }
+
+    @Test
+    void rejectsInvalidIpv4() {
+        for (String text : new String[]{"", "1", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1.2.3.256", "1..2.3",
+                ".1.2.3", "1.2.3.", "1.2.3.a", "1.2.3.4 ", " 1.2.3.4", "-1.2.3.4", "1.2.3.99999999999"}) {
+            assertRejected(text);
+        }
+    }
+
+    @Test
+    void parsesFullAndCompressedIpv6() {
+        assertParses("2001:0db8:0000:0000:0000:ff00:0042:8329", 0x2001_0db8_0000_0000L, 0x0000_ff00_0042_8329L);
+        assertParses("2001:db8::ff00:42:8329", 0x2001_0db8_0000_0000L, 0x0000_ff00_0042_8329L);
+        assertParses("::", 0L, 0L);
+        assertParses("::1", 0L, 1L);
+        assertParses("1::", 0x0001_0000_0000_0000L, 0L);
+        assertParses("fe80::", 0xfe80_0000_0000_0000L, 0L);
+        assertParses("FE80::ABCD", 0xfe80_0000_0000_0000L, 0xabcdL);
+        assertParses("1:2:3:4:5:6:7::", 0x0001_0002_0003_0004L, 0x0005_0006_0007_0000L);
+        assertParses("::2:3:4:5:6:7:8", 0x0000_0002_0003_0004L, 0x0005_0006_0007_0008L);
+    }
+
+    @Test
+    void parsesEmbeddedIpv4() {
+        // The IPv4-mapped form of an IPv4 address gets the same key as the address itself
+        assertParses("::ffff:10.0.0.1", 0L, 0x0000_ffff_0a00_0001L);
+        assertParses("::ffff:0a00:0001", 0L, 0x0000_ffff_0a00_0001L);
+        assertParses("64:ff9b::192.0.2.33", 0x0064_ff9b_0000_0000L, 0x0000_0000_c000_0221L);
+        assertParses("1:2:3:4:5:6:1.2.3.4", 0x0001_0002_0003_0004L, 0x0005_0006_0102_0304L);
+        assertParses("::1.2.3.4", 0L, 0x0000_0000_0102_0304L);
+    }
+
+    @Test
+    void rejectsInvalidIpv6() {
+        for (String text : new String[]{":", ":::", "1:2", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9",
+                "1::2::3", ":1:2:3:4:5:6:7", "1:2:3:4:5:6:7:", "1:2:3:4:5:6:7:8::", "::1:2:3:4:5:6:7:8",
+                "12345::", "g::", "::ffff:10.0.0", "::ffff:10.0.0.256", "1:2:3:4:5:6:7:1.2.3.4",
+                "::1.2.3.4:5", "1.2.3.4::", "fe80::1%eth0", "[::1]"}) {
+            assertRejected(text);
+        }
+        assertFalse(IpAddresses.parse(null, new long[2]));
+    }
+
+    @Test
+    void agreesWithInetAddress() throws UnknownHostException {
+        for (String text : new String[]{"2001:db8:85a3::8a2e:370:7334", "::ffff:1.2.3.4", "ff02::1:ff00:1",
+                "2001:db8:0:0:1:0:0:1", "2001:db8::1:0:0:1", "abcd:ef01:2345:6789:abcd:ef01:2345:6789"}) {
+            byte[] bytes = InetAddress.getByName(text).getAddress();
+            long[] out = new long[2];
+            assertTrue(IpAddresses.parse(text, out), text);
+            if (bytes.length == 4) {
+                // InetAddress unwraps ::ffff:a.b.c.d to IPv4
+                assertEquals(IpAddresses.IPV4_MAPPED_LOW_PREFIX | toLong(bytes, 0, 4), out[1], text);
+            } else {
+                assertEquals(toLong(bytes, 0, 8), out[0], text);
+                assertEquals(toLong(bytes, 8, 16), out[1], text);
+            }
+        }
+    }
+
+    private static void assertParses(String text, long high, long low) {
+        long[] out = new long[2];
+        assertTrue(IpAddresses.parse(text, out), text + " rejected");
+        assertEquals(high, out[0], text + " high bits");
+        assertEquals(low, out[1], text + " low bits");
+    }
+
+    private static void assertRejected(String text) {
+        assertFalse(IpAddresses.parse(text, new long[2]), text + " accepted");
+    }
+
+    private static long toLong(byte[] bytes, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
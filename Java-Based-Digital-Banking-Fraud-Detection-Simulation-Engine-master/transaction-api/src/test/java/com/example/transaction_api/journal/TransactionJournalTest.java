@@ -0,0 +1,180 @@
+package com.example.transaction_api.journal;
+
+import com.example.transaction_api.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionJournalTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+    private static final int HEADER_BYTES = 8; // [int length][int CRC32]
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackAppendedRecordsAcrossSegments() throws IOException {
+        TransactionJournal journal = open();
+        for (int i = 0; i < 100; i++) {
+            journal.append(transaction("T" + i));
+        }
+        journal.close();
+
+        TransactionJournal reopened = open();
+        List<String> ids = transactionIds(reopened.read(reopened.getCheckpoint(), 1_000));
+        assertEquals(100, ids.size());
+        assertEquals("T0", ids.get(0));
+        assertEquals("T99", ids.get(99));
+        assertTrue(segmentFiles().size() > 1, "expected the journal to roll to a second segment");
+    }
+
+    @Test
+    void recoveryDiscardsTornRecordAndZeroesRestOfSegment() throws IOException {
+        TransactionJournal journal = open();
+        journal.append(transaction("A"));
+        long end = journal.append(transaction("B"));
+        journal.close();
+
+        // A crash mid-append: length written, payload incomplete, stale bytes further on
+        try (Segment segment = lastSegment()) {
+            segment.buffer.putInt((int) end, 200);
+            segment.buffer.put((int) end + HEADER_BYTES, (byte) 0x7F);
+            segment.buffer.put(SEGMENT_BYTES - 100, (byte) 0x55);
+            segment.buffer.putInt(SEGMENT_BYTES - 200, 16);
+        }
+
+        TransactionJournal reopened = open();
+        assertEquals(end, reopened.getWriteOffset());
+        try (Segment segment = lastSegment()) {
+            for (int i = (int) end; i < SEGMENT_BYTES; i++) {
+                assertEquals(0, segment.buffer.get(i), "byte " + i + " past the torn record was not zeroed");
+            }
+        }
+
+        reopened.append(transaction("C"));
+        assertEquals(List.of("A", "B", "C"), transactionIds(reopened.read(reopened.getCheckpoint(), 10)));
+        assertEquals(0, reopened.getCorruptRecords());
+    }
+
+    @Test
+    void corruptRecordIsQuarantinedAndSkipped() throws IOException {
+        TransactionJournal journal = open();
+        long endOfA = journal.append(transaction("A"));
+        journal.append(transaction("B"));
+        long end = journal.append(transaction("C"));
+        journal.close();
+
+        // Flip a payload byte of B; A and C stay intact
+        try (Segment segment = lastSegment()) {
+            int position = (int) endOfA + HEADER_BYTES + 3;
+            segment.buffer.put(position, (byte) ~segment.buffer.get(position));
+        }
+
+        TransactionJournal reopened = open();
+        assertEquals(end, reopened.getWriteOffset(), "recovery must not truncate records after a corrupt one");
+
+        JournalBatch batch = reopened.read(reopened.getCheckpoint(), 10);
+        assertEquals(List.of("A", "C"), transactionIds(batch));
+        assertEquals(end, batch.getNextOffset());
+        assertEquals(1, reopened.getCorruptRecords());
+        assertTrue(Files.exists(directory.resolve("quarantine").resolve(endOfA + ".record")));
+
+        // A retried read after a failed batch does not count the record twice
+        reopened.read(reopened.getCheckpoint(), 10);
+        assertEquals(1, reopened.getCorruptRecords());
+    }
+
+    @Test
+    void rejectedRecordIsQuarantinedOnce() throws IOException {
+        TransactionJournal journal = open();
+        Transaction txn = transaction("A");
+        txn.setId(42L);
+
+        journal.reject(txn, "ORA-01400");
+        journal.reject(txn, "ORA-01400"); // the same batch retried after a failure
+        assertEquals(1, journal.getRejectedRecords());
+        assertTrue(Files.exists(directory.resolve("quarantine").resolve("rejected-42.record")));
+    }
+
+    @Test
+    void commitDeletesReplicatedSegmentsAndSurvivesRestart() throws IOException {
+        TransactionJournal journal = open();
+        for (int i = 0; i < 100; i++) {
+            journal.append(transaction("T" + i));
+        }
+        JournalBatch first = journal.read(journal.getCheckpoint(), 60);
+        journal.commit(first.getNextOffset());
+        journal.close();
+
+        TransactionJournal reopened = open();
+        assertEquals(first.getNextOffset(), reopened.getCheckpoint());
+        List<String> rest = transactionIds(reopened.read(reopened.getCheckpoint(), 1_000));
+        assertEquals(40, rest.size());
+        assertEquals("T60", rest.get(0));
+    }
+
+    private TransactionJournal open() throws IOException {
+        TransactionJournal journal = new TransactionJournal(true, directory.toString(), SEGMENT_BYTES, false);
+        journal.open();
+        return journal;
+    }
+
+    private static Transaction transaction(String transactionId) {
+        Transaction txn = new Transaction();
+        txn.setTransactionId(transactionId);
+        txn.setTimestamp(LocalDateTime.of(2024, 3, 1, 12, 0));
+        txn.setAmount(2_500.0);
+        txn.setCurrency("INR");
+        txn.setSenderAccount("ACC1");
+        txn.setReceiverAccount("ACC2");
+        txn.setStatus("SUCCESS");
+        txn.setFraudFlag(0);
+        return txn;
+    }
+
+    private static List<String> transactionIds(JournalBatch batch) {
+        return batch.getRecords().stream().map(Transaction::getTransactionId).collect(Collectors.toList());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".journal")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Segment lastSegment() throws IOException {
+        List<Path> files = segmentFiles();
+        return new Segment(files.get(files.size() - 1));
+    }
+
+    /** Raw read-write view of a segment file, as a crash or bit rot would leave it. */
+    private static final class Segment implements AutoCloseable {
+
+        final MappedByteBuffer buffer;
+
+        Segment(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+            }
+        }
+
+        @Override
+        public void close() {
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.transaction_api.repository;
+
+import com.example.transaction_api.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-mapping throughput of {@link TransactionRowMapper} against the
+ * previous per-row, by-name mapping, over an in-memory ResultSet so only the
+ * mapping is measured. Run with {@code -prof gc} for allocation per row.
+ *
+ * Usage: run {@link #main} from the IDE, or
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.transaction_api.repository.TransactionRowMapperBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionRowMapperBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final String[] CURRENCIES = {"INR", "USD", "EUR"};
+    private static final String[] CHANNELS = {"UPI", "ATM", "CARD", "NETBANKING"};
+
+    /** Older schemas lack ML_SCORE, which the by-name mapping probed with a try/catch per row. */
+    @Param({"true", "false"})
+    public boolean mlScoreColumn;
+
+    private final TransactionRowMapper mapper = new TransactionRowMapper();
+    private String[] columns;
+
+    @Setup
+    public void setUp() {
+        List<String> names = new ArrayList<>(Arrays.asList("ID", "TRANSACTION_ID", "TIMESTAMP_VAL", "CURRENCY",
+                "AMOUNT", "SENDER_ACCOUNT", "RECEIVER_ACCOUNT", "TRANSACTION_TYPE", "CHANNEL", "STATUS",
+                "IP_ADDRESS", "LOCATION", "FRAUD_FLAG", "REASON_CODES", "FRAUD_REASON"));
+        if (mlScoreColumn) {
+            names.add("ML_SCORE");
+        }
+        columns = names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public List<Transaction> byColumnIndex() throws SQLException {
+        return mapper.extractData(resultSet(columns, ROWS));
+    }
+
+    @Benchmark
+    public List<Transaction> byColumnName() throws SQLException {
+        ResultSet rs = resultSet(columns, ROWS);
+        List<Transaction> rows = new ArrayList<>();
+        while (rs.next()) {
+            Transaction t = new Transaction();
+            t.setTransactionId(rs.getString("TRANSACTION_ID"));
+            Timestamp timestamp = rs.getTimestamp("TIMESTAMP_VAL");
+            if (timestamp != null) {
+                t.setTimestamp(timestamp.toLocalDateTime());
+            }
+            t.setCurrency(rs.getString("CURRENCY"));
+            t.setAmount(rs.getDouble("AMOUNT"));
+            t.setSenderAccount(rs.getString("SENDER_ACCOUNT"));
+            t.setReceiverAccount(rs.getString("RECEIVER_ACCOUNT"));
+            t.setTransactionType(rs.getString("TRANSACTION_TYPE"));
+            t.setChannel(rs.getString("CHANNEL"));
+            t.setStatus(rs.getString("STATUS"));
+            t.setIpAddress(rs.getString("IP_ADDRESS"));
+            t.setLocation(rs.getString("LOCATION"));
+            t.setFraudFlag(rs.getInt("FRAUD_FLAG"));
+            t.setFraudReason(rs.getString("FRAUD_REASON"));
+            try {
+                double mlScore = rs.getDouble("ML_SCORE");
+                if (!rs.wasNull()) {
+                    t.setMlScore(mlScore);
+                }
+            } catch (SQLException e) {
+                // column absent
+            }
+            rows.add(t);
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionRowMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * A forward-only ResultSet over generated rows. Strings are allocated per
+     * call, as a driver would, so interning is measured fairly.
+     */
+    private static ResultSet resultSet(String[] columns, int rowCount) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            positions.put(columns[i], i + 1);
+        }
+        Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+        int[] row = {0};
+
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> columns.length;
+                    case "getColumnLabel", "getColumnName" -> columns[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++row[0] <= rowCount;
+                        case "wasNull":
+                            return false;
+                        case "getMetaData":
+                            return metaData;
+                        case "findColumn":
+                            return position(positions, args[0]);
+                        default:
+                            break;
+                    }
+                    String column = columns[position(positions, args[0]) - 1];
+                    switch (method.getName()) {
+                        case "getTimestamp":
+                            return timestamp;
+                        case "getDouble":
+                            return column.equals("ML_SCORE") ? 0.42 : 1250.0 + row[0] % 500;
+                        case "getInt":
+                            return row[0] % 50 == 0 ? 1 : 0;
+                        case "getLong":
+                            return column.equals("ID") ? (long) row[0] : 0L;
+                        case "getString":
+                            return new String(stringValue(column, row[0]));
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static int position(Map<String, Integer> positions, Object column) throws SQLException {
+        if (column instanceof Integer) {
+            return (Integer) column;
+        }
+        Integer position = positions.get(((String) column).toUpperCase(Locale.ROOT));
+        if (position == null) {
+            throw new SQLException("Invalid column name: " + column);
+        }
+        return position;
+    }
+
+    private static String stringValue(String column, int row) {
+        switch (column) {
+            case "CURRENCY":
+                return CURRENCIES[row % CURRENCIES.length];
+            case "CHANNEL":
+                return CHANNELS[row % CHANNELS.length];
+            case "TRANSACTION_TYPE":
+                return "TRANSFER";
+            case "STATUS":
+                return "SUCCESS";
+            case "LOCATION":
+                return "Mumbai";
+            case "IP_ADDRESS":
+                return "10.0.0." + row % 256;
+            default:
+                return column.charAt(0) + Integer.toString(row);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.transaction_api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int ENTRIES = 100_000;
+    private static final int PROBES = 200_000;
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = filled(0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(filter.mightContain(Hashing.hash64("ACC" + i)), "lost ACC" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        for (double rate : new double[]{0.01, 0.001}) {
+            BloomFilter filter = filled(rate);
+            double measured = falsePositiveRate(filter);
+            // Twice the target leaves room for sampling noise on 200k probes
+            assertTrue(measured <= 2 * rate, "false-positive rate " + measured + " for a target of " + rate);
+            assertTrue(filter.expectedFalsePositiveRate() <= rate * 1.1,
+                    "expected rate " + filter.expectedFalsePositiveRate() + " for a target of " + rate);
+        }
+    }
+
+    @Test
+    void falsePositiveRateGrowsWhenOverfilled() {
+        BloomFilter filter = new BloomFilter(ENTRIES / 4, 0.01);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.add(Hashing.hash64("ACC" + i));
+        }
+        assertTrue(falsePositiveRate(filter) > 0.05);
+        assertTrue(filter.expectedFalsePositiveRate() > 0.05);
+    }
+
+    @Test
+    void survivesSerialisation() throws IOException {
+        BloomFilter filter = filled(0.01);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        BloomFilter copy = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(filter.getBitCount(), copy.getBitCount());
+        assertEquals(filter.getHashCount(), copy.getHashCount());
+        assertEquals(filter.getInsertions(), copy.getInsertions());
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(copy.mightContain(Hashing.hash64("ACC" + i)));
+        }
+    }
+
+    private static BloomFilter filled(double falsePositiveRate) {
+        BloomFilter filter = new BloomFilter(ENTRIES, falsePositiveRate);
+        for (int i = 0; i < ENTRIES; i++) {
+            filter.add(Hashing.hash64("ACC" + i));
+        }
+        return filter;
+    }
+
+    // Probes keys that were never added
+    private static double falsePositiveRate(BloomFilter filter) {
+        int positives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(Hashing.hash64("UNSEEN" + i))) {
+                positives++;
+            }
+        }
+        return (double) positives / PROBES;
+    }
+}
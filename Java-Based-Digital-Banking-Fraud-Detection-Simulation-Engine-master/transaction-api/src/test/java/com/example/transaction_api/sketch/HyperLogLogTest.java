@@ -0,0 +1,88 @@
+package com.example.transaction_api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    // Precision 12 has a standard error of about 1.6%; allow a bit over 3 sigma
+    private static final double MAX_RELATIVE_ERROR = 0.05;
+
+    @Test
+    void estimatesLargeCardinalitiesWithinErrorBound() {
+        for (int distinct : new int[]{10_000, 100_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog();
+            for (int i = 0; i < distinct; i++) {
+                hll.add("ACC" + i);
+            }
+            assertWithinError(distinct, hll.estimate());
+        }
+    }
+
+    @Test
+    void usesLinearCountingForSmallCardinalities() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.estimate());
+        for (int i = 0; i < 500; i++) {
+            hll.add("ACC" + i);
+        }
+        assertWithinError(500, hll.estimate());
+    }
+
+    @Test
+    void duplicatesDoNotChangeTheEstimate() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20_000; i++) {
+                hll.add("ACC" + i);
+            }
+        }
+        assertWithinError(20_000, hll.estimate());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 60_000; i++) {
+            first.add("ACC" + i);
+        }
+        for (int i = 40_000; i < 100_000; i++) {
+            second.add("ACC" + i);
+        }
+        first.merge(second);
+        assertWithinError(100_000, first.estimate());
+    }
+
+    @Test
+    void rejectsMergeOfDifferentPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void survivesSerialisation() throws IOException {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            hll.add("ACC" + i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hll.writeTo(new DataOutputStream(bytes));
+        HyperLogLog copy = HyperLogLog.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(hll.estimate(), copy.estimate());
+    }
+
+    private static void assertWithinError(long expected, long estimate) {
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue(error <= MAX_RELATIVE_ERROR,
+                "estimate " + estimate + " for " + expected + " distinct values is off by " + error);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.transaction_api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTest {
+
+    // The sketch guarantees 1% relative accuracy on the value at each rank
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0.01, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+
+    @Test
+    void quantilesOfSkewedAmountsAreWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal amounts spanning a few rupees to a few lakh
+            values[i] = Math.exp(8 + 1.5 * random.nextGaussian());
+        }
+        assertQuantiles(values, sketchOf(values));
+    }
+
+    @Test
+    void quantilesOfUniformAmountsAreWithinRelativeAccuracy() {
+        Random random = new Random(7);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextDouble() * 99_999;
+        }
+        assertQuantiles(values, sketchOf(values));
+    }
+
+    @Test
+    void extremesAreExact() {
+        QuantileSketch sketch = sketchOf(new double[]{125.5, 9.99, 70_000.0});
+        assertEquals(9.99, sketch.quantile(0.0));
+        assertEquals(70_000.0, sketch.quantile(1.0));
+        assertEquals(9.99, sketch.getMin());
+        assertEquals(70_000.0, sketch.getMax());
+        assertEquals(0.0, new QuantileSketch().quantile(0.5));
+    }
+
+    @Test
+    void mergeMatchesASingleSketch() {
+        Random random = new Random(3);
+        double[] values = new double[50_000];
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(6 + random.nextGaussian());
+            (i % 2 == 0 ? first : second).add(values[i]);
+        }
+        first.merge(second);
+
+        QuantileSketch single = sketchOf(values);
+        assertEquals(values.length, first.getCount());
+        for (double q : QUANTILES) {
+            assertEquals(single.quantile(q), first.quantile(q));
+        }
+    }
+
+    @Test
+    void survivesSerialisation() throws IOException {
+        QuantileSketch sketch = sketchOf(new double[]{10, 250, 4_000, 4_000, 99_000});
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(bytes));
+        QuantileSketch copy = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(sketch.getCount(), copy.getCount());
+        for (double q : QUANTILES) {
+            assertEquals(sketch.quantile(q), copy.quantile(q));
+        }
+    }
+
+    private static QuantileSketch sketchOf(double[] values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    private static void assertQuantiles(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            double error = Math.abs(estimate - exact) / exact;
+            // Small slack for floating-point rounding at bucket edges
+            assertTrue(error <= RELATIVE_ACCURACY + 1e-9,
+                    "p" + q + " estimate " + estimate + " vs exact " + exact + " is off by " + error);
+        }
+    }
+}